@@ -32,6 +32,26 @@ public class AggregateOptionsConverter {
             obj.setAllowDiskUse((Boolean)member.getValue());
           }
           break;
+        case "readPreference":
+          if (member.getValue() instanceof String) {
+            obj.setReadPreference((String)member.getValue());
+          }
+          break;
+        case "readConcern":
+          if (member.getValue() instanceof String) {
+            obj.setReadConcern((String)member.getValue());
+          }
+          break;
+        case "comment":
+          if (member.getValue() instanceof String) {
+            obj.setComment((String)member.getValue());
+          }
+          break;
+        case "let":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setLet(((JsonObject)member.getValue()).copy());
+          }
+          break;
       }
     }
   }
@@ -49,5 +69,17 @@ public class AggregateOptionsConverter {
     if (obj.getAllowDiskUse() != null) {
       json.put("allowDiskUse", obj.getAllowDiskUse());
     }
+    if (obj.getReadPreference() != null) {
+      json.put("readPreference", obj.getReadPreference());
+    }
+    if (obj.getReadConcern() != null) {
+      json.put("readConcern", obj.getReadConcern());
+    }
+    if (obj.getComment() != null) {
+      json.put("comment", obj.getComment());
+    }
+    if (obj.getLet() != null) {
+      json.put("let", obj.getLet());
+    }
   }
 }
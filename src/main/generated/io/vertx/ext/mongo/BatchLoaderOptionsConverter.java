@@ -0,0 +1,39 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.mongo.BatchLoaderOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.mongo.BatchLoaderOptions} original class using Vert.x codegen.
+ */
+public class BatchLoaderOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, BatchLoaderOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "cache":
+          if (member.getValue() instanceof Boolean) {
+            obj.setCache((Boolean)member.getValue());
+          }
+          break;
+        case "fields":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setFields(((JsonObject)member.getValue()).copy());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(BatchLoaderOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(BatchLoaderOptions obj, java.util.Map<String, Object> json) {
+    json.put("cache", obj.isCache());
+    if (obj.getFields() != null) {
+      json.put("fields", obj.getFields());
+    }
+  }
+}
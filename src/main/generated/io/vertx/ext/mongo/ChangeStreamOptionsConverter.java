@@ -0,0 +1,107 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.mongo.ChangeStreamOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.mongo.ChangeStreamOptions} original class using Vert.x codegen.
+ */
+public class ChangeStreamOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ChangeStreamOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "fullDocument":
+          if (member.getValue() instanceof String) {
+            obj.setFullDocument((String)member.getValue());
+          }
+          break;
+        case "batchSize":
+          if (member.getValue() instanceof Number) {
+            obj.setBatchSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "resumeAfter":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setResumeAfter(((JsonObject)member.getValue()).copy());
+          }
+          break;
+        case "startAfter":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setStartAfter(((JsonObject)member.getValue()).copy());
+          }
+          break;
+        case "startAtOperationTime":
+          if (member.getValue() instanceof Number) {
+            obj.setStartAtOperationTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "resumeTokenKey":
+          if (member.getValue() instanceof String) {
+            obj.setResumeTokenKey((String)member.getValue());
+          }
+          break;
+        case "checkpointEvents":
+          if (member.getValue() instanceof Number) {
+            obj.setCheckpointEvents(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "checkpointInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setCheckpointInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxReconnectAttempts":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxReconnectAttempts(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "reconnectInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setReconnectInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "shared":
+          if (member.getValue() instanceof Boolean) {
+            obj.setShared((Boolean)member.getValue());
+          }
+          break;
+        case "sharedQueueSize":
+          if (member.getValue() instanceof Number) {
+            obj.setSharedQueueSize(((Number)member.getValue()).intValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(ChangeStreamOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(ChangeStreamOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getFullDocument() != null) {
+      json.put("fullDocument", obj.getFullDocument());
+    }
+    json.put("batchSize", obj.getBatchSize());
+    if (obj.getResumeAfter() != null) {
+      json.put("resumeAfter", obj.getResumeAfter());
+    }
+    if (obj.getStartAfter() != null) {
+      json.put("startAfter", obj.getStartAfter());
+    }
+    if (obj.getStartAtOperationTime() != null) {
+      json.put("startAtOperationTime", obj.getStartAtOperationTime());
+    }
+    if (obj.getResumeTokenKey() != null) {
+      json.put("resumeTokenKey", obj.getResumeTokenKey());
+    }
+    json.put("checkpointEvents", obj.getCheckpointEvents());
+    json.put("checkpointInterval", obj.getCheckpointInterval());
+    json.put("maxReconnectAttempts", obj.getMaxReconnectAttempts());
+    json.put("reconnectInterval", obj.getReconnectInterval());
+    json.put("shared", obj.isShared());
+    json.put("sharedQueueSize", obj.getSharedQueueSize());
+  }
+}
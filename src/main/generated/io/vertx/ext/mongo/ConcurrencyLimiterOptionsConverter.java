@@ -0,0 +1,61 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.mongo.ConcurrencyLimiterOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.mongo.ConcurrencyLimiterOptions} original class using Vert.x codegen.
+ */
+public class ConcurrencyLimiterOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ConcurrencyLimiterOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "initialLimit":
+          if (member.getValue() instanceof Number) {
+            obj.setInitialLimit(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "minLimit":
+          if (member.getValue() instanceof Number) {
+            obj.setMinLimit(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxLimit":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxLimit(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxQueueSize":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxQueueSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "rttTolerance":
+          if (member.getValue() instanceof Number) {
+            obj.setRttTolerance(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "smoothing":
+          if (member.getValue() instanceof Number) {
+            obj.setSmoothing(((Number)member.getValue()).doubleValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(ConcurrencyLimiterOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(ConcurrencyLimiterOptions obj, java.util.Map<String, Object> json) {
+    json.put("initialLimit", obj.getInitialLimit());
+    json.put("minLimit", obj.getMinLimit());
+    json.put("maxLimit", obj.getMaxLimit());
+    json.put("maxQueueSize", obj.getMaxQueueSize());
+    json.put("rttTolerance", obj.getRttTolerance());
+    json.put("smoothing", obj.getSmoothing());
+  }
+}
@@ -42,6 +42,21 @@ public class CountOptionsConverter {
             obj.setCollation(new io.vertx.ext.mongo.CollationOptions((io.vertx.core.json.JsonObject)member.getValue()));
           }
           break;
+        case "readPreference":
+          if (member.getValue() instanceof String) {
+            obj.setReadPreference((String)member.getValue());
+          }
+          break;
+        case "readConcern":
+          if (member.getValue() instanceof String) {
+            obj.setReadConcern((String)member.getValue());
+          }
+          break;
+        case "comment":
+          if (member.getValue() instanceof String) {
+            obj.setComment((String)member.getValue());
+          }
+          break;
       }
     }
   }
@@ -69,5 +84,14 @@ public class CountOptionsConverter {
     if (obj.getCollation() != null) {
       json.put("collation", obj.getCollation().toJson());
     }
+    if (obj.getReadPreference() != null) {
+      json.put("readPreference", obj.getReadPreference());
+    }
+    if (obj.getReadConcern() != null) {
+      json.put("readConcern", obj.getReadConcern());
+    }
+    if (obj.getComment() != null) {
+      json.put("comment", obj.getComment());
+    }
   }
 }
@@ -17,6 +17,26 @@ public class DistinctOptionsConverter {
             obj.setCollation(new io.vertx.ext.mongo.CollationOptions((io.vertx.core.json.JsonObject)member.getValue()));
           }
           break;
+        case "maxTime":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "readPreference":
+          if (member.getValue() instanceof String) {
+            obj.setReadPreference((String)member.getValue());
+          }
+          break;
+        case "readConcern":
+          if (member.getValue() instanceof String) {
+            obj.setReadConcern((String)member.getValue());
+          }
+          break;
+        case "comment":
+          if (member.getValue() instanceof String) {
+            obj.setComment((String)member.getValue());
+          }
+          break;
       }
     }
   }
@@ -29,5 +49,17 @@ public class DistinctOptionsConverter {
     if (obj.getCollation() != null) {
       json.put("collation", obj.getCollation().toJson());
     }
+    if (obj.getMaxTime() != null) {
+      json.put("maxTime", obj.getMaxTime());
+    }
+    if (obj.getReadPreference() != null) {
+      json.put("readPreference", obj.getReadPreference());
+    }
+    if (obj.getReadConcern() != null) {
+      json.put("readConcern", obj.getReadConcern());
+    }
+    if (obj.getComment() != null) {
+      json.put("comment", obj.getComment());
+    }
   }
 }
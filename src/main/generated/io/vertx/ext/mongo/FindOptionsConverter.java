@@ -52,6 +52,51 @@ public class FindOptionsConverter {
             obj.setHintString((String)member.getValue());
           }
           break;
+        case "maxTime":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "readPreference":
+          if (member.getValue() instanceof String) {
+            obj.setReadPreference((String)member.getValue());
+          }
+          break;
+        case "readConcern":
+          if (member.getValue() instanceof String) {
+            obj.setReadConcern((String)member.getValue());
+          }
+          break;
+        case "noCursorTimeout":
+          if (member.getValue() instanceof Boolean) {
+            obj.setNoCursorTimeout((Boolean)member.getValue());
+          }
+          break;
+        case "allowPartialResults":
+          if (member.getValue() instanceof Boolean) {
+            obj.setAllowPartialResults((Boolean)member.getValue());
+          }
+          break;
+        case "comment":
+          if (member.getValue() instanceof String) {
+            obj.setComment((String)member.getValue());
+          }
+          break;
+        case "let":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setLet(((JsonObject)member.getValue()).copy());
+          }
+          break;
+        case "hedged":
+          if (member.getValue() instanceof Boolean) {
+            obj.setHedged((Boolean)member.getValue());
+          }
+          break;
+        case "hedgeDelay":
+          if (member.getValue() instanceof Number) {
+            obj.setHedgeDelay(((Number)member.getValue()).longValue());
+          }
+          break;
       }
     }
   }
@@ -79,5 +124,22 @@ public class FindOptionsConverter {
     if (obj.getHintString() != null) {
       json.put("hintString", obj.getHintString());
     }
+    json.put("maxTime", obj.getMaxTime());
+    if (obj.getReadPreference() != null) {
+      json.put("readPreference", obj.getReadPreference());
+    }
+    if (obj.getReadConcern() != null) {
+      json.put("readConcern", obj.getReadConcern());
+    }
+    json.put("noCursorTimeout", obj.isNoCursorTimeout());
+    json.put("allowPartialResults", obj.isAllowPartialResults());
+    if (obj.getComment() != null) {
+      json.put("comment", obj.getComment());
+    }
+    if (obj.getLet() != null) {
+      json.put("let", obj.getLet());
+    }
+    json.put("hedged", obj.isHedged());
+    json.put("hedgeDelay", obj.getHedgeDelay());
   }
 }
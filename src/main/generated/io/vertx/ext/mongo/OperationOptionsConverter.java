@@ -0,0 +1,39 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.mongo.OperationOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.mongo.OperationOptions} original class using Vert.x codegen.
+ */
+public class OperationOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, OperationOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "timeout":
+          if (member.getValue() instanceof Number) {
+            obj.setTimeout(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "priority":
+          if (member.getValue() instanceof String) {
+            obj.setPriority(io.vertx.ext.mongo.OperationPriority.valueOf((String)member.getValue()));
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(OperationOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(OperationOptions obj, java.util.Map<String, Object> json) {
+    json.put("timeout", obj.getTimeout());
+    if (obj.getPriority() != null) {
+      json.put("priority", obj.getPriority().name());
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.mongo.SessionOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.mongo.SessionOptions} original class using Vert.x codegen.
+ */
+public class SessionOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, SessionOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "causallyConsistent":
+          if (member.getValue() instanceof Boolean) {
+            obj.setCausallyConsistent((Boolean)member.getValue());
+          }
+          break;
+        case "readPreference":
+          if (member.getValue() instanceof String) {
+            obj.setReadPreference((String)member.getValue());
+          }
+          break;
+        case "readPreferenceTags":
+          if (member.getValue() instanceof JsonArray) {
+            obj.setReadPreferenceTags(((JsonArray)member.getValue()).copy());
+          }
+          break;
+        case "readConcern":
+          if (member.getValue() instanceof String) {
+            obj.setReadConcern((String)member.getValue());
+          }
+          break;
+        case "writeOption":
+          if (member.getValue() instanceof String) {
+            obj.setWriteOption(io.vertx.ext.mongo.WriteOption.valueOf((String)member.getValue()));
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(SessionOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(SessionOptions obj, java.util.Map<String, Object> json) {
+    json.put("causallyConsistent", obj.isCausallyConsistent());
+    if (obj.getReadPreference() != null) {
+      json.put("readPreference", obj.getReadPreference());
+    }
+    if (obj.getReadPreferenceTags() != null) {
+      json.put("readPreferenceTags", obj.getReadPreferenceTags());
+    }
+    if (obj.getReadConcern() != null) {
+      json.put("readConcern", obj.getReadConcern());
+    }
+    if (obj.getWriteOption() != null) {
+      json.put("writeOption", obj.getWriteOption().name());
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.mongo.TransactionOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.mongo.TransactionOptions} original class using Vert.x codegen.
+ */
+public class TransactionOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, TransactionOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "readConcern":
+          if (member.getValue() instanceof String) {
+            obj.setReadConcern((String)member.getValue());
+          }
+          break;
+        case "writeOption":
+          if (member.getValue() instanceof String) {
+            obj.setWriteOption(io.vertx.ext.mongo.WriteOption.valueOf((String)member.getValue()));
+          }
+          break;
+        case "readPreference":
+          if (member.getValue() instanceof String) {
+            obj.setReadPreference((String)member.getValue());
+          }
+          break;
+        case "maxCommitTime":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxCommitTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxRetryTime":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxRetryTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "retryInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setRetryInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxRetryInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxRetryInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(TransactionOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(TransactionOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getReadConcern() != null) {
+      json.put("readConcern", obj.getReadConcern());
+    }
+    if (obj.getWriteOption() != null) {
+      json.put("writeOption", obj.getWriteOption().name());
+    }
+    if (obj.getReadPreference() != null) {
+      json.put("readPreference", obj.getReadPreference());
+    }
+    if (obj.getMaxCommitTime() != null) {
+      json.put("maxCommitTime", obj.getMaxCommitTime());
+    }
+    json.put("maxRetryTime", obj.getMaxRetryTime());
+    json.put("retryInterval", obj.getRetryInterval());
+    json.put("maxRetryInterval", obj.getMaxRetryInterval());
+  }
+}
@@ -526,4 +526,257 @@ public class MongoClientExamples {
     gridFsStreamClient.downloadById(asyncFile, id).onSuccess(length -> {
     });
   }
+
+  public void example34(MongoClient mongoClient) {
+    GridFsBucketOptions options = new GridFsBucketOptions()
+      .setMetadataCacheTtl(30_000)
+      .setMetadataCacheMaxSize(500);
+    mongoClient.createGridFsBucketServiceWithOptions("assets", options).onComplete(res -> {
+      if (res.succeeded()) {
+        //By name downloads of hot files skip the files collection lookup
+        MongoGridFsClient client = res.result();
+      } else {
+        res.cause().printStackTrace();
+      }
+    });
+  }
+
+  public void example35(MongoGridFsClient gridFsClient) {
+    JsonObject query = new JsonObject().put("metadata.nick_name", "Puhi the eel");
+    FindOptions options = new FindOptions()
+      .setFields(new JsonObject().put("filename", 1).put("length", 1))
+      .setSort(new JsonObject().put("uploadDate", -1));
+    gridFsClient.findFilesWithOptions(query, options)
+      .exceptionHandler(Throwable::printStackTrace)
+      .handler(file -> {
+        //A files collection entry
+        long length = file.getLong("length");
+      });
+  }
+
+  public void example36(MongoGridFsClient gridFsStreamClient, AsyncFile asyncFile) {
+    GridFsUploadOptions options = new GridFsUploadOptions()
+      .setCompression(GridFsCompression.GZIP);
+    gridFsStreamClient.uploadByFileNameWithOptions(asyncFile, "kanaloa.log", options).onSuccess(id -> {
+      //Downloads of this file decompress the chunks transparently
+    });
+  }
+
+  public void example37(MongoClient mongoClient) {
+    GridFsBucketOptions options = new GridFsBucketOptions()
+      .setExpiryField("metadata.expireAt")
+      .setExpiryRateLimit(50);
+    mongoClient.createGridFsBucketServiceWithOptions("temporary", options).onSuccess(gridFsClient -> {
+      //Files uploaded with a metadata.expireAt date are deleted once it is past
+    });
+  }
+
+  public void example38(MongoGridFsClient gridFsClient) {
+    JsonObject query = new JsonObject().put("metadata.catagory", "Polynesian gods");
+    gridFsClient.deleteMany(query).onSuccess(deleted -> {
+      //The number of deleted files
+    });
+  }
+
+  public void example39(MongoClient mongoClient) {
+    ResumeTokenStore store = ResumeTokenStore.create(mongoClient, "resumeTokens");
+    ChangeStreamOptions options = new ChangeStreamOptions()
+      .setFullDocument("updateLookup")
+      .setResumeTokenKey("orders-projection");
+    mongoClient.watchWithOptions("orders", new JsonArray(), options, store)
+      .exceptionHandler(Throwable::printStackTrace)
+      .handler(event -> {
+        //The events missed while the application was stopped are received first
+        JsonObject order = event.getFullDocument();
+      });
+  }
+
+  public void example40(MongoClient mongoClient) {
+    JsonArray pipeline = new JsonArray()
+      .add(new JsonObject().put("$match", new JsonObject().put("ns.coll", new JsonObject().put("$in", new JsonArray().add("orders").add("invoices")))));
+    ChangeStreamOptions options = new ChangeStreamOptions()
+      .setShared(true);
+    mongoClient.watchDatabase(pipeline, options)
+      .handler(event -> {
+        //Every instance of the verticle receives the events of a single server cursor
+        String collection = event.getNamespace().getCollectionName();
+      });
+  }
+
+  public void example41(MongoClient mongoClient, ResumeTokenStore store) {
+    ChangeStreamOptions options = new ChangeStreamOptions()
+      .setBatchSize(500);
+    mongoClient.watchRaw("orders", new JsonArray(), options, store)
+      .handler(bson -> {
+        //Forward the BSON bytes of the event as is
+      });
+  }
+
+  public void example42(MongoClient mongoClient) {
+    MongoMaterializedView.create(mongoClient, "featureFlags", "name").onSuccess(flags -> {
+      JsonObject flag = flags.get("dark-mode");
+      boolean enabled = flag != null && flag.getBoolean("enabled");
+      List<JsonObject> betaFlags = flags.query(f -> f.getBoolean("beta", false));
+      if (flags.lag() > 5000) {
+        //The view is stale
+      }
+    });
+  }
+
+  public void example43(MongoClient mongoClient) {
+    JsonObject debit = new JsonObject().put("$inc", new JsonObject().put("balance", -100));
+    JsonObject credit = new JsonObject().put("$inc", new JsonObject().put("balance", 100));
+    TransactionOptions options = new TransactionOptions().setWriteOption(WriteOption.MAJORITY);
+    mongoClient.withTransaction(options, tx -> tx
+      .updateCollection("accounts", new JsonObject().put("_id", "alice"), debit)
+      .compose(res -> tx.updateCollection("accounts", new JsonObject().put("_id", "bob"), credit)))
+      .onSuccess(res -> {
+        // Both accounts are updated
+      });
+  }
+
+  public void example44(MongoClient mongoClient) {
+    SessionOptions options = new SessionOptions()
+      .setReadPreference("secondaryPreferred")
+      .setReadConcern("majority")
+      .setWriteOption(WriteOption.MAJORITY);
+    mongoClient.withSession(options, session -> session
+      .insert("orders", new JsonObject().put("item", "book"))
+      .compose(id -> session.find("orders", new JsonObject().put("item", "book"))))
+      .onSuccess(orders -> {
+        // The new order is found, even when read from a secondary
+      });
+  }
+
+  public void example45(MongoClient mongoClient) {
+    AggregateOptions options = new AggregateOptions()
+      .setReadPreference("secondaryPreferred")
+      .setMaxTime(30000)
+      .setComment("daily sales report");
+    JsonArray pipeline = new JsonArray()
+      .add(new JsonObject().put("$group", new JsonObject()
+        .put("_id", "$item")
+        .put("total", new JsonObject().put("$sum", "$amount"))));
+    mongoClient.aggregateWithOptions("sales", pipeline, options)
+      .handler(total -> System.out.println(total.encode()));
+  }
+
+  public void example46(MongoClient mongoClient) {
+    FindOptions options = new FindOptions()
+      .setReadPreference("nearest")
+      .setHedged(true);
+    mongoClient.findOneWithOptions("profiles", new JsonObject().put("userId", "u-123"), options)
+      .onSuccess(profile -> {
+        HedgedReadStats stats = mongoClient.hedgedReadStats();
+        System.out.println("Hedge rate " + stats.hedgeRate() + ", win rate " + stats.winRate());
+      });
+  }
+
+  public void example47(MongoClient mongoClient) {
+    // The caller gives up after 500 ms, so does the server
+    MongoClient client = mongoClient.withOperationOptions(new OperationOptions().setTimeout(500));
+    client.find("books", new JsonObject().put("author", "J. R. R. Tolkien"))
+      .onSuccess(books -> System.out.println("Found " + books.size() + " books"))
+      .onFailure(err -> System.out.println("Search failed: " + err.getMessage()));
+  }
+
+  public void example48(Vertx vertx, MongoClient mongoClient) {
+    vertx.setPeriodic(10_000, id -> {
+      for (ConnectionPoolStats pool : mongoClient.poolStats()) {
+        System.out.println(pool.getAddress() + ": " + pool.getCheckedOut() + "/" + pool.getMaxSize()
+          + " connections in use, " + pool.getWaitQueueSize() + " operations waiting");
+      }
+    });
+  }
+
+  public void example49(MongoClient mongoClient) {
+    MongoClient background = mongoClient.withOperationOptions(new OperationOptions().setPriority(OperationPriority.LOW));
+    background.findBatch("orders", new JsonObject())
+      .handler(order -> System.out.println("Exporting " + order.getString("_id")))
+      .endHandler(v -> System.out.println("Export done"));
+  }
+
+  public void example50(MongoClient mongoClient) {
+    // Called from a verticle deployed with ThreadingModel.VIRTUAL_THREAD
+    MongoClientSync client = MongoClientSync.create(mongoClient);
+    JsonObject book = client.findOne("books", new JsonObject().put("title", "The Hobbit"), null);
+    try (MongoCursor<JsonObject> cursor = client.findBatch("orders", new JsonObject().put("book", book.getString("_id")))) {
+      while (cursor.hasNext()) {
+        System.out.println("Order " + cursor.next().getString("_id"));
+      }
+    }
+  }
+
+  public void example51(MongoClient mongoClient, List<Object> productIds) {
+    mongoClient.findByIds("products", productIds, new FindOptions().setFields(new JsonObject().put("name", 1)))
+      .onSuccess(result -> {
+        for (JsonObject product : result.getDocuments()) {
+          System.out.println(product.getString("name"));
+        }
+        System.out.println("Unknown products " + result.getMissingIds().encode());
+      });
+  }
+
+  public void example52(Vertx vertx, MongoClient mongoClient, List<JsonObject> orderLines) {
+    // Created for each request
+    MongoBatchLoader products = MongoBatchLoader.create(vertx, mongoClient, "products", "sku",
+      new BatchLoaderOptions().setCache(true));
+    for (JsonObject line : orderLines) {
+      // A single query for all the lines
+      products.load(line.getString("sku"))
+        .onSuccess(product -> line.put("product", product));
+    }
+  }
+
+  public void example53(MongoClient mongoClient) {
+    JsonArray pipeline = new JsonArray()
+      .add(new JsonObject().put("$group", new JsonObject()
+        .put("_id", "$customerId")
+        .put("total", new JsonObject().put("$sum", "$amount"))))
+      .add(new JsonObject().put("$merge", new JsonObject().put("into", "customerTotals")));
+    AggregateOptions options = new AggregateOptions().setAllowDiskUse(true).setMaxTime(3_600_000);
+    mongoClient.aggregateIntoWithProgress("orders", pipeline, options, 10_000,
+        op -> System.out.println("Running for " + op.getLong("secs_running") + " s"))
+      .onSuccess(stats -> System.out.println(stats.getTarget() + " has " + stats.getTargetCount() + " documents"));
+  }
+
+  public static class Book {
+    private String id;
+    private String title;
+    private int pages;
+
+    public String getId() {
+      return id;
+    }
+
+    public void setId(String id) {
+      this.id = id;
+    }
+
+    public String getTitle() {
+      return title;
+    }
+
+    public void setTitle(String title) {
+      this.title = title;
+    }
+
+    public int getPages() {
+      return pages;
+    }
+
+    public void setPages(int pages) {
+      this.pages = pages;
+    }
+  }
+
+  public void example54(MongoClient mongoClient) {
+    JsonObject query = new JsonObject().put("author", "J. R. R. Tolkien");
+    mongoClient.findWithOptions("books", query, new FindOptions(), Book.class)
+      .onSuccess(books -> {
+        for (Book book : books) {
+          System.out.println(book.getTitle() + ", " + book.getPages() + " pages");
+        }
+      });
+  }
 }
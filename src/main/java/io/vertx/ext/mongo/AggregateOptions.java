@@ -32,6 +32,11 @@ public class AggregateOptions {
   private long maxAwaitTime;
   private Boolean allowDiskUse;
   private CollationOptions collation;
+  private String readPreference;
+  private String readConcern;
+  private String comment;
+  private JsonObject let;
+
   /**
    * Default constructor
    */
@@ -53,6 +58,10 @@ public class AggregateOptions {
     this.maxAwaitTime = options.maxAwaitTime;
     this.allowDiskUse = options.allowDiskUse;
     this.collation = options.collation;
+    this.readPreference = options.readPreference;
+    this.readConcern = options.readConcern;
+    this.comment = options.comment;
+    this.let = options.let != null ? options.let.copy() : null;
   }
 
   /**
@@ -159,17 +168,92 @@ public class AggregateOptions {
     return this;
   }
 
+  /**
+   * @return the read preference name
+   */
+  public String getReadPreference() {
+    return readPreference;
+  }
+
+  /**
+   * Set the read preference of the operation, e.g. {@code secondaryPreferred}. Defaults to the read preference of
+   * the client.
+   *
+   * @param readPreference the read preference name
+   * @return reference to this, for fluency
+   */
+  public AggregateOptions setReadPreference(String readPreference) {
+    this.readPreference = readPreference;
+    return this;
+  }
+
+  /**
+   * @return the read concern level
+   */
+  public String getReadConcern() {
+    return readConcern;
+  }
+
+  /**
+   * Set the read concern level of the operation, e.g. {@code majority}. Defaults to the read concern of the client.
+   *
+   * @param readConcern the read concern level
+   * @return reference to this, for fluency
+   */
+  public AggregateOptions setReadConcern(String readConcern) {
+    this.readConcern = readConcern;
+    return this;
+  }
+
+  /**
+   * @return the comment
+   */
+  public String getComment() {
+    return comment;
+  }
+
+  /**
+   * Set a comment attached to the operation, which appears in the profiler, the logs and {@code currentOp}.
+   *
+   * @param comment the comment
+   * @return reference to this, for fluency
+   */
+  public AggregateOptions setComment(String comment) {
+    this.comment = comment;
+    return this;
+  }
+
+  /**
+   * @return the variables
+   */
+  public JsonObject getLet() {
+    return let;
+  }
+
+  /**
+   * Set variables, accessible in the pipeline with {@code $$name}.
+   *
+   * @param let the variables
+   * @return reference to this, for fluency
+   */
+  public AggregateOptions setLet(JsonObject let) {
+    this.let = let;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     AggregateOptions that = (AggregateOptions) o;
-    return batchSize == that.batchSize && maxTime == that.maxTime && Objects.equals(allowDiskUse, that.allowDiskUse) && Objects.equals(collation, that.collation);
+    return batchSize == that.batchSize && maxTime == that.maxTime && Objects.equals(allowDiskUse, that.allowDiskUse) && Objects.equals(collation, that.collation)
+      && Objects.equals(readPreference, that.readPreference) && Objects.equals(readConcern, that.readConcern)
+      && Objects.equals(comment, that.comment) && Objects.equals(let, that.let);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(batchSize, maxTime, allowDiskUse, collation);
+    return Objects.hash(batchSize, maxTime, allowDiskUse, collation, readPreference, readConcern, comment, let);
   }
 
   @Override
@@ -179,6 +263,10 @@ public class AggregateOptions {
       ", maxTime=" + maxTime +
       ", allowDiskUse=" + allowDiskUse +
       ", collation=" + collation +
+      ", readPreference='" + readPreference + '\'' +
+      ", readConcern='" + readConcern + '\'' +
+      ", comment='" + comment + '\'' +
+      ", let=" + let +
       '}';
   }
 }
@@ -0,0 +1,117 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * The result of {@link MongoClient#aggregateInto}.
+ */
+@DataObject
+public class AggregateStats {
+
+  private String target;
+  private long duration;
+  private long targetCount;
+
+  /**
+   * Default constructor
+   */
+  public AggregateStats() {
+  }
+
+  /**
+   * Constructor
+   *
+   * @param target      the namespace of the output collection
+   * @param duration    the duration of the aggregation in milliseconds
+   * @param targetCount the estimated number of documents of the output collection
+   */
+  public AggregateStats(String target, long duration, long targetCount) {
+    this.target = target;
+    this.duration = duration;
+    this.targetCount = targetCount;
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param other the one to copy
+   */
+  public AggregateStats(AggregateStats other) {
+    this.target = other.target;
+    this.duration = other.duration;
+    this.targetCount = other.targetCount;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param json the JSON
+   */
+  public AggregateStats(JsonObject json) {
+    this.target = json.getString("target");
+    this.duration = json.getLong("duration", 0L);
+    this.targetCount = json.getLong("targetCount", 0L);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    if (target != null) {
+      json.put("target", target);
+    }
+    return json
+      .put("duration", duration)
+      .put("targetCount", targetCount);
+  }
+
+  /**
+   * @return the namespace of the output collection, {@code <database>.<collection>}
+   */
+  public String getTarget() {
+    return target;
+  }
+
+  /**
+   * @return the duration of the aggregation in milliseconds
+   */
+  public long getDuration() {
+    return duration;
+  }
+
+  /**
+   * @return the estimated number of documents of the output collection once the aggregation is done, which for
+   * {@code $merge} includes the documents the collection already had
+   */
+  public long getTargetCount() {
+    return targetCount;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    AggregateStats that = (AggregateStats) o;
+    return duration == that.duration && targetCount == that.targetCount && Objects.equals(target, that.target);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(target, duration, targetCount);
+  }
+
+  @Override
+  public String toString() {
+    return "AggregateStats{" +
+      "target='" + target + '\'' +
+      ", duration=" + duration +
+      ", targetCount=" + targetCount +
+      '}';
+  }
+}
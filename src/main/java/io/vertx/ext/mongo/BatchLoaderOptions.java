@@ -0,0 +1,125 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * Options used to configure a {@link MongoBatchLoader}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class BatchLoaderOptions {
+
+  /**
+   * The default value of cache = false
+   */
+  public static final boolean DEFAULT_CACHE = false;
+
+  private boolean cache;
+  private JsonObject fields;
+
+  /**
+   * Default constructor
+   */
+  public BatchLoaderOptions() {
+    init();
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public BatchLoaderOptions(BatchLoaderOptions options) {
+    this.cache = options.cache;
+    this.fields = options.fields != null ? options.fields.copy() : null;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public BatchLoaderOptions(JsonObject options) {
+    init();
+    BatchLoaderOptionsConverter.fromJson(options, this);
+  }
+
+  private void init() {
+    cache = DEFAULT_CACHE;
+    fields = null;
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    BatchLoaderOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return whether the loaded documents are cached by key
+   */
+  public boolean isCache() {
+    return cache;
+  }
+
+  /**
+   * Set whether the loaded documents are cached by key for the lifetime of the loader, so that a key is queried at most
+   * once. A loader with a cache is meant to serve a single request, e.g. a GraphQL query, and then be discarded.
+   *
+   * @param cache whether to cache the loaded documents
+   * @return reference to this, for fluency
+   */
+  public BatchLoaderOptions setCache(boolean cache) {
+    this.cache = cache;
+    return this;
+  }
+
+  /**
+   * @return the projection of the loaded documents
+   */
+  public JsonObject getFields() {
+    return fields;
+  }
+
+  /**
+   * Set the projection of the loaded documents. The key field of the loader is always projected, the documents are
+   * matched to the loads by it.
+   *
+   * @param fields the projection, {@code null} to load the whole documents
+   * @return reference to this, for fluency
+   */
+  public BatchLoaderOptions setFields(JsonObject fields) {
+    this.fields = fields;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    BatchLoaderOptions that = (BatchLoaderOptions) o;
+    return cache == that.cache && Objects.equals(fields, that.fields);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(cache, fields);
+  }
+
+  @Override
+  public String toString() {
+    return "BatchLoaderOptions{" +
+      "cache=" + cache +
+      ", fields=" + fields +
+      '}';
+  }
+}
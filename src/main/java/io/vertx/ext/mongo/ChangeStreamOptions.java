@@ -0,0 +1,395 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * Options used to configure change streams.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class ChangeStreamOptions {
+
+  /**
+   * The default value of batchSize = 20
+   */
+  public static final int DEFAULT_BATCH_SIZE = 20;
+
+  /**
+   * The default number of events between two resume token checkpoints = 100
+   */
+  public static final int DEFAULT_CHECKPOINT_EVENTS = 100;
+
+  /**
+   * The default maximum time in milliseconds between two resume token checkpoints = 1000
+   */
+  public static final long DEFAULT_CHECKPOINT_INTERVAL = 1000L;
+
+  /**
+   * The default maximum number of consecutive reconnect attempts = 10
+   */
+  public static final int DEFAULT_MAX_RECONNECT_ATTEMPTS = 10;
+
+  /**
+   * The default initial delay in milliseconds before reconnecting = 500
+   */
+  public static final long DEFAULT_RECONNECT_INTERVAL = 500L;
+
+  /**
+   * The default value of shared = false
+   */
+  public static final boolean DEFAULT_SHARED = false;
+
+  /**
+   * The default maximum number of events buffered for a subscriber of a shared stream = 1000
+   */
+  public static final int DEFAULT_SHARED_QUEUE_SIZE = 1000;
+
+  private String fullDocument;
+  private int batchSize;
+  private JsonObject resumeAfter;
+  private JsonObject startAfter;
+  private Long startAtOperationTime;
+  private String resumeTokenKey;
+  private int checkpointEvents;
+  private long checkpointInterval;
+  private int maxReconnectAttempts;
+  private long reconnectInterval;
+  private boolean shared;
+  private int sharedQueueSize;
+
+  /**
+   * Default constructor
+   */
+  public ChangeStreamOptions() {
+    init();
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public ChangeStreamOptions(ChangeStreamOptions options) {
+    this.fullDocument = options.fullDocument;
+    this.batchSize = options.batchSize;
+    this.resumeAfter = options.resumeAfter != null ? options.resumeAfter.copy() : null;
+    this.startAfter = options.startAfter != null ? options.startAfter.copy() : null;
+    this.startAtOperationTime = options.startAtOperationTime;
+    this.resumeTokenKey = options.resumeTokenKey;
+    this.checkpointEvents = options.checkpointEvents;
+    this.checkpointInterval = options.checkpointInterval;
+    this.maxReconnectAttempts = options.maxReconnectAttempts;
+    this.reconnectInterval = options.reconnectInterval;
+    this.shared = options.shared;
+    this.sharedQueueSize = options.sharedQueueSize;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public ChangeStreamOptions(JsonObject options) {
+    init();
+    ChangeStreamOptionsConverter.fromJson(options, this);
+  }
+
+  private void init() {
+    batchSize = DEFAULT_BATCH_SIZE;
+    checkpointEvents = DEFAULT_CHECKPOINT_EVENTS;
+    checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    maxReconnectAttempts = DEFAULT_MAX_RECONNECT_ATTEMPTS;
+    reconnectInterval = DEFAULT_RECONNECT_INTERVAL;
+    shared = DEFAULT_SHARED;
+    sharedQueueSize = DEFAULT_SHARED_QUEUE_SIZE;
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ChangeStreamOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the full document lookup mode
+   */
+  public String getFullDocument() {
+    return fullDocument;
+  }
+
+  /**
+   * Set which full document is returned with change events: {@code default}, {@code updateLookup},
+   * {@code whenAvailable} or {@code required}.
+   *
+   * @param fullDocument the full document lookup mode
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setFullDocument(String fullDocument) {
+    this.fullDocument = fullDocument;
+    return this;
+  }
+
+  /**
+   * @return the number of events to load in a batch
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Set the number of events to load in a batch.
+   *
+   * @param batchSize the number of events
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * @return the resume token to resume after
+   */
+  public JsonObject getResumeAfter() {
+    return resumeAfter;
+  }
+
+  /**
+   * Set the resume token after which the change stream starts, as returned by
+   * {@code ChangeStreamDocument#getResumeToken()}.
+   *
+   * @param resumeAfter the resume token
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setResumeAfter(JsonObject resumeAfter) {
+    this.resumeAfter = resumeAfter;
+    return this;
+  }
+
+  /**
+   * @return the resume token to start after
+   */
+  public JsonObject getStartAfter() {
+    return startAfter;
+  }
+
+  /**
+   * Like {@link #setResumeAfter(JsonObject)}, but also allows starting after an invalidate event.
+   *
+   * @param startAfter the resume token
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setStartAfter(JsonObject startAfter) {
+    this.startAfter = startAfter;
+    return this;
+  }
+
+  /**
+   * @return the operation time to start at
+   */
+  public Long getStartAtOperationTime() {
+    return startAtOperationTime;
+  }
+
+  /**
+   * Set the cluster time from which the change stream starts, as a BSON timestamp value: the seconds since the
+   * epoch in the high 32 bits and the increment in the low 32 bits.
+   *
+   * @param startAtOperationTime the BSON timestamp value
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setStartAtOperationTime(Long startAtOperationTime) {
+    this.startAtOperationTime = startAtOperationTime;
+    return this;
+  }
+
+  /**
+   * @return the key under which resume tokens are stored
+   */
+  public String getResumeTokenKey() {
+    return resumeTokenKey;
+  }
+
+  /**
+   * Set the key under which the resume tokens of the stream are stored in a {@link ResumeTokenStore}. Defaults to
+   * the watched collection name.
+   *
+   * @param resumeTokenKey the key
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setResumeTokenKey(String resumeTokenKey) {
+    this.resumeTokenKey = resumeTokenKey;
+    return this;
+  }
+
+  /**
+   * @return the number of events between two checkpoints
+   */
+  public int getCheckpointEvents() {
+    return checkpointEvents;
+  }
+
+  /**
+   * Set the number of events after which the last resume token is saved to the {@link ResumeTokenStore}.
+   *
+   * @param checkpointEvents the number of events
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setCheckpointEvents(int checkpointEvents) {
+    if (checkpointEvents < 1) {
+      throw new IllegalArgumentException("checkpointEvents must be > 0");
+    }
+    this.checkpointEvents = checkpointEvents;
+    return this;
+  }
+
+  /**
+   * @return the maximum time in milliseconds between two checkpoints
+   */
+  public long getCheckpointInterval() {
+    return checkpointInterval;
+  }
+
+  /**
+   * Set the maximum time in milliseconds a received resume token waits before being saved to the
+   * {@link ResumeTokenStore}.
+   *
+   * @param checkpointInterval the interval in milliseconds
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setCheckpointInterval(long checkpointInterval) {
+    if (checkpointInterval < 1) {
+      throw new IllegalArgumentException("checkpointInterval must be > 0");
+    }
+    this.checkpointInterval = checkpointInterval;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of consecutive reconnect attempts
+   */
+  public int getMaxReconnectAttempts() {
+    return maxReconnectAttempts;
+  }
+
+  /**
+   * Set the maximum number of consecutive attempts to reconnect the stream after a transient error, {@code -1}
+   * for no limit and {@code 0} to never reconnect.
+   *
+   * @param maxReconnectAttempts the maximum number of attempts
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setMaxReconnectAttempts(int maxReconnectAttempts) {
+    this.maxReconnectAttempts = maxReconnectAttempts;
+    return this;
+  }
+
+  /**
+   * @return the initial delay in milliseconds before reconnecting
+   */
+  public long getReconnectInterval() {
+    return reconnectInterval;
+  }
+
+  /**
+   * Set the delay in milliseconds before the first reconnect attempt. The delay doubles with each consecutive
+   * attempt, up to 30 seconds.
+   *
+   * @param reconnectInterval the delay in milliseconds
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setReconnectInterval(long reconnectInterval) {
+    this.reconnectInterval = reconnectInterval;
+    return this;
+  }
+
+  /**
+   * @return whether the stream shares its server cursor with the other shared streams of the client
+   */
+  public boolean isShared() {
+    return shared;
+  }
+
+  /**
+   * Set whether the stream shares its server cursor. Shared streams with the same scope, pipeline and options,
+   * opened by any client using the same data source, are served by a single server cursor whose events are fanned
+   * out to each stream. A shared stream cannot use a {@link ResumeTokenStore}.
+   *
+   * @param shared whether the stream is shared
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setShared(boolean shared) {
+    this.shared = shared;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of events buffered for a shared stream
+   */
+  public int getSharedQueueSize() {
+    return sharedQueueSize;
+  }
+
+  /**
+   * Set the maximum number of events buffered for a shared stream which does not keep up with the server cursor.
+   * A shared stream never slows down the other streams of its cursor: when its buffer is full, it fails and is
+   * detached from the cursor.
+   *
+   * @param sharedQueueSize the maximum number of buffered events
+   * @return reference to this, for fluency
+   */
+  public ChangeStreamOptions setSharedQueueSize(int sharedQueueSize) {
+    if (sharedQueueSize < 1) {
+      throw new IllegalArgumentException("sharedQueueSize must be > 0");
+    }
+    this.sharedQueueSize = sharedQueueSize;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ChangeStreamOptions that = (ChangeStreamOptions) o;
+    return batchSize == that.batchSize && checkpointEvents == that.checkpointEvents
+      && checkpointInterval == that.checkpointInterval && maxReconnectAttempts == that.maxReconnectAttempts
+      && reconnectInterval == that.reconnectInterval && Objects.equals(fullDocument, that.fullDocument)
+      && Objects.equals(resumeAfter, that.resumeAfter) && Objects.equals(startAfter, that.startAfter)
+      && Objects.equals(startAtOperationTime, that.startAtOperationTime)
+      && Objects.equals(resumeTokenKey, that.resumeTokenKey) && shared == that.shared
+      && sharedQueueSize == that.sharedQueueSize;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(fullDocument, batchSize, resumeAfter, startAfter, startAtOperationTime, resumeTokenKey,
+      checkpointEvents, checkpointInterval, maxReconnectAttempts, reconnectInterval, shared, sharedQueueSize);
+  }
+
+  @Override
+  public String toString() {
+    return "ChangeStreamOptions{" +
+      "fullDocument='" + fullDocument + '\'' +
+      ", batchSize=" + batchSize +
+      ", resumeAfter=" + resumeAfter +
+      ", startAfter=" + startAfter +
+      ", startAtOperationTime=" + startAtOperationTime +
+      ", resumeTokenKey='" + resumeTokenKey + '\'' +
+      ", checkpointEvents=" + checkpointEvents +
+      ", checkpointInterval=" + checkpointInterval +
+      ", maxReconnectAttempts=" + maxReconnectAttempts +
+      ", reconnectInterval=" + reconnectInterval +
+      ", shared=" + shared +
+      ", sharedQueueSize=" + sharedQueueSize +
+      '}';
+  }
+}
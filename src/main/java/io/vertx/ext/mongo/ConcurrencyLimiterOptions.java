@@ -0,0 +1,264 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * Options of a client-side concurrency limiter, configured with the {@code readConcurrencyLimiter} and
+ * {@code writeConcurrencyLimiter} client configuration objects.
+ * <p>
+ * The limiter adapts the number of operations running concurrently to the latency of the operations: the limit grows
+ * while the latency stays close to its long term average, and shrinks when the latency increases, a sign that the
+ * server is saturated. The operations above the limit are queued, up to {@link #getMaxQueueSize()}, further
+ * operations fail immediately with a {@link MongoOverloadedException}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class ConcurrencyLimiterOptions {
+
+  /**
+   * The default value of initialLimit = 20
+   */
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+  /**
+   * The default value of minLimit = 1
+   */
+  public static final int DEFAULT_MIN_LIMIT = 1;
+
+  /**
+   * The default value of maxLimit = 200
+   */
+  public static final int DEFAULT_MAX_LIMIT = 200;
+
+  /**
+   * The default value of maxQueueSize = 100
+   */
+  public static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+
+  /**
+   * The default value of rttTolerance = 1.5
+   */
+  public static final double DEFAULT_RTT_TOLERANCE = 1.5;
+
+  /**
+   * The default value of smoothing = 0.2
+   */
+  public static final double DEFAULT_SMOOTHING = 0.2;
+
+  private int initialLimit;
+  private int minLimit;
+  private int maxLimit;
+  private int maxQueueSize;
+  private double rttTolerance;
+  private double smoothing;
+
+  /**
+   * Default constructor
+   */
+  public ConcurrencyLimiterOptions() {
+    init();
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public ConcurrencyLimiterOptions(ConcurrencyLimiterOptions options) {
+    this.initialLimit = options.initialLimit;
+    this.minLimit = options.minLimit;
+    this.maxLimit = options.maxLimit;
+    this.maxQueueSize = options.maxQueueSize;
+    this.rttTolerance = options.rttTolerance;
+    this.smoothing = options.smoothing;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public ConcurrencyLimiterOptions(JsonObject options) {
+    init();
+    ConcurrencyLimiterOptionsConverter.fromJson(options, this);
+  }
+
+  private void init() {
+    initialLimit = DEFAULT_INITIAL_LIMIT;
+    minLimit = DEFAULT_MIN_LIMIT;
+    maxLimit = DEFAULT_MAX_LIMIT;
+    maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+    rttTolerance = DEFAULT_RTT_TOLERANCE;
+    smoothing = DEFAULT_SMOOTHING;
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ConcurrencyLimiterOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the limit before any latency is measured
+   */
+  public int getInitialLimit() {
+    return initialLimit;
+  }
+
+  /**
+   * Set the limit of concurrent operations before any latency is measured.
+   *
+   * @param initialLimit the initial limit
+   * @return reference to this, for fluency
+   */
+  public ConcurrencyLimiterOptions setInitialLimit(int initialLimit) {
+    if (initialLimit < 1) {
+      throw new IllegalArgumentException("initialLimit must be > 0");
+    }
+    this.initialLimit = initialLimit;
+    return this;
+  }
+
+  /**
+   * @return the minimum limit
+   */
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  /**
+   * Set the minimum limit of concurrent operations, however high the latency.
+   *
+   * @param minLimit the minimum limit
+   * @return reference to this, for fluency
+   */
+  public ConcurrencyLimiterOptions setMinLimit(int minLimit) {
+    if (minLimit < 1) {
+      throw new IllegalArgumentException("minLimit must be > 0");
+    }
+    this.minLimit = minLimit;
+    return this;
+  }
+
+  /**
+   * @return the maximum limit
+   */
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  /**
+   * Set the maximum limit of concurrent operations, however low the latency.
+   *
+   * @param maxLimit the maximum limit
+   * @return reference to this, for fluency
+   */
+  public ConcurrencyLimiterOptions setMaxLimit(int maxLimit) {
+    if (maxLimit < 1) {
+      throw new IllegalArgumentException("maxLimit must be > 0");
+    }
+    this.maxLimit = maxLimit;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of queued operations
+   */
+  public int getMaxQueueSize() {
+    return maxQueueSize;
+  }
+
+  /**
+   * Set the maximum number of operations waiting for the limit. Operations beyond it fail immediately with a
+   * {@link MongoOverloadedException}, {@code 0} rejects all the operations above the limit.
+   *
+   * @param maxQueueSize the maximum queue size
+   * @return reference to this, for fluency
+   */
+  public ConcurrencyLimiterOptions setMaxQueueSize(int maxQueueSize) {
+    if (maxQueueSize < 0) {
+      throw new IllegalArgumentException("maxQueueSize must be >= 0");
+    }
+    this.maxQueueSize = maxQueueSize;
+    return this;
+  }
+
+  /**
+   * @return the tolerated ratio between the current and the long term latency
+   */
+  public double getRttTolerance() {
+    return rttTolerance;
+  }
+
+  /**
+   * Set the ratio between the current latency and its long term average tolerated before the limit shrinks.
+   *
+   * @param rttTolerance the tolerance, at least {@code 1}
+   * @return reference to this, for fluency
+   */
+  public ConcurrencyLimiterOptions setRttTolerance(double rttTolerance) {
+    if (rttTolerance < 1) {
+      throw new IllegalArgumentException("rttTolerance must be >= 1");
+    }
+    this.rttTolerance = rttTolerance;
+    return this;
+  }
+
+  /**
+   * @return the smoothing factor of the limit
+   */
+  public double getSmoothing() {
+    return smoothing;
+  }
+
+  /**
+   * Set the weight of each new limit estimate, between {@code 0} excluded and {@code 1}: lower values make the limit
+   * react slower to latency changes.
+   *
+   * @param smoothing the smoothing factor
+   * @return reference to this, for fluency
+   */
+  public ConcurrencyLimiterOptions setSmoothing(double smoothing) {
+    if (smoothing <= 0 || smoothing > 1) {
+      throw new IllegalArgumentException("smoothing must be in ]0, 1]");
+    }
+    this.smoothing = smoothing;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ConcurrencyLimiterOptions that = (ConcurrencyLimiterOptions) o;
+    return initialLimit == that.initialLimit && minLimit == that.minLimit && maxLimit == that.maxLimit
+      && maxQueueSize == that.maxQueueSize && Double.compare(rttTolerance, that.rttTolerance) == 0
+      && Double.compare(smoothing, that.smoothing) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(initialLimit, minLimit, maxLimit, maxQueueSize, rttTolerance, smoothing);
+  }
+
+  @Override
+  public String toString() {
+    return "ConcurrencyLimiterOptions{" +
+      "initialLimit=" + initialLimit +
+      ", minLimit=" + minLimit +
+      ", maxLimit=" + maxLimit +
+      ", maxQueueSize=" + maxQueueSize +
+      ", rttTolerance=" + rttTolerance +
+      ", smoothing=" + smoothing +
+      '}';
+  }
+}
@@ -0,0 +1,145 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * Statistics of a concurrency limiter of a client.
+ */
+@DataObject
+public class ConcurrencyLimiterStats {
+
+  private String name;
+  private int limit;
+  private int inFlight;
+  private int queueSize;
+  private long rejected;
+
+  /**
+   * Default constructor
+   */
+  public ConcurrencyLimiterStats() {
+  }
+
+  /**
+   * Constructor
+   *
+   * @param name      the name of the limiter
+   * @param limit     the current limit
+   * @param inFlight  the number of operations in flight
+   * @param queueSize the number of queued operations
+   * @param rejected  the number of rejected operations
+   */
+  public ConcurrencyLimiterStats(String name, int limit, int inFlight, int queueSize, long rejected) {
+    this.name = name;
+    this.limit = limit;
+    this.inFlight = inFlight;
+    this.queueSize = queueSize;
+    this.rejected = rejected;
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param other the one to copy
+   */
+  public ConcurrencyLimiterStats(ConcurrencyLimiterStats other) {
+    this.name = other.name;
+    this.limit = other.limit;
+    this.inFlight = other.inFlight;
+    this.queueSize = other.queueSize;
+    this.rejected = other.rejected;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param json the JSON
+   */
+  public ConcurrencyLimiterStats(JsonObject json) {
+    this.name = json.getString("name");
+    this.limit = json.getInteger("limit", 0);
+    this.inFlight = json.getInteger("inFlight", 0);
+    this.queueSize = json.getInteger("queueSize", 0);
+    this.rejected = json.getLong("rejected", 0L);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    if (name != null) {
+      json.put("name", name);
+    }
+    return json
+      .put("limit", limit)
+      .put("inFlight", inFlight)
+      .put("queueSize", queueSize)
+      .put("rejected", rejected);
+  }
+
+  /**
+   * @return the name of the limiter, {@code read}, {@code write} or {@code lowPriority}
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the current limit of concurrent operations
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return the number of operations in flight
+   */
+  public int getInFlight() {
+    return inFlight;
+  }
+
+  /**
+   * @return the number of operations waiting for the limit
+   */
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  /**
+   * @return the number of operations rejected because the queue was full
+   */
+  public long getRejected() {
+    return rejected;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ConcurrencyLimiterStats that = (ConcurrencyLimiterStats) o;
+    return limit == that.limit && inFlight == that.inFlight && queueSize == that.queueSize && rejected == that.rejected
+      && Objects.equals(name, that.name);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, limit, inFlight, queueSize, rejected);
+  }
+
+  @Override
+  public String toString() {
+    return "ConcurrencyLimiterStats{" +
+      "name='" + name + '\'' +
+      ", limit=" + limit +
+      ", inFlight=" + inFlight +
+      ", queueSize=" + queueSize +
+      ", rejected=" + rejected +
+      '}';
+  }
+}
@@ -0,0 +1,243 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * Statistics of the connection pool of a server.
+ */
+@DataObject
+public class ConnectionPoolStats {
+
+  private String address;
+  private int maxSize;
+  private long checkedOut;
+  private long waitQueueSize;
+  private long connectionsCreated;
+  private long connectionsClosed;
+  private long checkouts;
+  private long checkoutFailures;
+  private JsonObject checkoutLatencyHistogram = new JsonObject();
+  private long heartbeatRtt = -1L;
+
+  /**
+   * Default constructor
+   */
+  public ConnectionPoolStats() {
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param other the one to copy
+   */
+  public ConnectionPoolStats(ConnectionPoolStats other) {
+    this.address = other.address;
+    this.maxSize = other.maxSize;
+    this.checkedOut = other.checkedOut;
+    this.waitQueueSize = other.waitQueueSize;
+    this.connectionsCreated = other.connectionsCreated;
+    this.connectionsClosed = other.connectionsClosed;
+    this.checkouts = other.checkouts;
+    this.checkoutFailures = other.checkoutFailures;
+    this.checkoutLatencyHistogram = other.checkoutLatencyHistogram.copy();
+    this.heartbeatRtt = other.heartbeatRtt;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param json the JSON
+   */
+  public ConnectionPoolStats(JsonObject json) {
+    this.address = json.getString("address");
+    this.maxSize = json.getInteger("maxSize", 0);
+    this.checkedOut = json.getLong("checkedOut", 0L);
+    this.waitQueueSize = json.getLong("waitQueueSize", 0L);
+    this.connectionsCreated = json.getLong("connectionsCreated", 0L);
+    this.connectionsClosed = json.getLong("connectionsClosed", 0L);
+    this.checkouts = json.getLong("checkouts", 0L);
+    this.checkoutFailures = json.getLong("checkoutFailures", 0L);
+    this.checkoutLatencyHistogram = json.getJsonObject("checkoutLatencyHistogram", new JsonObject()).copy();
+    this.heartbeatRtt = json.getLong("heartbeatRtt", -1L);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    if (address != null) {
+      json.put("address", address);
+    }
+    return json
+      .put("maxSize", maxSize)
+      .put("checkedOut", checkedOut)
+      .put("waitQueueSize", waitQueueSize)
+      .put("connectionsCreated", connectionsCreated)
+      .put("connectionsClosed", connectionsClosed)
+      .put("checkouts", checkouts)
+      .put("checkoutFailures", checkoutFailures)
+      .put("checkoutLatencyHistogram", checkoutLatencyHistogram.copy())
+      .put("heartbeatRtt", heartbeatRtt);
+  }
+
+  /**
+   * @return the address of the server, as {@code host:port}
+   */
+  public String getAddress() {
+    return address;
+  }
+
+  public ConnectionPoolStats setAddress(String address) {
+    this.address = address;
+    return this;
+  }
+
+  /**
+   * @return the maximum size of the pool
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public ConnectionPoolStats setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  /**
+   * @return the number of connections currently used by operations
+   */
+  public long getCheckedOut() {
+    return checkedOut;
+  }
+
+  public ConnectionPoolStats setCheckedOut(long checkedOut) {
+    this.checkedOut = checkedOut;
+    return this;
+  }
+
+  /**
+   * @return the number of operations currently waiting for a connection
+   */
+  public long getWaitQueueSize() {
+    return waitQueueSize;
+  }
+
+  public ConnectionPoolStats setWaitQueueSize(long waitQueueSize) {
+    this.waitQueueSize = waitQueueSize;
+    return this;
+  }
+
+  /**
+   * @return the number of connections opened since the pool was created
+   */
+  public long getConnectionsCreated() {
+    return connectionsCreated;
+  }
+
+  public ConnectionPoolStats setConnectionsCreated(long connectionsCreated) {
+    this.connectionsCreated = connectionsCreated;
+    return this;
+  }
+
+  /**
+   * @return the number of connections closed since the pool was created
+   */
+  public long getConnectionsClosed() {
+    return connectionsClosed;
+  }
+
+  public ConnectionPoolStats setConnectionsClosed(long connectionsClosed) {
+    this.connectionsClosed = connectionsClosed;
+    return this;
+  }
+
+  /**
+   * @return the number of successful connection checkouts
+   */
+  public long getCheckouts() {
+    return checkouts;
+  }
+
+  public ConnectionPoolStats setCheckouts(long checkouts) {
+    this.checkouts = checkouts;
+    return this;
+  }
+
+  /**
+   * @return the number of failed connection checkouts, e.g. when the wait queue timeout expired
+   */
+  public long getCheckoutFailures() {
+    return checkoutFailures;
+  }
+
+  public ConnectionPoolStats setCheckoutFailures(long checkoutFailures) {
+    this.checkoutFailures = checkoutFailures;
+    return this;
+  }
+
+  /**
+   * @return the number of checkouts per latency bucket, keyed by the upper bound of the bucket in milliseconds, the
+   * last bucket being {@code +Inf}
+   */
+  public JsonObject getCheckoutLatencyHistogram() {
+    return checkoutLatencyHistogram;
+  }
+
+  public ConnectionPoolStats setCheckoutLatencyHistogram(JsonObject checkoutLatencyHistogram) {
+    this.checkoutLatencyHistogram = checkoutLatencyHistogram;
+    return this;
+  }
+
+  /**
+   * @return the round trip time in milliseconds of the last successful heartbeat of the server, {@code -1} when
+   * unknown
+   */
+  public long getHeartbeatRtt() {
+    return heartbeatRtt;
+  }
+
+  public ConnectionPoolStats setHeartbeatRtt(long heartbeatRtt) {
+    this.heartbeatRtt = heartbeatRtt;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ConnectionPoolStats that = (ConnectionPoolStats) o;
+    return maxSize == that.maxSize && checkedOut == that.checkedOut && waitQueueSize == that.waitQueueSize
+      && connectionsCreated == that.connectionsCreated && connectionsClosed == that.connectionsClosed
+      && checkouts == that.checkouts && checkoutFailures == that.checkoutFailures && heartbeatRtt == that.heartbeatRtt
+      && Objects.equals(address, that.address) && Objects.equals(checkoutLatencyHistogram, that.checkoutLatencyHistogram);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(address, maxSize, checkedOut, waitQueueSize, connectionsCreated, connectionsClosed, checkouts,
+      checkoutFailures, checkoutLatencyHistogram, heartbeatRtt);
+  }
+
+  @Override
+  public String toString() {
+    return "ConnectionPoolStats{" +
+      "address='" + address + '\'' +
+      ", maxSize=" + maxSize +
+      ", checkedOut=" + checkedOut +
+      ", waitQueueSize=" + waitQueueSize +
+      ", connectionsCreated=" + connectionsCreated +
+      ", connectionsClosed=" + connectionsClosed +
+      ", checkouts=" + checkouts +
+      ", checkoutFailures=" + checkoutFailures +
+      ", checkoutLatencyHistogram=" + checkoutLatencyHistogram +
+      ", heartbeatRtt=" + heartbeatRtt +
+      '}';
+  }
+}
@@ -18,6 +18,9 @@ public class CountOptions {
   private Integer skip;
   private Long maxTime;
   private CollationOptions collation;
+  private String readPreference;
+  private String readConcern;
+  private String comment;
 
   public CountOptions() {
     this.hint = null;
@@ -35,6 +38,9 @@ public class CountOptions {
     this.skip = countOptions.getSkip();
     this.maxTime = countOptions.getMaxTime();
     this.collation = countOptions.getCollation();
+    this.readPreference = countOptions.getReadPreference();
+    this.readConcern = countOptions.getReadConcern();
+    this.comment = countOptions.getComment();
   }
 
   public CountOptions(JsonObject json) {
@@ -72,6 +78,9 @@ public class CountOptions {
     if (hintString != null) {
       options.hintString(hintString);
     }
+    if (comment != null) {
+      options.comment(comment);
+    }
     return options;
   }
 
@@ -191,17 +200,74 @@ public class CountOptions {
     return this;
   }
 
+  /**
+   * @return the read preference name
+   */
+  public String getReadPreference() {
+    return readPreference;
+  }
+
+  /**
+   * Set the read preference of the operation, e.g. {@code secondaryPreferred}. Defaults to the read preference of
+   * the client.
+   *
+   * @param readPreference the read preference name
+   * @return reference to this, for fluency
+   */
+  public CountOptions setReadPreference(String readPreference) {
+    this.readPreference = readPreference;
+    return this;
+  }
+
+  /**
+   * @return the read concern level
+   */
+  public String getReadConcern() {
+    return readConcern;
+  }
+
+  /**
+   * Set the read concern level of the operation, e.g. {@code majority}. Defaults to the read concern of the client.
+   *
+   * @param readConcern the read concern level
+   * @return reference to this, for fluency
+   */
+  public CountOptions setReadConcern(String readConcern) {
+    this.readConcern = readConcern;
+    return this;
+  }
+
+  /**
+   * @return the comment
+   */
+  public String getComment() {
+    return comment;
+  }
+
+  /**
+   * Set a comment attached to the operation, which appears in the profiler, the logs and {@code currentOp}.
+   *
+   * @param comment the comment
+   * @return reference to this, for fluency
+   */
+  public CountOptions setComment(String comment) {
+    this.comment = comment;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     CountOptions that = (CountOptions) o;
-    return Objects.equals(hint, that.hint) && Objects.equals(hintString, that.hintString) && Objects.equals(limit, that.limit) && Objects.equals(skip, that.skip) && Objects.equals(maxTime, that.maxTime) && Objects.equals(collation, that.collation);
+    return Objects.equals(hint, that.hint) && Objects.equals(hintString, that.hintString) && Objects.equals(limit, that.limit) && Objects.equals(skip, that.skip) && Objects.equals(maxTime, that.maxTime) && Objects.equals(collation, that.collation)
+      && Objects.equals(readPreference, that.readPreference) && Objects.equals(readConcern, that.readConcern)
+      && Objects.equals(comment, that.comment);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(hint, hintString, limit, skip, maxTime, collation);
+    return Objects.hash(hint, hintString, limit, skip, maxTime, collation, readPreference, readConcern, comment);
   }
 
   @Override
@@ -213,6 +279,9 @@ public class CountOptions {
       ", skip=" + skip +
       ", maxTime=" + maxTime +
       ", collation=" + collation +
+      ", readPreference='" + readPreference + '\'' +
+      ", readConcern='" + readConcern + '\'' +
+      ", comment='" + comment + '\'' +
       '}';
   }
 }
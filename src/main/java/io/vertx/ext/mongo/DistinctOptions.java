@@ -10,12 +10,20 @@ import java.util.Objects;
 @JsonGen(publicConverter = false)
 public class DistinctOptions {
   CollationOptions collation;
+  private Long maxTime;
+  private String readPreference;
+  private String readConcern;
+  private String comment;
 
   public DistinctOptions() {
   }
 
   public DistinctOptions(DistinctOptions distinctOptions) {
     collation = distinctOptions.getCollation();
+    maxTime = distinctOptions.getMaxTime();
+    readPreference = distinctOptions.getReadPreference();
+    readConcern = distinctOptions.getReadConcern();
+    comment = distinctOptions.getComment();
   }
 
   public DistinctOptions(JsonObject json) {
@@ -49,23 +57,102 @@ public class DistinctOptions {
     return this;
   }
 
+  /**
+   * @return the maximum execution time in milliseconds
+   */
+  public Long getMaxTime() {
+    return maxTime;
+  }
+
+  /**
+   * Set the maximum execution time in milliseconds of the operation on the server.
+   *
+   * @param maxTime the time in milliseconds
+   * @return reference to this, for fluency
+   */
+  public DistinctOptions setMaxTime(Long maxTime) {
+    this.maxTime = maxTime;
+    return this;
+  }
+
+  /**
+   * @return the read preference name
+   */
+  public String getReadPreference() {
+    return readPreference;
+  }
+
+  /**
+   * Set the read preference of the operation, e.g. {@code secondaryPreferred}. Defaults to the read preference of
+   * the client.
+   *
+   * @param readPreference the read preference name
+   * @return reference to this, for fluency
+   */
+  public DistinctOptions setReadPreference(String readPreference) {
+    this.readPreference = readPreference;
+    return this;
+  }
+
+  /**
+   * @return the read concern level
+   */
+  public String getReadConcern() {
+    return readConcern;
+  }
+
+  /**
+   * Set the read concern level of the operation, e.g. {@code majority}. Defaults to the read concern of the client.
+   *
+   * @param readConcern the read concern level
+   * @return reference to this, for fluency
+   */
+  public DistinctOptions setReadConcern(String readConcern) {
+    this.readConcern = readConcern;
+    return this;
+  }
+
+  /**
+   * @return the comment
+   */
+  public String getComment() {
+    return comment;
+  }
+
+  /**
+   * Set a comment attached to the operation, which appears in the profiler, the logs and {@code currentOp}.
+   *
+   * @param comment the comment
+   * @return reference to this, for fluency
+   */
+  public DistinctOptions setComment(String comment) {
+    this.comment = comment;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     DistinctOptions that = (DistinctOptions) o;
-    return Objects.equals(getCollation(), that.getCollation());
+    return Objects.equals(getCollation(), that.getCollation()) && Objects.equals(maxTime, that.maxTime)
+      && Objects.equals(readPreference, that.readPreference) && Objects.equals(readConcern, that.readConcern)
+      && Objects.equals(comment, that.comment);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(getCollation());
+    return Objects.hash(getCollation(), maxTime, readPreference, readConcern, comment);
   }
 
   @Override
   public String toString() {
     return "DistinctOptions{" +
       "collation=" + collation +
+      ", maxTime=" + maxTime +
+      ", readPreference='" + readPreference + '\'' +
+      ", readConcern='" + readConcern + '\'' +
+      ", comment='" + comment + '\'' +
       '}';
   }
 }
@@ -0,0 +1,111 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The result of {@link MongoClient#findByIds}: the found documents, in the order of the requested ids, and the
+ * requested ids no document was found for.
+ */
+@DataObject
+public class FindByIdsResult {
+
+  private List<JsonObject> documents;
+  private JsonArray missingIds;
+
+  /**
+   * Default constructor
+   */
+  public FindByIdsResult() {
+    this.documents = new ArrayList<>();
+    this.missingIds = new JsonArray();
+  }
+
+  /**
+   * Constructor
+   *
+   * @param documents  the found documents
+   * @param missingIds the ids no document was found for
+   */
+  public FindByIdsResult(List<JsonObject> documents, JsonArray missingIds) {
+    this.documents = documents;
+    this.missingIds = missingIds;
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param other the one to copy
+   */
+  public FindByIdsResult(FindByIdsResult other) {
+    this.documents = new ArrayList<>(other.documents);
+    this.missingIds = other.missingIds.copy();
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param json the JSON
+   */
+  public FindByIdsResult(JsonObject json) {
+    this.documents = new ArrayList<>();
+    JsonArray documents = json.getJsonArray("documents");
+    if (documents != null) {
+      for (int i = 0; i < documents.size(); i++) {
+        this.documents.add(documents.getJsonObject(i));
+      }
+    }
+    this.missingIds = json.getJsonArray("missingIds", new JsonArray());
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    return new JsonObject()
+      .put("documents", new JsonArray(new ArrayList<>(documents)))
+      .put("missingIds", missingIds);
+  }
+
+  /**
+   * @return the found documents, in the order of the requested ids, each document once
+   */
+  public List<JsonObject> getDocuments() {
+    return documents;
+  }
+
+  /**
+   * @return the requested ids no document was found for, in the order of the requested ids
+   */
+  public JsonArray getMissingIds() {
+    return missingIds;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    FindByIdsResult that = (FindByIdsResult) o;
+    return Objects.equals(documents, that.documents) && Objects.equals(missingIds, that.missingIds);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(documents, missingIds);
+  }
+
+  @Override
+  public String toString() {
+    return "FindByIdsResult{" +
+      "documents=" + documents +
+      ", missingIds=" + missingIds +
+      '}';
+  }
+}
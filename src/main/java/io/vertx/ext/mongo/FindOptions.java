@@ -30,6 +30,11 @@ public class FindOptions {
    */
   public static final int DEFAULT_BATCH_SIZE = 20;
 
+  /**
+   * The default value of maxTime = 0, signifying no time limit
+   */
+  public static final long DEFAULT_MAX_TIME = 0L;
+
   private JsonObject fields;
   private JsonObject sort;
   private int limit;
@@ -38,6 +43,15 @@ public class FindOptions {
   private JsonObject hint;
   private String hintString;
   private CollationOptions collation;
+  private long maxTime;
+  private String readPreference;
+  private String readConcern;
+  private boolean noCursorTimeout;
+  private boolean allowPartialResults;
+  private String comment;
+  private JsonObject let;
+  private boolean hedged;
+  private long hedgeDelay;
 
   /**
    * Default constructor
@@ -48,6 +62,7 @@ public class FindOptions {
     this.limit = DEFAULT_LIMIT;
     this.skip = DEFAULT_SKIP;
     this.batchSize = DEFAULT_BATCH_SIZE;
+    this.maxTime = DEFAULT_MAX_TIME;
   }
 
   /**
@@ -64,6 +79,15 @@ public class FindOptions {
     this.hint = options.hint;
     this.hintString = options.hintString;
     this.collation = options.getCollation();
+    this.maxTime = options.maxTime;
+    this.readPreference = options.readPreference;
+    this.readConcern = options.readConcern;
+    this.noCursorTimeout = options.noCursorTimeout;
+    this.allowPartialResults = options.allowPartialResults;
+    this.comment = options.comment;
+    this.let = options.let != null ? options.let.copy() : null;
+    this.hedged = options.hedged;
+    this.hedgeDelay = options.hedgeDelay;
   }
 
   /**
@@ -239,17 +263,213 @@ public class FindOptions {
     return this;
   }
 
+  /**
+   * Get the time limit in milliseconds for processing the query on the server.
+   *
+   * @return the time limit in milliseconds, {@code 0} for no limit
+   */
+  public long getMaxTime() {
+    return maxTime;
+  }
+
+  /**
+   * Set the time limit in milliseconds for processing the query on the server. The query fails once the limit is
+   * reached.
+   *
+   * @param maxTime the time limit in milliseconds, {@code 0} for no limit
+   * @return reference to this, for fluency
+   */
+  public FindOptions setMaxTime(long maxTime) {
+    this.maxTime = maxTime;
+    return this;
+  }
+
+  /**
+   * Get the read preference of the query.
+   *
+   * @return the read preference name
+   */
+  public String getReadPreference() {
+    return readPreference;
+  }
+
+  /**
+   * Set the read preference of the query, e.g. {@code secondaryPreferred}. Defaults to the read preference of the
+   * client.
+   *
+   * @param readPreference the read preference name
+   * @return reference to this, for fluency
+   */
+  public FindOptions setReadPreference(String readPreference) {
+    this.readPreference = readPreference;
+    return this;
+  }
+
+  /**
+   * Get the read concern level of the query.
+   *
+   * @return the read concern level
+   */
+  public String getReadConcern() {
+    return readConcern;
+  }
+
+  /**
+   * Set the read concern level of the query, e.g. {@code majority}. Defaults to the read concern of the client.
+   *
+   * @param readConcern the read concern level
+   * @return reference to this, for fluency
+   */
+  public FindOptions setReadConcern(String readConcern) {
+    this.readConcern = readConcern;
+    return this;
+  }
+
+  /**
+   * Get whether the server cursor never times out.
+   *
+   * @return {@code true} if the cursor never times out
+   */
+  public boolean isNoCursorTimeout() {
+    return noCursorTimeout;
+  }
+
+  /**
+   * Set whether the server cursor never times out. By default the server closes cursors idle for 10 minutes.
+   *
+   * @param noCursorTimeout whether the cursor never times out
+   * @return reference to this, for fluency
+   */
+  public FindOptions setNoCursorTimeout(boolean noCursorTimeout) {
+    this.noCursorTimeout = noCursorTimeout;
+    return this;
+  }
+
+  /**
+   * Get whether partial results are returned when some shards are unavailable.
+   *
+   * @return {@code true} if partial results are allowed
+   */
+  public boolean isAllowPartialResults() {
+    return allowPartialResults;
+  }
+
+  /**
+   * Set whether a query on a sharded cluster returns the results of the available shards, instead of failing, when
+   * some shards are unavailable.
+   *
+   * @param allowPartialResults whether partial results are allowed
+   * @return reference to this, for fluency
+   */
+  public FindOptions setAllowPartialResults(boolean allowPartialResults) {
+    this.allowPartialResults = allowPartialResults;
+    return this;
+  }
+
+  /**
+   * Get the comment attached to the query.
+   *
+   * @return the comment
+   */
+  public String getComment() {
+    return comment;
+  }
+
+  /**
+   * Set a comment attached to the query, which appears in the profiler, the logs and {@code currentOp}.
+   *
+   * @param comment the comment
+   * @return reference to this, for fluency
+   */
+  public FindOptions setComment(String comment) {
+    this.comment = comment;
+    return this;
+  }
+
+  /**
+   * Get the variables of the query.
+   *
+   * @return the variables
+   */
+  public JsonObject getLet() {
+    return let;
+  }
+
+  /**
+   * Set variables, accessible in the query with {@code $$name} in a {@code $expr} expression.
+   *
+   * @param let the variables
+   * @return reference to this, for fluency
+   */
+  public FindOptions setLet(JsonObject let) {
+    this.let = let;
+    return this;
+  }
+
+  /**
+   * Get whether single document reads are hedged.
+   *
+   * @return {@code true} if reads are hedged
+   */
+  public boolean isHedged() {
+    return hedged;
+  }
+
+  /**
+   * Set whether {@link MongoClient#findOneWithOptions} hedges the read: when the read is not answered within the
+   * hedge delay, the same read is issued again, most likely to another member allowed by the read preference. The
+   * first answer is used and the other read is cancelled. Hedging only helps with a read preference allowing several
+   * members, such as {@code nearest} or {@code secondaryPreferred}: it is not applied with the {@code primary} read
+   * preference, nor in sessions.
+   *
+   * @param hedged whether reads are hedged
+   * @return reference to this, for fluency
+   */
+  public FindOptions setHedged(boolean hedged) {
+    this.hedged = hedged;
+    return this;
+  }
+
+  /**
+   * Get the delay in milliseconds before hedging a read.
+   *
+   * @return the delay in milliseconds, {@code 0} for the 95th percentile of the recent read latencies
+   */
+  public long getHedgeDelay() {
+    return hedgeDelay;
+  }
+
+  /**
+   * Set the delay in milliseconds after which a read is hedged. Defaults to {@code 0}: the 95th percentile of the
+   * latencies of the recent hedged reads of the client, reads are not hedged until enough latencies are known.
+   *
+   * @param hedgeDelay the delay in milliseconds
+   * @return reference to this, for fluency
+   */
+  public FindOptions setHedgeDelay(long hedgeDelay) {
+    if (hedgeDelay < 0) {
+      throw new IllegalArgumentException("hedgeDelay must be >= 0");
+    }
+    this.hedgeDelay = hedgeDelay;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     FindOptions that = (FindOptions) o;
-    return limit == that.limit && skip == that.skip && batchSize == that.batchSize && Objects.equals(fields, that.fields) && Objects.equals(sort, that.sort) && Objects.equals(hint, that.hint) && Objects.equals(hintString, that.hintString) && Objects.equals(collation, that.collation);
+    return limit == that.limit && skip == that.skip && batchSize == that.batchSize && Objects.equals(fields, that.fields) && Objects.equals(sort, that.sort) && Objects.equals(hint, that.hint) && Objects.equals(hintString, that.hintString) && Objects.equals(collation, that.collation)
+      && maxTime == that.maxTime && Objects.equals(readPreference, that.readPreference) && Objects.equals(readConcern, that.readConcern)
+      && noCursorTimeout == that.noCursorTimeout && allowPartialResults == that.allowPartialResults
+      && Objects.equals(comment, that.comment) && Objects.equals(let, that.let) && hedged == that.hedged
+      && hedgeDelay == that.hedgeDelay;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(fields, sort, limit, skip, batchSize, hint, hintString, collation);
+    return Objects.hash(fields, sort, limit, skip, batchSize, hint, hintString, collation, maxTime, readPreference,
+      readConcern, noCursorTimeout, allowPartialResults, comment, let, hedged, hedgeDelay);
   }
 
   @Override
@@ -263,6 +483,15 @@ public class FindOptions {
       ", hint=" + hint +
       ", hintString='" + hintString + '\'' +
       ", collation=" + collation +
+      ", maxTime=" + maxTime +
+      ", readPreference='" + readPreference + '\'' +
+      ", readConcern='" + readConcern + '\'' +
+      ", noCursorTimeout=" + noCursorTimeout +
+      ", allowPartialResults=" + allowPartialResults +
+      ", comment='" + comment + '\'' +
+      ", let=" + let +
+      ", hedged=" + hedged +
+      ", hedgeDelay=" + hedgeDelay +
       '}';
   }
 }
@@ -0,0 +1,254 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * Options used to configure a GridFS bucket client.
+ */
+@DataObject
+public class GridFsBucketOptions {
+
+  /**
+   * The default value of the files metadata cache TTL = 0, signifying no caching
+   */
+  public static final long DEFAULT_METADATA_CACHE_TTL = 0L;
+
+  /**
+   * The default value of the files metadata cache max size = 1000
+   */
+  public static final int DEFAULT_METADATA_CACHE_MAX_SIZE = 1000;
+
+  /**
+   * The default value of deduplication = false
+   */
+  public static final boolean DEFAULT_DEDUPLICATION = false;
+
+  /**
+   * The default value of the expiry sweep interval = 60000 ms
+   */
+  public static final long DEFAULT_EXPIRY_SWEEP_INTERVAL = 60000L;
+
+  /**
+   * The default value of the expiry rate limit = 100 files per second
+   */
+  public static final int DEFAULT_EXPIRY_RATE_LIMIT = 100;
+
+  private long metadataCacheTtl = DEFAULT_METADATA_CACHE_TTL;
+  private int metadataCacheMaxSize = DEFAULT_METADATA_CACHE_MAX_SIZE;
+  private boolean deduplication = DEFAULT_DEDUPLICATION;
+  private String expiryField;
+  private long expirySweepInterval = DEFAULT_EXPIRY_SWEEP_INTERVAL;
+  private int expiryRateLimit = DEFAULT_EXPIRY_RATE_LIMIT;
+
+  /**
+   * Default constructor
+   */
+  public GridFsBucketOptions() {
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public GridFsBucketOptions(GridFsBucketOptions options) {
+    this.metadataCacheTtl = options.metadataCacheTtl;
+    this.metadataCacheMaxSize = options.metadataCacheMaxSize;
+    this.deduplication = options.deduplication;
+    this.expiryField = options.expiryField;
+    this.expirySweepInterval = options.expirySweepInterval;
+    this.expiryRateLimit = options.expiryRateLimit;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public GridFsBucketOptions(JsonObject options) {
+    this.metadataCacheTtl = options.getLong("metadataCacheTtl", DEFAULT_METADATA_CACHE_TTL);
+    this.metadataCacheMaxSize = options.getInteger("metadataCacheMaxSize", DEFAULT_METADATA_CACHE_MAX_SIZE);
+    this.deduplication = options.getBoolean("deduplication", DEFAULT_DEDUPLICATION);
+    this.expiryField = options.getString("expiryField");
+    this.expirySweepInterval = options.getLong("expirySweepInterval", DEFAULT_EXPIRY_SWEEP_INTERVAL);
+    this.expiryRateLimit = options.getInteger("expiryRateLimit", DEFAULT_EXPIRY_RATE_LIMIT);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    json.put("metadataCacheTtl", metadataCacheTtl);
+    json.put("metadataCacheMaxSize", metadataCacheMaxSize);
+    json.put("deduplication", deduplication);
+    if (expiryField != null) {
+      json.put("expiryField", expiryField);
+    }
+    json.put("expirySweepInterval", expirySweepInterval);
+    json.put("expiryRateLimit", expiryRateLimit);
+
+    return json;
+  }
+
+  /**
+   * @return the time in milliseconds a cached files entry stays valid
+   */
+  public long getMetadataCacheTtl() {
+    return metadataCacheTtl;
+  }
+
+  /**
+   * Set the time in milliseconds a files entry resolved by file name and revision is cached. Cached entries let
+   * by-name downloads read the chunks directly without querying the files collection. A value of {@code 0}
+   * disables the cache.
+   *
+   * @param metadataCacheTtl the TTL in milliseconds
+   * @return reference to this, for fluency
+   */
+  public GridFsBucketOptions setMetadataCacheTtl(long metadataCacheTtl) {
+    if (metadataCacheTtl < 0) {
+      throw new IllegalArgumentException("metadataCacheTtl must be >= 0");
+    }
+    this.metadataCacheTtl = metadataCacheTtl;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of cached files entries
+   */
+  public int getMetadataCacheMaxSize() {
+    return metadataCacheMaxSize;
+  }
+
+  /**
+   * Set the maximum number of files entries kept in the metadata cache.
+   *
+   * @param metadataCacheMaxSize the maximum number of entries
+   * @return reference to this, for fluency
+   */
+  public GridFsBucketOptions setMetadataCacheMaxSize(int metadataCacheMaxSize) {
+    if (metadataCacheMaxSize < 1) {
+      throw new IllegalArgumentException("metadataCacheMaxSize must be > 0");
+    }
+    this.metadataCacheMaxSize = metadataCacheMaxSize;
+    return this;
+  }
+
+  /**
+   * @return whether uploaded content is deduplicated
+   */
+  public boolean isDeduplication() {
+    return deduplication;
+  }
+
+  /**
+   * Set whether uploaded content is deduplicated. When enabled, the SHA-256 hash of the content is computed
+   * while uploading and files with the same content share a single set of chunks, reference counted in the
+   * {@code <bucketName>.contents} collection. Files stored this way are read and deleted by any client of the bucket,
+   * whatever its options, but not by other GridFS implementations, which do not follow the shared chunks.
+   *
+   * @param deduplication whether to deduplicate content
+   * @return reference to this, for fluency
+   */
+  public GridFsBucketOptions setDeduplication(boolean deduplication) {
+    this.deduplication = deduplication;
+    return this;
+  }
+
+  /**
+   * @return the files entry field holding the expiry date of a file
+   */
+  public String getExpiryField() {
+    return expiryField;
+  }
+
+  /**
+   * Set the field of the files entry holding the date after which a file expires, e.g. {@code metadata.expireAt}.
+   * When set, a background sweeper periodically deletes the expired files of the bucket, until the client is
+   * closed. Files without this field never expire.
+   *
+   * @param expiryField the field name, in dot notation
+   * @return reference to this, for fluency
+   */
+  public GridFsBucketOptions setExpiryField(String expiryField) {
+    this.expiryField = expiryField;
+    return this;
+  }
+
+  /**
+   * @return the time in milliseconds between two expiry sweeps
+   */
+  public long getExpirySweepInterval() {
+    return expirySweepInterval;
+  }
+
+  /**
+   * Set the time in milliseconds between the end of an expiry sweep and the start of the next one.
+   *
+   * @param expirySweepInterval the interval in milliseconds
+   * @return reference to this, for fluency
+   */
+  public GridFsBucketOptions setExpirySweepInterval(long expirySweepInterval) {
+    if (expirySweepInterval < 1) {
+      throw new IllegalArgumentException("expirySweepInterval must be > 0");
+    }
+    this.expirySweepInterval = expirySweepInterval;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of expired files deleted per second
+   */
+  public int getExpiryRateLimit() {
+    return expiryRateLimit;
+  }
+
+  /**
+   * Set the maximum number of expired files the sweeper deletes per second, so that a large backlog of expired
+   * files is removed progressively rather than in a burst of deletes.
+   *
+   * @param expiryRateLimit the maximum number of files per second
+   * @return reference to this, for fluency
+   */
+  public GridFsBucketOptions setExpiryRateLimit(int expiryRateLimit) {
+    if (expiryRateLimit < 1) {
+      throw new IllegalArgumentException("expiryRateLimit must be > 0");
+    }
+    this.expiryRateLimit = expiryRateLimit;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    GridFsBucketOptions that = (GridFsBucketOptions) o;
+    return metadataCacheTtl == that.metadataCacheTtl && metadataCacheMaxSize == that.metadataCacheMaxSize
+      && deduplication == that.deduplication && expirySweepInterval == that.expirySweepInterval
+      && expiryRateLimit == that.expiryRateLimit && Objects.equals(expiryField, that.expiryField);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(metadataCacheTtl, metadataCacheMaxSize, deduplication, expiryField, expirySweepInterval,
+      expiryRateLimit);
+  }
+
+  @Override
+  public String toString() {
+    return "GridFsBucketOptions{" +
+      "metadataCacheTtl=" + metadataCacheTtl +
+      ", metadataCacheMaxSize=" + metadataCacheMaxSize +
+      ", deduplication=" + deduplication +
+      ", expiryField='" + expiryField + '\'' +
+      ", expirySweepInterval=" + expirySweepInterval +
+      ", expiryRateLimit=" + expiryRateLimit +
+      '}';
+  }
+}
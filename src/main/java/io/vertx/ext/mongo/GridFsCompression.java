@@ -0,0 +1,18 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * Compression codecs applied to the chunks of a GridFS file.
+ */
+@VertxGen
+public enum GridFsCompression {
+  /**
+   * GZIP format, see {@link java.util.zip.GZIPOutputStream}
+   */
+  GZIP,
+  /**
+   * zlib format, a deflate stream with the zlib header and checksum, see {@link java.util.zip.DeflaterOutputStream}
+   */
+  DEFLATE
+}
@@ -13,7 +13,10 @@ import java.util.Objects;
 @DataObject
 public class GridFsDownloadOptions {
 
-  public static final Integer DEFAULT_REVISION = 0;
+  /**
+   * The default revision = -1, signifying the most recent revision
+   */
+  public static final Integer DEFAULT_REVISION = -1;
 
   private Integer revision = DEFAULT_REVISION;
 
@@ -59,6 +62,14 @@ public class GridFsDownloadOptions {
     return revision;
   }
 
+  /**
+   * Set the revision of the file to download. Revisions are numbered by upload date: {@code 0} is the original
+   * file, {@code 1} the first revision and so on, while {@code -1} is the most recent revision, {@code -2} the
+   * second most recent and so on.
+   *
+   * @param revision the revision
+   * @return reference to this, for fluency
+   */
   public GridFsDownloadOptions setRevision(Integer revision) {
     this.revision = revision;
     return this;
@@ -9,6 +9,7 @@ import java.util.Objects;
 public class GridFsUploadOptions {
   private JsonObject metadata;
   private Integer chunkSizeBytes;
+  private GridFsCompression compression;
 
   /**
    * Default constructor
@@ -24,6 +25,7 @@ public class GridFsUploadOptions {
   public GridFsUploadOptions(GridFsUploadOptions options) {
     this.metadata = options.metadata;
     this.chunkSizeBytes = options.chunkSizeBytes;
+    this.compression = options.compression;
   }
 
   /**
@@ -34,6 +36,8 @@ public class GridFsUploadOptions {
   public GridFsUploadOptions(JsonObject options) {
     this.metadata = options.getJsonObject("metadata");
     this.chunkSizeBytes = options.getInteger("chunkSizeBytes");
+    String compression = options.getString("compression");
+    this.compression = compression != null ? GridFsCompression.valueOf(compression) : null;
   }
 
   /**
@@ -49,6 +53,9 @@ public class GridFsUploadOptions {
     if (chunkSizeBytes != null) {
       json.put("chunkSizeBytes", chunkSizeBytes);
     }
+    if (compression != null) {
+      json.put("compression", compression.name());
+    }
 
     return json;
   }
@@ -71,17 +78,35 @@ public class GridFsUploadOptions {
     return this;
   }
 
+  public GridFsCompression getCompression() {
+    return compression;
+  }
+
+  /**
+   * Set the codec used to compress the chunks of the uploaded file. Each chunk is compressed independently and the
+   * codec is recorded in the {@code compression} field of the files entry, so that downloads decompress the chunks
+   * transparently. Compressed files must be read through this client, not through other GridFS implementations.
+   *
+   * @param compression the compression codec, {@code null} to store the chunks as is
+   * @return reference to this, for fluency
+   */
+  public GridFsUploadOptions setCompression(GridFsCompression compression) {
+    this.compression = compression;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     GridFsUploadOptions that = (GridFsUploadOptions) o;
-    return Objects.equals(metadata, that.metadata) && Objects.equals(chunkSizeBytes, that.chunkSizeBytes);
+    return Objects.equals(metadata, that.metadata) && Objects.equals(chunkSizeBytes, that.chunkSizeBytes)
+      && compression == that.compression;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(metadata, chunkSizeBytes);
+    return Objects.hash(metadata, chunkSizeBytes, compression);
   }
 
   @Override
@@ -89,6 +114,7 @@ public class GridFsUploadOptions {
     return "GridFsUploadOptions{" +
       "metadata=" + metadata +
       ", chunkSizeBytes=" + chunkSizeBytes +
+      ", compression=" + compression +
       '}';
   }
 }
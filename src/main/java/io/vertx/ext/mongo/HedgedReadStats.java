@@ -0,0 +1,127 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * Statistics of the hedged reads of a client.
+ */
+@DataObject
+public class HedgedReadStats {
+
+  private long reads;
+  private long hedges;
+  private long wins;
+
+  /**
+   * Default constructor
+   */
+  public HedgedReadStats() {
+  }
+
+  /**
+   * Constructor
+   *
+   * @param reads  the number of hedged reads
+   * @param hedges the number of reads for which a hedge was issued
+   * @param wins   the number of reads answered by the hedge
+   */
+  public HedgedReadStats(long reads, long hedges, long wins) {
+    this.reads = reads;
+    this.hedges = hedges;
+    this.wins = wins;
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param other the one to copy
+   */
+  public HedgedReadStats(HedgedReadStats other) {
+    this.reads = other.reads;
+    this.hedges = other.hedges;
+    this.wins = other.wins;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param json the JSON
+   */
+  public HedgedReadStats(JsonObject json) {
+    this.reads = json.getLong("reads", 0L);
+    this.hedges = json.getLong("hedges", 0L);
+    this.wins = json.getLong("wins", 0L);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    return new JsonObject()
+      .put("reads", reads)
+      .put("hedges", hedges)
+      .put("wins", wins);
+  }
+
+  /**
+   * @return the number of reads run with hedging enabled
+   */
+  public long getReads() {
+    return reads;
+  }
+
+  /**
+   * @return the number of reads for which a second read was issued
+   */
+  public long getHedges() {
+    return hedges;
+  }
+
+  /**
+   * @return the number of reads answered by the second read before the first one
+   */
+  public long getWins() {
+    return wins;
+  }
+
+  /**
+   * @return the ratio of hedged reads to reads
+   */
+  public double hedgeRate() {
+    return reads == 0 ? 0d : (double) hedges / reads;
+  }
+
+  /**
+   * @return the ratio of hedges answering first to hedges
+   */
+  public double winRate() {
+    return hedges == 0 ? 0d : (double) wins / hedges;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    HedgedReadStats that = (HedgedReadStats) o;
+    return reads == that.reads && hedges == that.hedges && wins == that.wins;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(reads, hedges, wins);
+  }
+
+  @Override
+  public String toString() {
+    return "HedgedReadStats{" +
+      "reads=" + reads +
+      ", hedges=" + hedges +
+      ", wins=" + wins +
+      '}';
+  }
+}
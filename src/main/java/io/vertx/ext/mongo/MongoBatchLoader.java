@@ -0,0 +1,60 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.impl.MongoBatchLoaderImpl;
+
+/**
+ * Loads the documents of a collection by key, batching the loads requested during the same task of a Vert.x context
+ * into {@code $in} queries, e.g. to avoid one query per field resolution in a GraphQL server.
+ * <p>
+ * The loads are dispatched once the current task of the context of the loader is done, the queries follow the
+ * {@code findByIdsBatchSize} of the client.
+ */
+@VertxGen
+public interface MongoBatchLoader {
+
+  /**
+   * Like {@link #create(Vertx, MongoClient, String, String, BatchLoaderOptions)} with default options.
+   */
+  static MongoBatchLoader create(Vertx vertx, MongoClient client, String collection, String keyField) {
+    return create(vertx, client, collection, keyField, new BatchLoaderOptions());
+  }
+
+  /**
+   * Create a loader bound to the current context, or to a new context when called outside of a context.
+   *
+   * @param vertx      the Vert.x instance
+   * @param client     the client used to query the collection
+   * @param collection the collection
+   * @param keyField   the top-level field the documents are loaded by, its values should be unique
+   * @param options    the options
+   * @return the loader
+   */
+  static MongoBatchLoader create(Vertx vertx, MongoClient client, String collection, String keyField, BatchLoaderOptions options) {
+    return new MongoBatchLoaderImpl(vertx, client, collection, keyField, options);
+  }
+
+  /**
+   * Load a document by key. The load is batched with the other loads of the current task.
+   *
+   * @param key the value of the key field
+   * @return a future provided with the document, or {@code null} when none has this key
+   */
+  Future<@Nullable JsonObject> load(Object key);
+
+  /**
+   * Remove a key from the cache of the loader, so that the next load queries it again.
+   *
+   * @param key the value of the key field
+   */
+  void clear(Object key);
+
+  /**
+   * Remove all the keys from the cache of the loader.
+   */
+  void clearAll();
+}
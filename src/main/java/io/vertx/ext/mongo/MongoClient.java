@@ -6,14 +6,18 @@ import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.mongo.impl.MongoClientImpl;
+import org.reactivestreams.Publisher;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * A Vert.x service used to interact with MongoDB server instances.
@@ -254,6 +258,19 @@ public interface MongoClient {
    */
   ReadStream<JsonObject> findBatchWithOptions(String collection, JsonObject query, FindOptions options);
 
+  /**
+   * Like {@link #findBatchWithOptions(String, JsonObject, FindOptions)}, returning a reactive streams publisher of the
+   * found documents. The demand of the subscriber is passed straight to the driver and the signals are delivered on
+   * the context of the caller, without the buffering of a {@link ReadStream}.
+   *
+   * @param collection the collection
+   * @param query      query used to match documents
+   * @param options    options to configure the find
+   * @return a publisher of the found documents
+   */
+  @GenIgnore
+  Publisher<JsonObject> findPublisher(String collection, JsonObject query, FindOptions options);
+
   /**
    * Find a single matching document in the specified collection
    * <p>
@@ -266,6 +283,117 @@ public interface MongoClient {
    */
   Future<@Nullable JsonObject> findOne(String collection, JsonObject query, @Nullable JsonObject fields);
 
+  /**
+   * Find a single matching document in the specified collection, with options. The projection, sort, skip, hint,
+   * collation, read settings and hedging of the options are used.
+   * <p>
+   * This operation might change <i>_id</i> field of <i>query</i> parameter
+   *
+   * @param collection    the collection
+   * @param query         the query used to match the document
+   * @param options       options to configure the find
+   * @return a future provided with the document, if any
+   */
+  Future<@Nullable JsonObject> findOneWithOptions(String collection, JsonObject query, FindOptions options);
+
+  /**
+   * Like {@link #find(String, JsonObject)}, decoding the documents into instances of {@code type}.
+   *
+   * @param collection the collection
+   * @param query      query used to match documents
+   * @param type       the class the documents are decoded into
+   * @return a future provided with list of documents
+   * @see #findWithOptions(String, JsonObject, FindOptions, Class)
+   */
+  @GenIgnore
+  <T> Future<List<T>> find(String collection, JsonObject query, Class<T> type);
+
+  /**
+   * Like {@link #findWithOptions(String, JsonObject, FindOptions)}, decoding the documents into instances of
+   * {@code type}. The documents are decoded straight from BSON by the codec of {@code type} in the codec registry of
+   * the client, without an intermediate {@link JsonObject}. The registry of a client created from a configuration
+   * decodes Java records and POJOs, the {@code _id} field of the documents maps to the {@code id} property of a POJO
+   * or to the record component annotated with {@link org.bson.codecs.pojo.annotations.BsonId}.
+   * The ids are not converted when {@code useObjectId} is set: an {@code ObjectId} id maps to a property of type
+   * {@link org.bson.types.ObjectId}.
+   *
+   * @param collection the collection
+   * @param query      query used to match documents
+   * @param options    options to configure the find
+   * @param type       the class the documents are decoded into
+   * @return a future provided with list of documents
+   */
+  @GenIgnore
+  <T> Future<List<T>> findWithOptions(String collection, JsonObject query, FindOptions options, Class<T> type);
+
+  /**
+   * Like {@link #findOneWithOptions(String, JsonObject, FindOptions)}, decoding the document into an instance of
+   * {@code type}.
+   *
+   * @param collection the collection
+   * @param query      the query used to match the document
+   * @param options    options to configure the find
+   * @param type       the class the document is decoded into
+   * @return a future provided with the document, if any
+   * @see #findWithOptions(String, JsonObject, FindOptions, Class)
+   */
+  @GenIgnore
+  <T> Future<@Nullable T> findOneWithOptions(String collection, JsonObject query, FindOptions options, Class<T> type);
+
+  /**
+   * Like {@link #findBatchWithOptions(String, JsonObject, FindOptions)}, decoding the documents into instances of
+   * {@code type}.
+   *
+   * @param collection the collection
+   * @param query      query used to match documents
+   * @param options    options to configure the find
+   * @param type       the class the documents are decoded into
+   * @return a {@link ReadStream} emitting found documents
+   * @see #findWithOptions(String, JsonObject, FindOptions, Class)
+   */
+  @GenIgnore
+  <T> ReadStream<T> findBatchWithOptions(String collection, JsonObject query, FindOptions options, Class<T> type);
+
+  /**
+   * Find the documents of the specified collection by {@code _id}. The ids are de-duplicated and queried with
+   * {@code $in} queries of at most {@code findByIdsBatchSize} ids, 500 by default, which run concurrently. The
+   * projection, hint, collation, read settings and comment of the options are used, the sort, limit and skip are
+   * ignored.
+   *
+   * @param collection the collection
+   * @param ids        the ids of the documents
+   * @param options    options to configure the queries
+   * @return a future provided with the documents in the order of the ids, and the ids no document was found for
+   */
+  Future<FindByIdsResult> findByIds(String collection, List<Object> ids, FindOptions options);
+
+  /**
+   * @return the statistics of the hedged reads of the clients sharing the data source of this client
+   * @see FindOptions#setHedged(boolean)
+   */
+  HedgedReadStats hedgedReadStats();
+
+  /**
+   * Get the statistics of the connection pools of the clients sharing the data source of this client, one per
+   * server the driver is connected to. The same statistics are reported to the Vert.x metrics SPI, as pools of type
+   * {@code mongo} named after the data source and the server address.
+   *
+   * @return the statistics of the connection pools
+   */
+  List<ConnectionPoolStats> poolStats();
+
+  /**
+   * Get the statistics of the read and write concurrency limiters of the data source of this client, when configured
+   * with the {@code readConcurrencyLimiter} and {@code writeConcurrencyLimiter} client configuration objects, and of
+   * the limiter of the {@link OperationPriority#LOW low priority} operations. The queue and the in-flight operations
+   * of the read and write limiters are also reported to the Vert.x metrics SPI, as pools of type
+   * {@code mongo-limiter}.
+   *
+   * @return the statistics of the limiters
+   * @see ConcurrencyLimiterOptions
+   */
+  List<ConcurrencyLimiterStats> concurrencyLimiterStats();
+
   /**
    * Find a single matching document in the specified collection and update it.
    * <p>
@@ -652,6 +780,66 @@ public interface MongoClient {
    */
   ReadStream<JsonObject> aggregateWithOptions(String collection, final JsonArray pipeline, final AggregateOptions options);
 
+  /**
+   * Like {@link #aggregateWithOptions(String, JsonArray, AggregateOptions)}, decoding the results into instances of
+   * {@code type}.
+   *
+   * @param collection the collection
+   * @param pipeline   aggregation pipeline to be executed
+   * @param options    options to configure the aggregation command
+   * @param type       the class the results are decoded into
+   * @return a {@link ReadStream} emitting the results
+   * @see #findWithOptions(String, JsonObject, FindOptions, Class)
+   */
+  @GenIgnore
+  <T> ReadStream<T> aggregateWithOptions(String collection, JsonArray pipeline, AggregateOptions options, Class<T> type);
+
+  /**
+   * Like {@link #aggregateWithOptions(String, JsonArray, AggregateOptions)}, returning a reactive streams publisher of
+   * the results. The demand of the subscriber is passed straight to the driver and the signals are delivered on the
+   * context of the caller, without the buffering of a {@link ReadStream}.
+   *
+   * @param collection the collection
+   * @param pipeline   aggregation pipeline to be executed
+   * @param options    options to configure the aggregation command
+   * @return a publisher of the results
+   */
+  @GenIgnore
+  Publisher<JsonObject> aggregatePublisher(String collection, JsonArray pipeline, AggregateOptions options);
+
+  /**
+   * Run an aggregation which pipeline ends with a {@code $out} or {@code $merge} stage. The output is written by the
+   * server and nothing is streamed to the client. The {@code allowDiskUse} and {@code maxTime} of the options apply.
+   * The aggregation does not count against the concurrency limit of the writes.
+   * <p>
+   * The {@link AggregateStats#getTargetCount() target count} of the result is the estimated number of documents of the
+   * output collection once the aggregation is done, not the number of documents written by the aggregation: for a
+   * {@code $merge} into an existing collection it includes the documents the collection already had.
+   *
+   * @param collection the collection
+   * @param pipeline   aggregation pipeline to be executed, ending with a {@code $out} or {@code $merge} stage
+   * @param options    options to configure the aggregation command
+   * @return a future provided with the statistics of the aggregation once it is done
+   */
+  Future<AggregateStats> aggregateInto(String collection, JsonArray pipeline, AggregateOptions options);
+
+  /**
+   * Like {@link #aggregateInto(String, JsonArray, AggregateOptions)}, reporting the progress of the aggregation. While
+   * the aggregation runs, its {@code $currentOp} entry is read periodically and passed to {@code progressHandler}, it
+   * has e.g. the {@code secs_running} and {@code planSummary} fields. Reading {@code $currentOp} requires the
+   * {@code inprog} privilege to see the operations of other users. The operation is identified by the comment of the
+   * options, a unique comment is used when none is set.
+   *
+   * @param collection       the collection
+   * @param pipeline         aggregation pipeline to be executed, ending with a {@code $out} or {@code $merge} stage
+   * @param options          options to configure the aggregation command
+   * @param progressInterval the time in milliseconds between two progress reports
+   * @param progressHandler  the handler of the {@code $currentOp} entries of the aggregation
+   * @return a future provided with the statistics of the aggregation once it is done
+   */
+  Future<AggregateStats> aggregateIntoWithProgress(String collection, JsonArray pipeline, AggregateOptions options,
+                                                   long progressInterval, Handler<JsonObject> progressHandler);
+
   /**
    * Watch the collection change.
    *
@@ -663,6 +851,173 @@ public interface MongoClient {
   @GenIgnore(GenIgnore.PERMITTED_TYPE)
   ReadStream<ChangeStreamDocument<JsonObject>> watch(String collection, JsonArray pipeline, boolean withUpdatedDoc, int batchSize);
 
+  /**
+   * Watch the collection change with {@link ChangeStreamOptions}. After a transient error, such as a failover, the
+   * stream reconnects and resumes after the last received event.
+   *
+   * @param collection the collection
+   * @param pipeline   watching pipeline to be executed
+   * @param options    options to configure the change stream
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  ReadStream<ChangeStreamDocument<JsonObject>> watchWithOptions(String collection, JsonArray pipeline, ChangeStreamOptions options);
+
+  /**
+   * Like {@link #watchWithOptions(String, JsonArray, ChangeStreamOptions)}, checkpointing the resume tokens of the
+   * stream to a {@link ResumeTokenStore}. When the store holds a token for the
+   * {@link ChangeStreamOptions#getResumeTokenKey() resume token key}, the stream resumes after it, so a restarted
+   * application only receives the events it missed.
+   *
+   * @param collection the collection
+   * @param pipeline   watching pipeline to be executed
+   * @param options    options to configure the change stream
+   * @param store      the store of resume tokens
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  ReadStream<ChangeStreamDocument<JsonObject>> watchWithOptions(String collection, JsonArray pipeline, ChangeStreamOptions options, ResumeTokenStore store);
+
+  /**
+   * Like {@link #watchWithOptions(String, JsonArray, ChangeStreamOptions)}, but emitting the events received
+   * together from the server, e.g. by a single {@code getMore}, as a list of at most
+   * {@link ChangeStreamOptions#getBatchSize()} events. Demand is expressed in lists.
+   *
+   * @param collection the collection
+   * @param pipeline   watching pipeline to be executed
+   * @param options    options to configure the change stream
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  ReadStream<List<ChangeStreamDocument<JsonObject>>> watchBatch(String collection, JsonArray pipeline, ChangeStreamOptions options);
+
+  /**
+   * Like {@link #watchWithOptions(String, JsonArray, ChangeStreamOptions)}, but emitting each change event as its
+   * raw BSON bytes, without decoding it. This suits forwarding events to another system.
+   *
+   * @param collection the collection
+   * @param pipeline   watching pipeline to be executed
+   * @param options    options to configure the change stream
+   */
+  ReadStream<Buffer> watchRaw(String collection, JsonArray pipeline, ChangeStreamOptions options);
+
+  /**
+   * Like {@link #watchRaw(String, JsonArray, ChangeStreamOptions)}, checkpointing the resume tokens of the stream
+   * to a {@link ResumeTokenStore}.
+   *
+   * @param collection the collection
+   * @param pipeline   watching pipeline to be executed
+   * @param options    options to configure the change stream
+   * @param store      the store of resume tokens
+   */
+  ReadStream<Buffer> watchRaw(String collection, JsonArray pipeline, ChangeStreamOptions options, ResumeTokenStore store);
+
+  /**
+   * Watch the changes of all the collections of the database.
+   *
+   * @param pipeline watching pipeline to be executed
+   * @param options  options to configure the change stream
+   * @see #watchWithOptions(String, JsonArray, ChangeStreamOptions)
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  ReadStream<ChangeStreamDocument<JsonObject>> watchDatabase(JsonArray pipeline, ChangeStreamOptions options);
+
+  /**
+   * Like {@link #watchDatabase(JsonArray, ChangeStreamOptions)}, checkpointing the resume tokens of the stream to a
+   * {@link ResumeTokenStore}. The resume token key defaults to the database name.
+   *
+   * @param pipeline watching pipeline to be executed
+   * @param options  options to configure the change stream
+   * @param store    the store of resume tokens
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  ReadStream<ChangeStreamDocument<JsonObject>> watchDatabase(JsonArray pipeline, ChangeStreamOptions options, ResumeTokenStore store);
+
+  /**
+   * Watch the changes of all the databases of the cluster, except the {@code admin}, {@code local} and
+   * {@code config} databases.
+   *
+   * @param pipeline watching pipeline to be executed
+   * @param options  options to configure the change stream
+   * @see #watchWithOptions(String, JsonArray, ChangeStreamOptions)
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  ReadStream<ChangeStreamDocument<JsonObject>> watchCluster(JsonArray pipeline, ChangeStreamOptions options);
+
+  /**
+   * Like {@link #watchCluster(JsonArray, ChangeStreamOptions)}, checkpointing the resume tokens of the stream to a
+   * {@link ResumeTokenStore}. The resume token key defaults to {@code cluster}.
+   *
+   * @param pipeline watching pipeline to be executed
+   * @param options  options to configure the change stream
+   * @param store    the store of resume tokens
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  ReadStream<ChangeStreamDocument<JsonObject>> watchCluster(JsonArray pipeline, ChangeStreamOptions options, ResumeTokenStore store);
+
+  /**
+   * Create a client applying the given options to its operations. The returned client shares the connection pool,
+   * the session and the read and write settings of this client.
+   * <p>
+   * When a timeout is set, the deadline of each operation is propagated to the driver and the server, so that the
+   * server stops working on an operation the caller no longer waits for, and the future of the operation fails with
+   * a {@link java.util.concurrent.TimeoutException} once the deadline has passed. Change streams are not subject to
+   * the timeout.
+   * <p>
+   * Closing the returned client cancels its in-flight operations, which fail with a
+   * {@link java.util.concurrent.CancellationException}, but does not close the connection pool.
+   *
+   * @param options the options of the operations
+   * @return a client applying the options
+   */
+  MongoClient withOperationOptions(OperationOptions options);
+
+  /**
+   * Run a function with a session.
+   * <p>
+   * The function receives a client bound to the session: the operations performed with this client, and only with
+   * this client, use the session and the read preference, read concern and write concern of the options. The
+   * session is closed when the future returned by the function completes.
+   * <p>
+   * A causally consistent session reads its own writes, even when reading from secondaries: the session tracks the
+   * operation and cluster times returned by the server, and each read waits until the targeted member has caught
+   * up with them.
+   * <p>
+   * {@link #withTransaction} can be called on the bound client to run a transaction in the session.
+   *
+   * @param options  the options of the session
+   * @param function the function running the operations of the session
+   * @return a future notified with the result of the function
+   */
+  <T> Future<@Nullable T> withSession(SessionOptions options, Function<MongoClient, Future<@Nullable T>> function);
+
+  /**
+   * Like {@link #withTransaction(TransactionOptions, Function)} with default options.
+   *
+   * @param function the function running the operations of the transaction
+   * @return a future notified with the result of the function once the transaction is committed
+   */
+  <T> Future<@Nullable T> withTransaction(Function<MongoClient, Future<@Nullable T>> function);
+
+  /**
+   * Run a function in a multi-document transaction.
+   * <p>
+   * The function receives a client bound to the session of the transaction: every operation performed with this
+   * client, and only with this client, is part of the transaction. The transaction is committed when the future
+   * returned by the function succeeds, and aborted when it fails.
+   * <p>
+   * When the transaction fails with a {@code TransientTransactionError} error, e.g. a write conflict or a primary
+   * election, the function is run again in a new transaction. When the commit fails with an
+   * {@code UnknownTransactionCommitResult} error, the commit is retried. Retries are delayed by an exponential
+   * backoff and stop after {@link TransactionOptions#getMaxRetryTime()}, so the function must be safe to run more
+   * than once.
+   * <p>
+   * Change streams and GridFS operations of the bound client are not part of the transaction. When called on a
+   * client bound by {@link #withSession}, the transaction runs in the session of the client.
+   *
+   * @param options  the options of the transaction
+   * @param function the function running the operations of the transaction
+   * @return a future notified with the result of the function once the transaction is committed
+   */
+  <T> Future<@Nullable T> withTransaction(TransactionOptions options, Function<MongoClient, Future<@Nullable T>> function);
+
   /**
    * Creates a {@link MongoGridFsClient} used to interact with Mongo GridFS.
    *
@@ -678,6 +1033,15 @@ public interface MongoClient {
    */
   Future<MongoGridFsClient> createGridFsBucketService(String bucketName);
 
+  /**
+   * Creates a {@link MongoGridFsClient} used to interact with Mongo GridFS.
+   *
+   * @param bucketName    the name of the GridFS bucket
+   * @param options       the options to configure the bucket client
+   * @return a future notified with the {@link MongoGridFsClient} to interact with the bucket named bucketName
+   */
+  Future<MongoGridFsClient> createGridFsBucketServiceWithOptions(String bucketName, GridFsBucketOptions options);
+
   /**
    * Close the client and release its resources
    */
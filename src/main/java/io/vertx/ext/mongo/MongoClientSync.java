@@ -0,0 +1,161 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.impl.MongoClientSyncImpl;
+
+import java.util.List;
+
+/**
+ * A blocking facade of a {@link MongoClient}, for verticles deployed with
+ * {@link io.vertx.core.ThreadingModel#VIRTUAL_THREAD}.
+ * <p>
+ * Each method runs the operation of the underlying client and waits for its result: on a virtual thread the thread is
+ * parked, the I/O is still performed by the event loops. A failed operation throws its failure. The methods must not
+ * be called from an event loop thread.
+ */
+public interface MongoClientSync {
+
+  /**
+   * Create a blocking facade of a client.
+   *
+   * @param client the client
+   * @return the facade
+   */
+  static MongoClientSync create(MongoClient client) {
+    return new MongoClientSyncImpl(client);
+  }
+
+  /**
+   * @return the underlying client
+   */
+  MongoClient client();
+
+  /**
+   * Like {@link MongoClient#save(String, JsonObject)}.
+   *
+   * @return the id of the inserted document, or {@code null} when it was replaced
+   */
+  @Nullable String save(String collection, JsonObject document);
+
+  /**
+   * Like {@link MongoClient#insert(String, JsonObject)}.
+   *
+   * @return the id of the inserted document, or {@code null} when it had one
+   */
+  @Nullable String insert(String collection, JsonObject document);
+
+  /**
+   * Like {@link MongoClient#updateCollection(String, JsonObject, JsonObject)}.
+   */
+  @Nullable MongoClientUpdateResult updateCollection(String collection, JsonObject query, JsonObject update);
+
+  /**
+   * Like {@link MongoClient#updateCollectionWithOptions(String, JsonObject, JsonObject, UpdateOptions)}.
+   */
+  @Nullable MongoClientUpdateResult updateCollectionWithOptions(String collection, JsonObject query, JsonObject update, UpdateOptions options);
+
+  /**
+   * Like {@link MongoClient#replaceDocuments(String, JsonObject, JsonObject)}.
+   */
+  @Nullable MongoClientUpdateResult replaceDocuments(String collection, JsonObject query, JsonObject replace);
+
+  /**
+   * Like {@link MongoClient#bulkWrite(String, List)}.
+   */
+  @Nullable MongoClientBulkWriteResult bulkWrite(String collection, List<BulkOperation> operations);
+
+  /**
+   * Like {@link MongoClient#find(String, JsonObject)}.
+   */
+  List<JsonObject> find(String collection, JsonObject query);
+
+  /**
+   * Like {@link MongoClient#findWithOptions(String, JsonObject, FindOptions)}.
+   */
+  List<JsonObject> findWithOptions(String collection, JsonObject query, FindOptions options);
+
+  /**
+   * Like {@link MongoClient#findBatch(String, JsonObject)}, returning a cursor over the documents.
+   */
+  MongoCursor<JsonObject> findBatch(String collection, JsonObject query);
+
+  /**
+   * Like {@link MongoClient#findBatchWithOptions(String, JsonObject, FindOptions)}, returning a cursor over the
+   * documents. The cursor requests up to twice the batch size of the options ahead of the reader, so that the next
+   * batch is fetched from the server while the current one is consumed.
+   */
+  MongoCursor<JsonObject> findBatchWithOptions(String collection, JsonObject query, FindOptions options);
+
+  /**
+   * Like {@link MongoClient#findOne(String, JsonObject, JsonObject)}.
+   */
+  @Nullable JsonObject findOne(String collection, JsonObject query, @Nullable JsonObject fields);
+
+  /**
+   * Like {@link MongoClient#findOneWithOptions(String, JsonObject, FindOptions)}.
+   */
+  @Nullable JsonObject findOneWithOptions(String collection, JsonObject query, FindOptions options);
+
+  /**
+   * Like {@link MongoClient#findOneAndUpdate(String, JsonObject, JsonObject)}.
+   */
+  @Nullable JsonObject findOneAndUpdate(String collection, JsonObject query, JsonObject update);
+
+  /**
+   * Like {@link MongoClient#findOneAndReplace(String, JsonObject, JsonObject)}.
+   */
+  @Nullable JsonObject findOneAndReplace(String collection, JsonObject query, JsonObject replace);
+
+  /**
+   * Like {@link MongoClient#findOneAndDelete(String, JsonObject)}.
+   */
+  @Nullable JsonObject findOneAndDelete(String collection, JsonObject query);
+
+  /**
+   * Like {@link MongoClient#count(String, JsonObject)}.
+   */
+  long count(String collection, JsonObject query);
+
+  /**
+   * Like {@link MongoClient#countWithOptions(String, JsonObject, CountOptions)}.
+   */
+  long countWithOptions(String collection, JsonObject query, CountOptions countOptions);
+
+  /**
+   * Like {@link MongoClient#removeDocuments(String, JsonObject)}.
+   */
+  @Nullable MongoClientDeleteResult removeDocuments(String collection, JsonObject query);
+
+  /**
+   * Like {@link MongoClient#removeDocument(String, JsonObject)}.
+   */
+  @Nullable MongoClientDeleteResult removeDocument(String collection, JsonObject query);
+
+  /**
+   * Like {@link MongoClient#distinct(String, String, String)}.
+   */
+  JsonArray distinct(String collection, String fieldName, String resultClassname);
+
+  /**
+   * Like {@link MongoClient#aggregate(String, JsonArray)}, returning a cursor over the results.
+   */
+  MongoCursor<JsonObject> aggregate(String collection, JsonArray pipeline);
+
+  /**
+   * Like {@link MongoClient#aggregateWithOptions(String, JsonArray, AggregateOptions)}, returning a cursor over the
+   * results. The cursor requests up to twice the batch size of the options ahead of the reader.
+   */
+  MongoCursor<JsonObject> aggregateWithOptions(String collection, JsonArray pipeline, AggregateOptions options);
+
+  /**
+   * Like {@link MongoClient#runCommand(String, JsonObject)}.
+   */
+  @Nullable JsonObject runCommand(String commandName, JsonObject command);
+
+  /**
+   * Close the underlying client and wait until it is closed.
+   */
+  void close();
+}
@@ -0,0 +1,54 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.mongo.impl.MongoCursorImpl;
+
+import java.util.Iterator;
+
+/**
+ * A blocking iterator over the documents of a {@link ReadStream}, e.g. the result of
+ * {@link MongoClient#findBatch}.
+ * <p>
+ * {@link #hasNext()} and {@link #next()} wait for the next document when none is buffered: on a virtual thread the
+ * thread is parked and the I/O stays non-blocking underneath. They must not be called from an event loop thread.
+ * <p>
+ * The cursor requests the documents ahead of the reader, so that the next batch is fetched from the server while the
+ * current one is consumed. A cursor which is not read to the end must be closed.
+ */
+public interface MongoCursor<T> extends Iterator<T>, AutoCloseable {
+
+  /**
+   * Create a cursor over a stream. The cursor takes control of the stream: it sets its handlers and its demand.
+   *
+   * @param stream   the stream
+   * @param prefetch the maximum number of items requested ahead of the reader
+   * @return the cursor
+   */
+  static <T> MongoCursor<T> create(ReadStream<T> stream, int prefetch) {
+    return new MongoCursorImpl<>(stream, prefetch);
+  }
+
+  /**
+   * Wait until an item is available or the stream has ended.
+   *
+   * @return whether the stream has more items
+   * @throws RuntimeException when the stream failed
+   */
+  @Override
+  boolean hasNext();
+
+  /**
+   * Wait until an item is available and return it.
+   *
+   * @return the next item
+   * @throws java.util.NoSuchElementException when the stream has ended
+   */
+  @Override
+  T next();
+
+  /**
+   * Stop reading the stream and release the server cursor. Buffered items are discarded.
+   */
+  @Override
+  void close();
+}
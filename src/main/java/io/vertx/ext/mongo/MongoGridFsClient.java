@@ -19,6 +19,15 @@ public interface MongoGridFsClient {
    */
   Future<Void> delete(String id);
 
+  /**
+   * Deletes all the files matching a query. The matching {@code files} entries are deleted in batches and the
+   * chunks of each batch are removed with a single {@code $in} delete.
+   *
+   * @param query         a bson query expressed as json that will be used to match files
+   * @return a future notified with the number of deleted files
+   */
+  Future<Long> deleteMany(JsonObject query);
+
   /**
    * Read file by name to ReadStream
    */
@@ -87,6 +96,28 @@ public interface MongoGridFsClient {
    */
   Future<List<String>> findIds(JsonObject query);
 
+  /**
+   * Finds the files that match a query and streams their {@code files} collection entry, including
+   * {@code length}, {@code chunkSize}, {@code uploadDate} and {@code metadata}.
+   * <p>
+   * Unlike {@link #findIds(JsonObject)}, results are not buffered, so this is suitable for buckets holding a
+   * large number of files.
+   *
+   * @param query         a bson query expressed as json that will be used to match files
+   * @return a stream emitting the matching files
+   */
+  ReadStream<JsonObject> findFiles(JsonObject query);
+
+  /**
+   * Like {@link #findFiles(JsonObject)} but with {@link FindOptions} to specify the projection, sort, skip,
+   * limit and batch size.
+   *
+   * @param query         a bson query expressed as json that will be used to match files
+   * @param options       options to configure the find
+   * @return a stream emitting the matching files
+   */
+  ReadStream<JsonObject> findFilesWithOptions(JsonObject query, FindOptions options);
+
   Future<String> uploadByFileName(ReadStream<Buffer> stream, String fileName);
 
   Future<String> uploadByFileNameWithOptions(ReadStream<Buffer> stream, String fileName, GridFsUploadOptions options);
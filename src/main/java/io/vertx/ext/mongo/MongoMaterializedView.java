@@ -0,0 +1,73 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.impl.MongoMaterializedViewImpl;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An in-memory copy of a small collection, e.g. feature flags or tenant configuration, kept up to date with a
+ * change stream. Lookups are answered locally, without any request to the server.
+ * <p>
+ * The view loads the documents of the collection, then applies the change events in order. The returned documents
+ * are shared with the view and must not be modified.
+ */
+@VertxGen
+public interface MongoMaterializedView {
+
+  /**
+   * Like {@link #create(MongoClient, String, String)}, indexing the documents by {@code _id}.
+   */
+  static Future<MongoMaterializedView> create(MongoClient client, String collection) {
+    return create(client, collection, "_id");
+  }
+
+  /**
+   * Create a view of a collection. The returned future completes once the documents of the collection are loaded.
+   *
+   * @param client     the client used to load and watch the collection
+   * @param collection the collection
+   * @param keyField   the field the documents are indexed by, its values must be unique
+   * @return a future notified with the view
+   */
+  static Future<MongoMaterializedView> create(MongoClient client, String collection, String keyField) {
+    return MongoMaterializedViewImpl.create(client, collection, keyField);
+  }
+
+  /**
+   * Get a document by key. ObjectId keys are given as their hex string.
+   *
+   * @param key the value of the key field
+   * @return the document, or {@code null} when none has this key
+   */
+  @Nullable JsonObject get(String key);
+
+  /**
+   * @param predicate the predicate the returned documents satisfy
+   * @return the matching documents
+   */
+  List<JsonObject> query(Function<JsonObject, Boolean> predicate);
+
+  /**
+   * @return the number of documents in the view
+   */
+  int size();
+
+  /**
+   * Get the staleness of the view: the delay in milliseconds between the last applied change being committed on
+   * the server and being applied to the view. When the change stream failed, the view is no longer updated and
+   * the lag grows with the time elapsed since the failure.
+   *
+   * @return the lag in milliseconds
+   */
+  long lag();
+
+  /**
+   * Stop updating the view and release its change stream.
+   */
+  void close();
+}
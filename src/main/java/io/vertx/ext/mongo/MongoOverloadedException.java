@@ -0,0 +1,17 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.core.VertxException;
+
+/**
+ * Signals that an operation was rejected without being sent to the server, because the client already queues as many
+ * operations as its concurrency limiter allows.
+ *
+ * @see ConcurrencyLimiterOptions#setMaxQueueSize(int)
+ */
+public class MongoOverloadedException extends VertxException {
+
+  public MongoOverloadedException(String message) {
+    // Rejections are expected under load, filling the stack trace would only add to it
+    super(message, true);
+  }
+}
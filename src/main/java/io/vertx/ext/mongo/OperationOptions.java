@@ -0,0 +1,137 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * Options applied to all the operations of a client created with {@link MongoClient#withOperationOptions}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class OperationOptions {
+
+  /**
+   * The default value of timeout = 0, signifying no timeout
+   */
+  public static final long DEFAULT_TIMEOUT = 0L;
+
+  /**
+   * The default value of priority = {@link OperationPriority#NORMAL}
+   */
+  public static final OperationPriority DEFAULT_PRIORITY = OperationPriority.NORMAL;
+
+  private long timeout;
+  private OperationPriority priority;
+
+  /**
+   * Default constructor
+   */
+  public OperationOptions() {
+    init();
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public OperationOptions(OperationOptions options) {
+    this.timeout = options.timeout;
+    this.priority = options.priority;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public OperationOptions(JsonObject options) {
+    init();
+    OperationOptionsConverter.fromJson(options, this);
+  }
+
+  private void init() {
+    timeout = DEFAULT_TIMEOUT;
+    priority = DEFAULT_PRIORITY;
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    OperationOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the timeout of the operations in milliseconds
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Set the time in milliseconds an operation may take, from the moment it is called until its result is available,
+   * including server selection, connection checkout, retries and the execution on the server. The deadline is
+   * propagated to the server, which stops working on the operation once it has expired, and the future of the
+   * operation fails with a {@link java.util.concurrent.TimeoutException} when the deadline is reached. For cursors,
+   * the timeout bounds the whole lifetime of the cursor. A value of {@code 0} means no timeout.
+   *
+   * @param timeout the timeout in milliseconds
+   * @return reference to this, for fluency
+   */
+  public OperationOptions setTimeout(long timeout) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("timeout must be >= 0");
+    }
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * @return the priority of the operations
+   */
+  public OperationPriority getPriority() {
+    return priority;
+  }
+
+  /**
+   * Set the priority of the operations, including the cursors of the read streams. Low priority operations only use
+   * a share of the connection pool, so that background jobs cannot starve the latency sensitive operations: they are
+   * queued at the client once they use {@code lowPriorityPoolShare} of the connections.
+   *
+   * @param priority the priority
+   * @return reference to this, for fluency
+   */
+  public OperationOptions setPriority(OperationPriority priority) {
+    this.priority = priority;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    OperationOptions that = (OperationOptions) o;
+    return timeout == that.timeout && priority == that.priority;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(timeout, priority);
+  }
+
+  @Override
+  public String toString() {
+    return "OperationOptions{" +
+      "timeout=" + timeout +
+      ", priority=" + priority +
+      '}';
+  }
+}
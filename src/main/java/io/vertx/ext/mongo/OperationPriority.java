@@ -0,0 +1,19 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * Priority classes of the operations of a client, see {@link OperationOptions#setPriority(OperationPriority)}.
+ */
+@VertxGen
+public enum OperationPriority {
+  /**
+   * Latency sensitive operations, which may use all the connections of the pool
+   */
+  NORMAL,
+  /**
+   * Background operations, e.g. exports or reindexing, which may only use the share of the connections of the pool
+   * given by the {@code lowPriorityPoolShare} client configuration
+   */
+  LOW
+}
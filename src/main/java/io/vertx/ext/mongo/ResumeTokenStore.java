@@ -0,0 +1,48 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.impl.MongoResumeTokenStore;
+
+/**
+ * Persists the resume tokens of change streams, so that a stream can be resumed where it stopped after a
+ * failover or a restart.
+ * <p>
+ * Change streams save their last resume token periodically, as configured by
+ * {@link ChangeStreamOptions#setCheckpointEvents(int)} and {@link ChangeStreamOptions#setCheckpointInterval(long)}.
+ * Saves are not awaited by the stream: at most one save per stream is in flight and tokens received in the meantime
+ * are coalesced into the next one.
+ */
+@VertxGen
+public interface ResumeTokenStore {
+
+  /**
+   * Create a store keeping the resume tokens in a MongoDB collection, one document per key.
+   *
+   * @param client     the client used to access the collection
+   * @param collection the collection name
+   * @return the store
+   */
+  static ResumeTokenStore create(MongoClient client, String collection) {
+    return new MongoResumeTokenStore(client, collection);
+  }
+
+  /**
+   * Load the last saved resume token.
+   *
+   * @param key the resume token key of the change stream
+   * @return a future notified with the token, or {@code null} when none was saved
+   */
+  Future<@Nullable JsonObject> load(String key);
+
+  /**
+   * Save a resume token, replacing the previous one.
+   *
+   * @param key   the resume token key of the change stream
+   * @param token the resume token
+   * @return a future notified when the token is saved
+   */
+  Future<Void> save(String key, JsonObject token);
+}
@@ -0,0 +1,196 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * Options used to configure sessions opened with {@link MongoClient#withSession}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class SessionOptions {
+
+  /**
+   * The default value of causallyConsistent = true
+   */
+  public static final boolean DEFAULT_CAUSALLY_CONSISTENT = true;
+
+  private boolean causallyConsistent;
+  private String readPreference;
+  private JsonArray readPreferenceTags;
+  private String readConcern;
+  private WriteOption writeOption;
+
+  /**
+   * Default constructor
+   */
+  public SessionOptions() {
+    init();
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public SessionOptions(SessionOptions options) {
+    this.causallyConsistent = options.causallyConsistent;
+    this.readPreference = options.readPreference;
+    this.readPreferenceTags = options.readPreferenceTags != null ? options.readPreferenceTags.copy() : null;
+    this.readConcern = options.readConcern;
+    this.writeOption = options.writeOption;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public SessionOptions(JsonObject options) {
+    init();
+    SessionOptionsConverter.fromJson(options, this);
+  }
+
+  private void init() {
+    causallyConsistent = DEFAULT_CAUSALLY_CONSISTENT;
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    SessionOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return whether the session is causally consistent
+   */
+  public boolean isCausallyConsistent() {
+    return causallyConsistent;
+  }
+
+  /**
+   * Set whether the session is causally consistent. The operations of a causally consistent session observe the
+   * results of the previous operations of the session: a read waits until the member it targets, possibly a
+   * secondary, has replicated the last operation time seen by the session.
+   *
+   * @param causallyConsistent whether the session is causally consistent
+   * @return reference to this, for fluency
+   */
+  public SessionOptions setCausallyConsistent(boolean causallyConsistent) {
+    this.causallyConsistent = causallyConsistent;
+    return this;
+  }
+
+  /**
+   * @return the read preference of the session
+   */
+  public String getReadPreference() {
+    return readPreference;
+  }
+
+  /**
+   * Set the read preference of the operations of the session, e.g. {@code secondaryPreferred}. Defaults to the
+   * {@code readPreference} of the client configuration.
+   *
+   * @param readPreference the read preference name
+   * @return reference to this, for fluency
+   */
+  public SessionOptions setReadPreference(String readPreference) {
+    this.readPreference = readPreference;
+    return this;
+  }
+
+  /**
+   * @return the read preference tag sets of the session
+   */
+  public JsonArray getReadPreferenceTags() {
+    return readPreferenceTags;
+  }
+
+  /**
+   * Set the tag sets of the read preference, in the format of the {@code readPreferenceTags} client configuration,
+   * e.g. {@code ["dc:ny,rack:1", "dc:ny"]}. Requires a read preference.
+   *
+   * @param readPreferenceTags the tag sets
+   * @return reference to this, for fluency
+   */
+  public SessionOptions setReadPreferenceTags(JsonArray readPreferenceTags) {
+    this.readPreferenceTags = readPreferenceTags;
+    return this;
+  }
+
+  /**
+   * @return the read concern level of the session
+   */
+  public String getReadConcern() {
+    return readConcern;
+  }
+
+  /**
+   * Set the read concern level of the operations of the session: {@code local}, {@code majority} or
+   * {@code snapshot}. Reads and writes of a causally consistent session must use the {@code majority} read and
+   * write concerns for the causal guarantees to hold across primary elections. Defaults to the read concern of the
+   * client.
+   *
+   * @param readConcern the read concern level
+   * @return reference to this, for fluency
+   */
+  public SessionOptions setReadConcern(String readConcern) {
+    this.readConcern = readConcern;
+    return this;
+  }
+
+  /**
+   * @return the write concern of the session
+   */
+  public WriteOption getWriteOption() {
+    return writeOption;
+  }
+
+  /**
+   * Set the write concern of the operations of the session. The write concern of an operation takes precedence.
+   * Defaults to the write concern of the client.
+   *
+   * @param writeOption the write concern
+   * @return reference to this, for fluency
+   */
+  public SessionOptions setWriteOption(WriteOption writeOption) {
+    this.writeOption = writeOption;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    SessionOptions that = (SessionOptions) o;
+    return causallyConsistent == that.causallyConsistent && Objects.equals(readPreference, that.readPreference)
+      && Objects.equals(readPreferenceTags, that.readPreferenceTags) && Objects.equals(readConcern, that.readConcern)
+      && writeOption == that.writeOption;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(causallyConsistent, readPreference, readPreferenceTags, readConcern, writeOption);
+  }
+
+  @Override
+  public String toString() {
+    return "SessionOptions{" +
+      "causallyConsistent=" + causallyConsistent +
+      ", readPreference='" + readPreference + '\'' +
+      ", readPreferenceTags=" + readPreferenceTags +
+      ", readConcern='" + readConcern + '\'' +
+      ", writeOption=" + writeOption +
+      '}';
+  }
+}
@@ -0,0 +1,286 @@
+package io.vertx.ext.mongo;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options used to configure transactions run with {@link MongoClient#withTransaction}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class TransactionOptions {
+
+  /**
+   * The default maximum time in milliseconds spent retrying a transaction = 120000
+   */
+  public static final long DEFAULT_MAX_RETRY_TIME = 120000L;
+
+  /**
+   * The default delay in milliseconds before the first retry = 10
+   */
+  public static final long DEFAULT_RETRY_INTERVAL = 10L;
+
+  /**
+   * The default maximum delay in milliseconds between two retries = 1000
+   */
+  public static final long DEFAULT_MAX_RETRY_INTERVAL = 1000L;
+
+  private String readConcern;
+  private WriteOption writeOption;
+  private String readPreference;
+  private Long maxCommitTime;
+  private long maxRetryTime;
+  private long retryInterval;
+  private long maxRetryInterval;
+
+  /**
+   * Default constructor
+   */
+  public TransactionOptions() {
+    init();
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public TransactionOptions(TransactionOptions options) {
+    this.readConcern = options.readConcern;
+    this.writeOption = options.writeOption;
+    this.readPreference = options.readPreference;
+    this.maxCommitTime = options.maxCommitTime;
+    this.maxRetryTime = options.maxRetryTime;
+    this.retryInterval = options.retryInterval;
+    this.maxRetryInterval = options.maxRetryInterval;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public TransactionOptions(JsonObject options) {
+    init();
+    TransactionOptionsConverter.fromJson(options, this);
+  }
+
+  private void init() {
+    maxRetryTime = DEFAULT_MAX_RETRY_TIME;
+    retryInterval = DEFAULT_RETRY_INTERVAL;
+    maxRetryInterval = DEFAULT_MAX_RETRY_INTERVAL;
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    TransactionOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * Returns the mongo-java-driver specific object.
+   *
+   * @return com.mongodb.TransactionOptions
+   */
+  public com.mongodb.TransactionOptions toMongoDriverObject() {
+    com.mongodb.TransactionOptions.Builder builder = com.mongodb.TransactionOptions.builder();
+    if (readConcern != null) {
+      builder.readConcern(new ReadConcern(ReadConcernLevel.fromString(readConcern)));
+    }
+    if (writeOption != null) {
+      builder.writeConcern(WriteConcern.valueOf(writeOption.name()));
+    }
+    if (readPreference != null) {
+      builder.readPreference(ReadPreference.valueOf(readPreference));
+    }
+    if (maxCommitTime != null) {
+      builder.maxCommitTime(maxCommitTime, TimeUnit.MILLISECONDS);
+    }
+    return builder.build();
+  }
+
+  /**
+   * @return the read concern level of the transaction
+   */
+  public String getReadConcern() {
+    return readConcern;
+  }
+
+  /**
+   * Set the read concern level of the transaction: {@code local}, {@code majority} or {@code snapshot}. Defaults to
+   * the read concern of the client.
+   *
+   * @param readConcern the read concern level
+   * @return reference to this, for fluency
+   */
+  public TransactionOptions setReadConcern(String readConcern) {
+    this.readConcern = readConcern;
+    return this;
+  }
+
+  /**
+   * @return the write concern of the transaction
+   */
+  public WriteOption getWriteOption() {
+    return writeOption;
+  }
+
+  /**
+   * Set the write concern of the transaction, applied when committing. The operations of a transaction cannot set
+   * their own write concern. Defaults to the write concern of the client.
+   *
+   * @param writeOption the write concern
+   * @return reference to this, for fluency
+   */
+  public TransactionOptions setWriteOption(WriteOption writeOption) {
+    this.writeOption = writeOption;
+    return this;
+  }
+
+  /**
+   * @return the read preference of the transaction
+   */
+  public String getReadPreference() {
+    return readPreference;
+  }
+
+  /**
+   * Set the read preference of the transaction, e.g. {@code primary}. Reads in a transaction must all target the
+   * same member, so only {@code primary} is supported by servers before 4.4. Defaults to the read preference of
+   * the client.
+   *
+   * @param readPreference the read preference name
+   * @return reference to this, for fluency
+   */
+  public TransactionOptions setReadPreference(String readPreference) {
+    this.readPreference = readPreference;
+    return this;
+  }
+
+  /**
+   * @return the maximum time in milliseconds a commit may run
+   */
+  public Long getMaxCommitTime() {
+    return maxCommitTime;
+  }
+
+  /**
+   * Set the maximum time in milliseconds the server may spend committing the transaction.
+   *
+   * @param maxCommitTime the time in milliseconds
+   * @return reference to this, for fluency
+   */
+  public TransactionOptions setMaxCommitTime(Long maxCommitTime) {
+    this.maxCommitTime = maxCommitTime;
+    return this;
+  }
+
+  /**
+   * @return the maximum time in milliseconds spent retrying the transaction
+   */
+  public long getMaxRetryTime() {
+    return maxRetryTime;
+  }
+
+  /**
+   * Set the maximum time in milliseconds since the start of the first attempt after which a transaction failing
+   * with a {@code TransientTransactionError} or {@code UnknownTransactionCommitResult} error is no longer retried.
+   * A value of {@code 0} disables retries.
+   *
+   * @param maxRetryTime the time in milliseconds
+   * @return reference to this, for fluency
+   */
+  public TransactionOptions setMaxRetryTime(long maxRetryTime) {
+    if (maxRetryTime < 0) {
+      throw new IllegalArgumentException("maxRetryTime must be >= 0");
+    }
+    this.maxRetryTime = maxRetryTime;
+    return this;
+  }
+
+  /**
+   * @return the delay in milliseconds before the first retry
+   */
+  public long getRetryInterval() {
+    return retryInterval;
+  }
+
+  /**
+   * Set the delay in milliseconds before the first retry. The delay doubles with each consecutive retry, up to
+   * {@link #getMaxRetryInterval()}, so that conflicting transactions do not retry in lockstep.
+   *
+   * @param retryInterval the delay in milliseconds
+   * @return reference to this, for fluency
+   */
+  public TransactionOptions setRetryInterval(long retryInterval) {
+    if (retryInterval < 1) {
+      throw new IllegalArgumentException("retryInterval must be > 0");
+    }
+    this.retryInterval = retryInterval;
+    return this;
+  }
+
+  /**
+   * @return the maximum delay in milliseconds between two retries
+   */
+  public long getMaxRetryInterval() {
+    return maxRetryInterval;
+  }
+
+  /**
+   * Set the maximum delay in milliseconds between two retries.
+   *
+   * @param maxRetryInterval the delay in milliseconds
+   * @return reference to this, for fluency
+   */
+  public TransactionOptions setMaxRetryInterval(long maxRetryInterval) {
+    if (maxRetryInterval < 1) {
+      throw new IllegalArgumentException("maxRetryInterval must be > 0");
+    }
+    this.maxRetryInterval = maxRetryInterval;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    TransactionOptions that = (TransactionOptions) o;
+    return maxRetryTime == that.maxRetryTime && retryInterval == that.retryInterval
+      && maxRetryInterval == that.maxRetryInterval && Objects.equals(readConcern, that.readConcern)
+      && writeOption == that.writeOption && Objects.equals(readPreference, that.readPreference)
+      && Objects.equals(maxCommitTime, that.maxCommitTime);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(readConcern, writeOption, readPreference, maxCommitTime, maxRetryTime, retryInterval,
+      maxRetryInterval);
+  }
+
+  @Override
+  public String toString() {
+    return "TransactionOptions{" +
+      "readConcern='" + readConcern + '\'' +
+      ", writeOption=" + writeOption +
+      ", readPreference='" + readPreference + '\'' +
+      ", maxCommitTime=" + maxCommitTime +
+      ", maxRetryTime=" + maxRetryTime +
+      ", retryInterval=" + retryInterval +
+      ", maxRetryInterval=" + maxRetryInterval +
+      '}';
+  }
+}
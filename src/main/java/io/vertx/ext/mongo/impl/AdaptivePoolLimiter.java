@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.Vertx;
+
+/**
+ * Adapts the number of operations of a data source running concurrently, and thus the number of connections they
+ * use, to the observed load with an AIMD policy.
+ * <p>
+ * At each interval, the limit is:
+ * <ul>
+ *   <li>halved, down to the minimum, when connection checkouts waited longer than the target on average or failed,
+ *   the pool or the server are saturated</li>
+ *   <li>increased when operations waited at the gate while checkouts were fast: doubled up to the limit of the last
+ *   decrease, then by one, up to the maximum</li>
+ *   <li>shrunk towards the peak of in-flight operations when the limit was not reached, so that the connections
+ *   left unused are closed by the pool once idle</li>
+ * </ul>
+ */
+class AdaptivePoolLimiter {
+
+  private final Vertx vertx;
+  private final AdmissionGate gate;
+  private final ConnectionPoolMonitor monitor;
+  private final int minLimit;
+  private final int maxLimit;
+  private final long targetWait;
+  private final long timerId;
+  private int threshold;
+  private long checkouts;
+  private long checkoutTime;
+  private long checkoutFailures;
+
+  AdaptivePoolLimiter(Vertx vertx, ConnectionPoolMonitor monitor, int minLimit, int maxLimit, long targetWait, long interval) {
+    this.vertx = vertx;
+    this.monitor = monitor;
+    this.minLimit = Math.max(1, minLimit);
+    this.maxLimit = Math.max(this.minLimit, maxLimit);
+    this.targetWait = targetWait;
+    this.threshold = this.maxLimit;
+    this.gate = new AdmissionGate("pool", this.maxLimit);
+    this.timerId = vertx.setPeriodic(interval, id -> adjust());
+  }
+
+  AdmissionGate gate() {
+    return gate;
+  }
+
+  private void adjust() {
+    long newCheckouts = monitor.checkouts();
+    long newCheckoutTime = monitor.checkoutTime();
+    long newCheckoutFailures = monitor.checkoutFailures();
+    long intervalCheckouts = newCheckouts - checkouts;
+    long intervalCheckoutTime = newCheckoutTime - checkoutTime;
+    long intervalFailures = newCheckoutFailures - checkoutFailures;
+    checkouts = newCheckouts;
+    checkoutTime = newCheckoutTime;
+    checkoutFailures = newCheckoutFailures;
+    gate.setLimit(nextLimit(gate.limit(), intervalCheckouts, intervalCheckoutTime, intervalFailures, gate.sample()));
+  }
+
+  /**
+   * Computes the limit of the next interval from the activity of the last one.
+   *
+   * @param limit        the current limit
+   * @param checkouts    the number of successful connection checkouts
+   * @param checkoutTime the time in milliseconds spent waiting by these checkouts
+   * @param failures     the number of failed checkouts
+   * @param sample       the in-flight operations of the gate
+   * @return the new limit
+   */
+  int nextLimit(int limit, long checkouts, long checkoutTime, long failures, AdmissionGate.Sample sample) {
+    boolean congested = failures > 0 || (checkouts > 0 && checkoutTime / checkouts > targetWait);
+    if (congested) {
+      threshold = Math.max(minLimit, limit / 2);
+      limit = threshold;
+    } else if (sample.saturated) {
+      limit = limit < threshold ? Math.min(threshold, limit * 2) : limit + 1;
+    } else if (sample.peakInFlight < limit) {
+      limit = Math.max(sample.peakInFlight, (limit + sample.peakInFlight) / 2);
+    }
+    return Math.max(minLimit, Math.min(maxLimit, limit));
+  }
+
+  void close() {
+    vertx.cancelTimer(timerId);
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.spi.metrics.PoolMetrics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Limits the number of operations running concurrently, the operations above the limit wait in FIFO order, up to the
+ * maximum queue size. The limit can be changed at any time, either from outside or by an {@link Algorithm} fed with
+ * the latency of the operations.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class AdmissionGate {
+
+  /**
+   * Computes the limit of a gate from the latency of the operations.
+   */
+  interface Algorithm {
+
+    /**
+     * @param limit    the current limit
+     * @param rtt      the latency of the operation in nanoseconds
+     * @param inFlight the number of operations in flight when the operation completed
+     * @return the new limit
+     */
+    int update(int limit, long rtt, int inFlight);
+  }
+
+  private final String name;
+  private final Deque<Waiter> waiters = new ArrayDeque<>();
+  private final int maxQueueSize;
+  private final Algorithm algorithm;
+  private final PoolMetrics metrics;
+  private int limit;
+  private int inFlight;
+  private int peakInFlight;
+  private boolean saturated;
+  private long rejected;
+
+  AdmissionGate(String name, int limit) {
+    this(name, limit, Integer.MAX_VALUE, null, null);
+  }
+
+  AdmissionGate(String name, int limit, int maxQueueSize, Algorithm algorithm, PoolMetrics metrics) {
+    this.name = name;
+    this.limit = Math.max(1, limit);
+    this.maxQueueSize = maxQueueSize;
+    this.algorithm = algorithm;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Runs {@code task} once the operation is admitted, the operation must then {@link #release(Permit)} its permit.
+   *
+   * @return {@code false} when the operation is rejected because the queue is full
+   */
+  boolean acquire(Consumer<Permit> task) {
+    Permit permit;
+    synchronized (this) {
+      if (inFlight >= limit) {
+        if (waiters.size() >= maxQueueSize) {
+          rejected++;
+          return false;
+        }
+        saturated = true;
+        waiters.add(new Waiter(task, metrics != null ? metrics.enqueue() : null));
+        return true;
+      }
+      permit = admit();
+    }
+    task.accept(permit);
+    return true;
+  }
+
+  void release(Permit permit) {
+    release(permit, true);
+  }
+
+  /**
+   * @param sample whether the time the permit was held is the latency of the operation, to feed the algorithm with.
+   *               It is not for the operations whose duration depends on their consumer, e.g. cursor streams
+   */
+  void release(Permit permit, boolean sample) {
+    Waiter next;
+    synchronized (this) {
+      inFlight--;
+      if (algorithm != null && sample) {
+        limit = Math.max(1, algorithm.update(limit, System.nanoTime() - permit.start, inFlight + 1));
+      }
+      next = next();
+    }
+    if (metrics != null) {
+      metrics.end(permit.usageMetric);
+    }
+    drain(next);
+  }
+
+  String name() {
+    return name;
+  }
+
+  synchronized int limit() {
+    return limit;
+  }
+
+  synchronized int inFlight() {
+    return inFlight;
+  }
+
+  synchronized int queueSize() {
+    return waiters.size();
+  }
+
+  synchronized long rejected() {
+    return rejected;
+  }
+
+  void setLimit(int limit) {
+    Waiter next;
+    synchronized (this) {
+      this.limit = Math.max(1, limit);
+      next = next();
+    }
+    drain(next);
+  }
+
+  /**
+   * Returns the peak of in-flight operations and whether operations had to wait since the last call, then resets them.
+   */
+  synchronized Sample sample() {
+    Sample sample = new Sample(peakInFlight, saturated || !waiters.isEmpty());
+    peakInFlight = inFlight;
+    saturated = false;
+    return sample;
+  }
+
+  void close() {
+    if (metrics != null) {
+      metrics.close();
+    }
+  }
+
+  private Permit admit() {
+    inFlight++;
+    peakInFlight = Math.max(peakInFlight, inFlight);
+    return new Permit(metrics != null ? metrics.begin() : null);
+  }
+
+  /**
+   * Admits the next waiter, if any and the limit allows it. Must be called with the lock held.
+   */
+  private Waiter next() {
+    if (waiters.isEmpty() || inFlight >= limit) {
+      return null;
+    }
+    Waiter waiter = waiters.poll();
+    waiter.permit = admit();
+    return waiter;
+  }
+
+  private void drain(Waiter next) {
+    while (next != null) {
+      if (metrics != null) {
+        metrics.dequeue(next.queueMetric);
+      }
+      next.task.accept(next.permit);
+      synchronized (this) {
+        next = next();
+      }
+    }
+  }
+
+  static final class Permit {
+    private final long start = System.nanoTime();
+    private final Object usageMetric;
+
+    private Permit(Object usageMetric) {
+      this.usageMetric = usageMetric;
+    }
+  }
+
+  private static final class Waiter {
+    private final Consumer<Permit> task;
+    private final Object queueMetric;
+    private Permit permit;
+
+    private Waiter(Consumer<Permit> task, Object queueMetric) {
+      this.task = task;
+      this.queueMetric = queueMetric;
+    }
+  }
+
+  static final class Sample {
+    final int peakInFlight;
+    final boolean saturated;
+
+    Sample(int peakInFlight, boolean saturated) {
+      this.peakInFlight = peakInFlight;
+      this.saturated = saturated;
+    }
+  }
+}
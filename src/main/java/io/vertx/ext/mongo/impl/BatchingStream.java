@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Groups the items of a stream into lists. A list is emitted when it holds {@code maxSize} items, or once the
+ * items already delivered by the input have been added, so that the items received together, e.g. the
+ * documents of a single {@code getMore}, are emitted together. Demand is expressed in lists, a list never holds more
+ * than {@code maxSize} items: the items received while no list is demanded wait in the next lists.
+ */
+public class BatchingStream<T> implements ReadStream<List<T>> {
+
+  private final Context context;
+  private final ReadStream<T> input;
+  private final int maxSize;
+
+  private Handler<List<T>> handler;
+  private Handler<Throwable> exceptionHandler;
+  private Handler<Void> endHandler;
+  private final Deque<List<T>> ready = new ArrayDeque<>();
+  private List<T> batch;
+  private boolean flushScheduled;
+  private long demand = Long.MAX_VALUE;
+
+  public BatchingStream(Context context, ReadStream<T> input, int maxSize) {
+    Objects.requireNonNull(context, "context is null");
+    Objects.requireNonNull(input, "input is null");
+    this.context = context;
+    this.input = input;
+    this.maxSize = Math.max(1, maxSize);
+    this.batch = new ArrayList<>(this.maxSize);
+  }
+
+  @Override
+  public synchronized ReadStream<List<T>> exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    input.exceptionHandler(handler == null ? null : err -> {
+      flush();
+      handler.handle(err);
+    });
+    return this;
+  }
+
+  @Override
+  public ReadStream<List<T>> handler(Handler<List<T>> h) {
+    synchronized (this) {
+      handler = h;
+    }
+    if (h == null) {
+      input.handler(null);
+    } else {
+      input.handler(this::add);
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized ReadStream<List<T>> endHandler(Handler<Void> handler) {
+    endHandler = handler;
+    input.endHandler(handler == null ? null : v -> {
+      flush();
+      handler.handle(null);
+    });
+    return this;
+  }
+
+  @Override
+  public ReadStream<List<T>> pause() {
+    synchronized (this) {
+      demand = 0L;
+    }
+    input.pause();
+    return this;
+  }
+
+  @Override
+  public ReadStream<List<T>> resume() {
+    return fetch(Long.MAX_VALUE);
+  }
+
+  @Override
+  public ReadStream<List<T>> fetch(long amount) {
+    if (amount < 0L) {
+      throw new IllegalArgumentException();
+    }
+    synchronized (this) {
+      demand += amount;
+      if (demand < 0L) {
+        demand = Long.MAX_VALUE;
+      }
+      // Items received while paused
+      if ((!ready.isEmpty() || !batch.isEmpty()) && !flushScheduled) {
+        flushScheduled = true;
+        context.runOnContext(v -> flush());
+      }
+    }
+    input.resume();
+    return this;
+  }
+
+  private void add(T item) {
+    boolean full;
+    synchronized (this) {
+      batch.add(item);
+      full = batch.size() >= maxSize;
+      if (full) {
+        ready.add(batch);
+        batch = new ArrayList<>(maxSize);
+      } else if (!flushScheduled) {
+        flushScheduled = true;
+        context.runOnContext(v -> flush());
+      }
+    }
+    if (full) {
+      emit(false);
+    }
+  }
+
+  private void flush() {
+    synchronized (this) {
+      flushScheduled = false;
+    }
+    emit(true);
+  }
+
+  /**
+   * Emits the full lists while there is demand, then the partial one when {@code partial} is set.
+   */
+  private void emit(boolean partial) {
+    while (true) {
+      List<T> items;
+      Handler<List<T>> h;
+      boolean pause = false;
+      synchronized (this) {
+        if (demand == 0L) {
+          return;
+        }
+        if (!ready.isEmpty()) {
+          items = ready.poll();
+        } else if (partial && !batch.isEmpty()) {
+          items = batch;
+          batch = new ArrayList<>(maxSize);
+        } else {
+          return;
+        }
+        h = handler;
+        if (demand != Long.MAX_VALUE && --demand <= 0L) {
+          demand = 0L;
+          pause = true;
+        }
+      }
+      if (pause) {
+        input.pause();
+      }
+      if (h != null) {
+        h.handle(items);
+      }
+    }
+  }
+}
@@ -17,26 +17,16 @@
 package io.vertx.ext.mongo.impl;
 
 import io.vertx.core.Promise;
-import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
-public class BufferingSubscriber<T> implements Subscriber<T> {
+public class BufferingSubscriber<T> extends CancellableSubscriber<T, List<T>> {
 
   private final List<T> received = new ArrayList<>();
-  private final Promise<List<T>> promise;
 
   BufferingSubscriber(Promise<List<T>> promise) {
-    Objects.requireNonNull(promise, "promise is null");
-    this.promise = promise;
-  }
-
-  @Override
-  public void onSubscribe(Subscription s) {
-    s.request(Long.MAX_VALUE);
+    super(promise);
   }
 
   @Override
@@ -44,13 +34,8 @@ public class BufferingSubscriber<T> implements Subscriber<T> {
     received.add(t);
   }
 
-  @Override
-  public void onError(Throwable t) {
-    promise.fail(t);
-  }
-
   @Override
   public void onComplete() {
-    promise.complete(received);
+    promise.tryComplete(received);
   }
 }
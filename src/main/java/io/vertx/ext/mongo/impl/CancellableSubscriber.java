@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import com.mongodb.MongoOperationTimeoutException;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A subscriber completing a promise, which subscription can be cancelled at any time, even before the publisher
+ * called {@link #onSubscribe(Subscription)}.
+ */
+public abstract class CancellableSubscriber<T, R> implements Subscriber<T> {
+
+  protected final Promise<R> promise;
+  private volatile Subscription subscription;
+  private volatile boolean cancelled;
+  private volatile long timeout;
+
+  protected CancellableSubscriber(Promise<R> promise) {
+    Objects.requireNonNull(promise, "promise is null");
+    this.promise = promise;
+  }
+
+  @Override
+  public void onSubscribe(Subscription s) {
+    subscription = s;
+    if (cancelled) {
+      s.cancel();
+    } else {
+      s.request(Long.MAX_VALUE);
+    }
+  }
+
+  /**
+   * Cancels the subscription, which releases the connection used by the operation. The promise is left uncompleted.
+   */
+  public void cancel() {
+    cancelled = true;
+    Subscription s = subscription;
+    if (s != null) {
+      s.cancel();
+    }
+  }
+
+  /**
+   * Cancels the subscription and fails the promise with {@code cause}, unless it is already completed.
+   *
+   * @param cause the failure cause
+   */
+  public void cancel(Throwable cause) {
+    cancel();
+    promise.tryFail(cause);
+  }
+
+  /**
+   * Set the timeout of the operation, so that the driver giving up on the deadline fails the promise with the same
+   * {@link TimeoutException} as the timer of the operation expiring first.
+   *
+   * @param timeout the timeout in milliseconds
+   */
+  void timeout(long timeout) {
+    this.timeout = timeout;
+  }
+
+  static TimeoutException timeoutException(long timeout) {
+    return new TimeoutException("Operation timed out after " + timeout + " ms");
+  }
+
+  /**
+   * @return the future of the promise completed by this subscriber
+   */
+  public Future<R> future() {
+    return promise.future();
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    if (timeout > 0 && t instanceof MongoOperationTimeoutException) {
+      TimeoutException e = timeoutException(timeout);
+      e.initCause(t);
+      t = e;
+    }
+    promise.tryFail(t);
+  }
+}
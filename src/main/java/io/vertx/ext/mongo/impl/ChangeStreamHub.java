@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Multiplexes change streams: a single source stream is opened per key and its events are fanned out to every
+ * subscriber of that key. Each subscriber buffers its events independently, so a slow subscriber does not slow
+ * down the others.
+ */
+class ChangeStreamHub {
+
+  private final Map<String, Channel<?>> channels = new HashMap<>();
+  private boolean closed;
+
+  /**
+   * @param key           identifies the source, subscribers with the same key share it
+   * @param sourceFactory opens the source when the first subscriber of the key subscribes
+   * @param queueSize     the maximum number of events buffered for the subscriber
+   */
+  <T> ReadStream<T> subscribe(ContextInternal context, String key, Supplier<ReadStream<T>> sourceFactory, int queueSize) {
+    return new SharedStreamSubscriber<>(context, queueSize, subscriber -> attach(key, sourceFactory, subscriber), this::detach);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Channel<T> attach(String key, Supplier<ReadStream<T>> sourceFactory, SharedStreamSubscriber<T> subscriber) {
+    Channel<T> channel;
+    boolean open = false;
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Client is closed");
+      }
+      channel = (Channel<T>) channels.get(key);
+      if (channel == null) {
+        channel = new Channel<>(this, key);
+        channels.put(key, channel);
+        open = true;
+      }
+      channel.subscribers.add(subscriber);
+    }
+    if (open) {
+      channel.open(sourceFactory.get());
+    }
+    return channel;
+  }
+
+  private void detach(SharedStreamSubscriber<?> subscriber) {
+    Channel<?> channel = subscriber.channel();
+    if (channel == null) {
+      return;
+    }
+    boolean last;
+    synchronized (this) {
+      channel.subscribers.remove(subscriber);
+      last = channel.subscribers.isEmpty() && channels.remove(channel.key, channel);
+    }
+    if (last) {
+      channel.close();
+    }
+  }
+
+  void close() {
+    List<Channel<?>> toClose;
+    synchronized (this) {
+      closed = true;
+      toClose = new ArrayList<>(channels.values());
+      channels.clear();
+    }
+    toClose.forEach(Channel::close);
+  }
+
+  static class Channel<T> {
+
+    private final ChangeStreamHub hub;
+    private final String key;
+    private final List<SharedStreamSubscriber<T>> subscribers = new CopyOnWriteArrayList<>();
+    private ReadStream<T> source;
+
+    Channel(ChangeStreamHub hub, String key) {
+      this.hub = hub;
+      this.key = key;
+    }
+
+    private void open(ReadStream<T> stream) {
+      synchronized (this) {
+        source = stream;
+      }
+      stream.exceptionHandler(err -> {
+        terminate();
+        subscribers.forEach(s -> s.fail(err));
+      });
+      stream.endHandler(v -> {
+        terminate();
+        subscribers.forEach(SharedStreamSubscriber::end);
+      });
+      stream.handler(event -> subscribers.forEach(s -> s.offer(event)));
+    }
+
+    /**
+     * Removes the channel so that new subscribers open a new source.
+     */
+    private void terminate() {
+      synchronized (hub) {
+        hub.channels.remove(key, this);
+      }
+    }
+
+    private void close() {
+      ReadStream<T> stream;
+      synchronized (this) {
+        stream = source;
+        source = null;
+      }
+      if (stream != null) {
+        stream.handler(null);
+      }
+    }
+  }
+}
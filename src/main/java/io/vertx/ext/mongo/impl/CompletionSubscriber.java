@@ -17,36 +17,19 @@
 package io.vertx.ext.mongo.impl;
 
 import io.vertx.core.Promise;
-import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
 
-import java.util.Objects;
-
-public class CompletionSubscriber<T> implements Subscriber<T> {
-
-  private final Promise<Void> promise;
+public class CompletionSubscriber<T> extends CancellableSubscriber<T, Void> {
 
   public CompletionSubscriber(Promise<Void> promise) {
-    Objects.requireNonNull(promise, "promise is null");
-    this.promise = promise;
-  }
-
-  @Override
-  public void onSubscribe(Subscription s) {
-    s.request(Long.MAX_VALUE);
+    super(promise);
   }
 
   @Override
   public void onNext(T t) {
   }
 
-  @Override
-  public void onError(Throwable t) {
-    promise.fail(t);
-  }
-
   @Override
   public void onComplete() {
-    promise.complete();
+    promise.tryComplete();
   }
 }
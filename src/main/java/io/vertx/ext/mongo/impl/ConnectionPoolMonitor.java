@@ -0,0 +1,241 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.*;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.spi.metrics.PoolMetrics;
+import io.vertx.core.spi.metrics.VertxMetrics;
+import io.vertx.ext.mongo.ConnectionPoolStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the statistics of the connection pools of a data source from the events of the driver, and reports them
+ * to the Vert.x metrics SPI when metrics are enabled.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class ConnectionPoolMonitor implements ConnectionPoolListener, ServerMonitorListener {
+
+  private static final String POOL_TYPE = "mongo";
+
+  /**
+   * The upper bounds in milliseconds of the buckets of the checkout latency histogram.
+   */
+  private static final long[] LATENCY_BOUNDS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+  private final VertxMetrics vertxMetrics;
+  private final String dataSourceName;
+  private final Map<ServerAddress, Pool> pools = new ConcurrentHashMap<>();
+  private final LongAdder totalCheckouts = new LongAdder();
+  private final LongAdder totalCheckoutTime = new LongAdder();
+  private final LongAdder totalCheckoutFailures = new LongAdder();
+
+  ConnectionPoolMonitor(VertxInternal vertx, String dataSourceName) {
+    this.vertxMetrics = vertx.metrics();
+    this.dataSourceName = dataSourceName;
+  }
+
+  List<ConnectionPoolStats> stats() {
+    List<ConnectionPoolStats> stats = new ArrayList<>(pools.size());
+    for (Map.Entry<ServerAddress, Pool> entry : pools.entrySet()) {
+      stats.add(entry.getValue().stats(entry.getKey()));
+    }
+    return stats;
+  }
+
+  /**
+   * @return the number of successful checkouts of all the pools since the monitor was created
+   */
+  long checkouts() {
+    return totalCheckouts.sum();
+  }
+
+  /**
+   * @return the time in milliseconds spent waiting for a connection by the successful checkouts of all the pools
+   */
+  long checkoutTime() {
+    return totalCheckoutTime.sum();
+  }
+
+  /**
+   * @return the number of failed checkouts of all the pools since the monitor was created
+   */
+  long checkoutFailures() {
+    return totalCheckoutFailures.sum();
+  }
+
+  private Pool pool(ServerAddress address) {
+    return pools.computeIfAbsent(address, a -> new Pool());
+  }
+
+  @Override
+  public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+    ServerAddress address = event.getServerId().getAddress();
+    // With event loop affinity, each event loop has its own driver pool for the same server
+    pools.compute(address, (a, pool) -> {
+      if (pool == null) {
+        pool = new Pool();
+      }
+      int maxSize = event.getSettings().getMaxSize();
+      pool.maxSize += maxSize;
+      pool.sizes.put(event.getServerId(), maxSize);
+      if (pool.sizes.size() == 1 && vertxMetrics != null) {
+        pool.metrics = vertxMetrics.createPoolMetrics(POOL_TYPE, dataSourceName + "@" + address, pool.maxSize);
+      }
+      return pool;
+    });
+  }
+
+  @Override
+  public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+    pools.computeIfPresent(event.getServerId().getAddress(), (a, pool) -> {
+      Integer maxSize = pool.sizes.remove(event.getServerId());
+      if (maxSize != null) {
+        pool.maxSize -= maxSize;
+      }
+      if (!pool.sizes.isEmpty()) {
+        return pool;
+      }
+      if (pool.metrics != null) {
+        pool.metrics.close();
+      }
+      return null;
+    });
+  }
+
+  @Override
+  public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+    Pool pool = pool(event.getServerId().getAddress());
+    pool.waitQueueSize.incrementAndGet();
+    if (pool.metrics != null) {
+      Object queueMetric = pool.metrics.enqueue();
+      if (queueMetric != null) {
+        pool.queued.put(event.getOperationId(), queueMetric);
+      }
+    }
+  }
+
+  @Override
+  public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+    Pool pool = pool(event.getConnectionId().getServerId().getAddress());
+    pool.waitQueueSize.decrementAndGet();
+    pool.checkedOut.incrementAndGet();
+    pool.checkouts.increment();
+    long latency = event.getElapsedTime(TimeUnit.MILLISECONDS);
+    pool.recordLatency(latency);
+    totalCheckouts.increment();
+    totalCheckoutTime.add(latency);
+    if (pool.metrics != null) {
+      pool.metrics.dequeue(pool.queued.remove(event.getOperationId()));
+      Object usageMetric = pool.metrics.begin();
+      if (usageMetric != null) {
+        pool.inUse.put(event.getConnectionId(), usageMetric);
+      }
+    }
+  }
+
+  @Override
+  public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+    Pool pool = pool(event.getServerId().getAddress());
+    pool.waitQueueSize.decrementAndGet();
+    pool.checkoutFailures.increment();
+    totalCheckoutFailures.increment();
+    if (pool.metrics != null) {
+      pool.metrics.dequeue(pool.queued.remove(event.getOperationId()));
+    }
+  }
+
+  @Override
+  public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+    Pool pool = pool(event.getConnectionId().getServerId().getAddress());
+    pool.checkedOut.decrementAndGet();
+    if (pool.metrics != null) {
+      pool.metrics.end(pool.inUse.remove(event.getConnectionId()));
+    }
+  }
+
+  @Override
+  public void connectionCreated(ConnectionCreatedEvent event) {
+    pool(event.getConnectionId().getServerId().getAddress()).connectionsCreated.increment();
+  }
+
+  @Override
+  public void connectionClosed(ConnectionClosedEvent event) {
+    pool(event.getConnectionId().getServerId().getAddress()).connectionsClosed.increment();
+  }
+
+  @Override
+  public void serverHeartbeatSucceeded(ServerHeartbeatSucceededEvent event) {
+    pool(event.getConnectionId().getServerId().getAddress()).heartbeatRtt = event.getElapsedTime(TimeUnit.MILLISECONDS);
+  }
+
+  private static class Pool {
+
+    private final AtomicLong checkedOut = new AtomicLong();
+    private final AtomicLong waitQueueSize = new AtomicLong();
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder connectionsClosed = new LongAdder();
+    private final LongAdder checkouts = new LongAdder();
+    private final LongAdder checkoutFailures = new LongAdder();
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(LATENCY_BOUNDS.length + 1);
+    private final Map<Long, Object> queued = new ConcurrentHashMap<>();
+    private final Map<ConnectionId, Object> inUse = new ConcurrentHashMap<>();
+    private volatile int maxSize;
+    private final Map<ServerId, Integer> sizes = new ConcurrentHashMap<>();
+    private volatile long heartbeatRtt = -1L;
+    private volatile PoolMetrics metrics;
+
+    void recordLatency(long latency) {
+      int bucket = 0;
+      while (bucket < LATENCY_BOUNDS.length && latency > LATENCY_BOUNDS[bucket]) {
+        bucket++;
+      }
+      latencyBuckets.incrementAndGet(bucket);
+    }
+
+    ConnectionPoolStats stats(ServerAddress address) {
+      JsonObject histogram = new JsonObject();
+      for (int i = 0; i < LATENCY_BOUNDS.length; i++) {
+        histogram.put(String.valueOf(LATENCY_BOUNDS[i]), latencyBuckets.get(i));
+      }
+      histogram.put("+Inf", latencyBuckets.get(LATENCY_BOUNDS.length));
+      return new ConnectionPoolStats()
+        .setAddress(address.toString())
+        .setMaxSize(maxSize)
+        .setCheckedOut(checkedOut.get())
+        .setWaitQueueSize(waitQueueSize.get())
+        .setConnectionsCreated(connectionsCreated.sum())
+        .setConnectionsClosed(connectionsClosed.sum())
+        .setCheckouts(checkouts.sum())
+        .setCheckoutFailures(checkoutFailures.sum())
+        .setCheckoutLatencyHistogram(histogram)
+        .setHeartbeatRtt(heartbeatRtt);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.internal.ContextInternal;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers the signals of a publisher on a Vert.x context. The subscription of the publisher is handed to the
+ * subscriber as is, so the demand reaches the publisher without any buffering.
+ * <p>
+ * Signals emitted on the thread of the context are delivered inline, unless earlier signals are still waiting to be
+ * executed on the context, so that the order of the signals is preserved.
+ */
+public class ContextPublisher<T> implements Publisher<T> {
+
+  private final ContextInternal context;
+  private final Publisher<T> publisher;
+
+  public ContextPublisher(Context context, Publisher<T> publisher) {
+    Objects.requireNonNull(context, "context is null");
+    Objects.requireNonNull(publisher, "publisher is null");
+    this.context = (ContextInternal) context;
+    this.publisher = publisher;
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super T> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber is null");
+    publisher.subscribe(new ContextSubscriber(subscriber));
+  }
+
+  private class ContextSubscriber implements Subscriber<T> {
+
+    private final Subscriber<? super T> subscriber;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    ContextSubscriber(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    private void emit(Runnable signal) {
+      if (pending.get() == 0 && context.executor().inThread()) {
+        signal.run();
+      } else {
+        pending.incrementAndGet();
+        context.execute(() -> {
+          try {
+            signal.run();
+          } finally {
+            pending.decrementAndGet();
+          }
+        });
+      }
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      emit(() -> subscriber.onSubscribe(subscription));
+    }
+
+    @Override
+    public void onNext(T item) {
+      emit(() -> subscriber.onNext(item));
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      emit(() -> subscriber.onError(t));
+    }
+
+    @Override
+    public void onComplete() {
+      emit(subscriber::onComplete);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.ext.mongo.MongoOverloadedException;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Defers the subscription to a publisher until the operation is admitted by an {@link AdmissionGate}, the permit is
+ * released when the operation terminates or is cancelled.
+ * <p>
+ * The subscriber gets its subscription right away: the demand is forwarded to the publisher once admitted, an
+ * operation cancelled while waiting at the gate releases its permit as soon as it is admitted, without subscribing.
+ */
+class GatedPublisher<T> implements Publisher<T> {
+
+  private final AdmissionGate gate;
+  private final Publisher<T> delegate;
+  private final boolean sampled;
+
+  GatedPublisher(AdmissionGate gate, Publisher<T> delegate) {
+    this(gate, delegate, true);
+  }
+
+  /**
+   * @param sampled whether the gate measures the latency of the operation from the time the permit is held
+   */
+  GatedPublisher(AdmissionGate gate, Publisher<T> delegate, boolean sampled) {
+    this.gate = gate;
+    this.delegate = delegate;
+    this.sampled = sampled;
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super T> subscriber) {
+    Gated gated = new Gated(subscriber);
+    subscriber.onSubscribe(gated);
+    if (!gate.acquire(gated::admitted)) {
+      subscriber.onError(new MongoOverloadedException("Too many pending " + gate.name() + " operations, limit is "
+        + gate.limit()));
+    }
+  }
+
+  private class Gated implements Subscriber<T>, Subscription {
+
+    private final Subscriber<? super T> subscriber;
+    private AdmissionGate.Permit permit;
+    private Subscription upstream;
+    private long requested;
+    private boolean cancelled;
+    private boolean released;
+
+    Gated(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    void admitted(AdmissionGate.Permit permit) {
+      boolean cancel;
+      synchronized (this) {
+        this.permit = permit;
+        cancel = cancelled;
+      }
+      if (cancel) {
+        release();
+      } else {
+        delegate.subscribe(this);
+      }
+    }
+
+    private void release() {
+      AdmissionGate.Permit p;
+      synchronized (this) {
+        if (released || permit == null) {
+          return;
+        }
+        released = true;
+        p = permit;
+      }
+      gate.release(p, sampled);
+    }
+
+    @Override
+    public void request(long n) {
+      Subscription s;
+      synchronized (this) {
+        if (upstream == null) {
+          requested += n;
+          if (requested < 0L) {
+            requested = Long.MAX_VALUE;
+          }
+          return;
+        }
+        s = upstream;
+      }
+      s.request(n);
+    }
+
+    @Override
+    public void cancel() {
+      Subscription s;
+      synchronized (this) {
+        cancelled = true;
+        s = upstream;
+      }
+      // Before the subscription, the permit is released once admitted or subscribed
+      if (s != null) {
+        s.cancel();
+        release();
+      }
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      long n;
+      boolean cancel;
+      synchronized (this) {
+        upstream = s;
+        n = requested;
+        requested = 0L;
+        cancel = cancelled;
+      }
+      if (cancel) {
+        s.cancel();
+        release();
+      } else if (n > 0L) {
+        s.request(n);
+      }
+    }
+
+    @Override
+    public void onNext(T t) {
+      subscriber.onNext(t);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      release();
+      subscriber.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+      release();
+      subscriber.onComplete();
+    }
+  }
+}
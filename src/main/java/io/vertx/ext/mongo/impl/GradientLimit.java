@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.ext.mongo.ConcurrencyLimiterOptions;
+
+/**
+ * A gradient concurrency limit: the limit follows the ratio between the long term and the short term average latency.
+ * While the latency is stable the ratio is {@code 1} and the limit grows by a queue allowance of {@code sqrt(limit)},
+ * when the latency increases the ratio drops, down to {@code 0.5}, and the limit shrinks accordingly.
+ * <p>
+ * Instances are not thread safe, the {@link AdmissionGate} calls them with its lock held.
+ */
+class GradientLimit implements AdmissionGate.Algorithm {
+
+  private static final double SHORT_ALPHA = 2d / (10 + 1);
+  private static final double LONG_ALPHA = 2d / (600 + 1);
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double rttTolerance;
+  private final double smoothing;
+  private double estimatedLimit;
+  private double shortRtt;
+  private double longRtt;
+
+  GradientLimit(ConcurrencyLimiterOptions options) {
+    this.minLimit = options.getMinLimit();
+    this.maxLimit = Math.max(options.getMinLimit(), options.getMaxLimit());
+    this.rttTolerance = options.getRttTolerance();
+    this.smoothing = options.getSmoothing();
+    this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, options.getInitialLimit()));
+  }
+
+  int initialLimit() {
+    return (int) estimatedLimit;
+  }
+
+  @Override
+  public int update(int limit, long rtt, int inFlight) {
+    if (shortRtt == 0) {
+      shortRtt = rtt;
+      longRtt = rtt;
+    } else {
+      shortRtt += (rtt - shortRtt) * SHORT_ALPHA;
+      longRtt += (rtt - longRtt) * LONG_ALPHA;
+    }
+    if (longRtt / shortRtt > 2) {
+      // The latency dropped for good, e.g. after a recovery, do not keep an outdated baseline
+      longRtt *= 0.95;
+    }
+    if (inFlight < estimatedLimit / 2) {
+      // The limit is not what bounds the throughput, the latency says nothing about it
+      return limit;
+    }
+    double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+    double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+    return (int) estimatedLimit;
+  }
+}
@@ -23,16 +23,35 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.util.concurrent.atomic.AtomicReference;
 
 
 public class GridFSReadStreamPublisher implements Publisher<ByteBuffer> {
   private final ReadStream<Buffer> stream;
   private final AtomicReference<Subscription> current;
+  private final MessageDigest digest;
+  private long length;
 
   public GridFSReadStreamPublisher(ReadStream<Buffer> stream) {
+    this(stream, null);
+  }
+
+  /**
+   * @param stream the stream to publish
+   * @param digest when not {@code null}, updated with the published content
+   */
+  public GridFSReadStreamPublisher(ReadStream<Buffer> stream, MessageDigest digest) {
     this.stream = stream;
     this.current = new AtomicReference<>();
+    this.digest = digest;
+  }
+
+  /**
+   * @return the number of bytes published so far
+   */
+  public long length() {
+    return length;
   }
 
   private void release() {
@@ -87,6 +106,10 @@ public class GridFSReadStreamPublisher implements Publisher<ByteBuffer> {
     });
     stream.handler(buffer -> {
       final byte[] bytes = buffer.getBytes();
+      if (digest != null) {
+        digest.update(bytes);
+      }
+      length += bytes.length;
       final ByteBuffer wrapper = ByteBuffer.wrap(bytes);
       subscriber.onNext(wrapper);
     });
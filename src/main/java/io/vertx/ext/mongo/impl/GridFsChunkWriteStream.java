@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.ext.mongo.GridFsCompression;
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonValue;
+
+import java.security.MessageDigest;
+
+/**
+ * Writes a stream of bytes as compressed GridFS chunks. Chunks are compressed on a worker thread and inserted
+ * concurrently, up to a bounded number of chunks in flight.
+ */
+class GridFsChunkWriteStream implements WriteStream<Buffer> {
+
+  private static final int MAX_CHUNKS_IN_FLIGHT = 4;
+
+  private final ContextInternal context;
+  private final MongoCollection<BsonDocument> chunks;
+  private final BsonValue filesId;
+  private final int chunkSize;
+  private final GridFsCompression compression;
+  private final MessageDigest digest;
+
+  private Buffer pending = Buffer.buffer();
+  private int n;
+  private long length;
+  private int inFlight;
+  private Throwable failure;
+  private Promise<Void> ended;
+  private Handler<Throwable> exceptionHandler;
+  private Handler<Void> drainHandler;
+
+  /**
+   * @param digest when not {@code null}, updated with the uncompressed content
+   */
+  GridFsChunkWriteStream(ContextInternal context, MongoCollection<BsonDocument> chunks, BsonValue filesId, int chunkSize,
+                         GridFsCompression compression, MessageDigest digest) {
+    this.context = context;
+    this.chunks = chunks;
+    this.filesId = filesId;
+    this.chunkSize = chunkSize;
+    this.compression = compression;
+    this.digest = digest;
+  }
+
+  /**
+   * @return the number of uncompressed bytes written so far
+   */
+  long length() {
+    return length;
+  }
+
+  @Override
+  public synchronized WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public Future<Void> write(Buffer data) {
+    synchronized (this) {
+      if (failure != null) {
+        return context.failedFuture(failure);
+      }
+      if (ended != null) {
+        return context.failedFuture(new IllegalStateException("Stream already ended"));
+      }
+      if (digest != null) {
+        digest.update(data.getBytes());
+      }
+      length += data.length();
+      pending.appendBuffer(data);
+      while (pending.length() >= chunkSize) {
+        flush(pending.getBytes(0, chunkSize));
+        pending = pending.getBuffer(chunkSize, pending.length());
+      }
+    }
+    return context.succeededFuture();
+  }
+
+  @Override
+  public Future<Void> end() {
+    synchronized (this) {
+      if (ended == null) {
+        ended = context.promise();
+        if (failure == null && pending.length() > 0) {
+          flush(pending.getBytes());
+          pending = Buffer.buffer();
+        }
+        checkEnded();
+      }
+      return ended.future();
+    }
+  }
+
+  @Override
+  public synchronized WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+    // The queue is bounded by the number of chunks in flight
+    return this;
+  }
+
+  @Override
+  public synchronized boolean writeQueueFull() {
+    return inFlight >= MAX_CHUNKS_IN_FLIGHT;
+  }
+
+  @Override
+  public synchronized WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+    drainHandler = handler;
+    return this;
+  }
+
+  private void flush(byte[] data) {
+    int index = n++;
+    inFlight++;
+    context.executeBlocking(() -> GridFsCompressionCodec.compress(compression, data), false)
+      .compose(compressed -> {
+        BsonDocument chunk = new BsonDocument("files_id", filesId)
+          .append("n", new BsonInt32(index))
+          .append("data", new BsonBinary(compressed));
+        Promise<Void> promise = context.promise();
+        chunks.insertOne(chunk).subscribe(new CompletionSubscriber<>(promise));
+        return promise.future();
+      })
+      .onComplete(ar -> chunkWritten(ar.cause()));
+  }
+
+  private void chunkWritten(Throwable err) {
+    Handler<Void> drain = null;
+    Handler<Throwable> exception = null;
+    synchronized (this) {
+      inFlight--;
+      if (err != null && failure == null) {
+        failure = err;
+        exception = exceptionHandler;
+      }
+      if (inFlight == MAX_CHUNKS_IN_FLIGHT - 1) {
+        drain = drainHandler;
+      }
+      checkEnded();
+    }
+    if (exception != null) {
+      exception.handle(err);
+    }
+    if (drain != null) {
+      drain.handle(null);
+    }
+  }
+
+  private void checkEnded() {
+    if (ended != null && inFlight == 0) {
+      if (failure != null) {
+        ended.tryFail(failure);
+      } else {
+        ended.tryComplete();
+      }
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.ext.mongo.GridFsCompression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compresses and decompresses GridFS chunks. Each chunk is compressed on its own, so that any chunk can be
+ * decompressed without reading the previous ones.
+ */
+class GridFsCompressionCodec {
+
+  static byte[] compress(GridFsCompression compression, byte[] data) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 2);
+    try (OutputStream out = compressing(compression, bytes)) {
+      out.write(data);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decompresses a chunk, reading at most {@code limit} bytes so that a corrupted chunk can't inflate to an
+   * arbitrary size.
+   */
+  static byte[] decompress(GridFsCompression compression, byte[] data, int limit) {
+    try (InputStream in = decompressing(compression, new ByteArrayInputStream(data))) {
+      return in.readNBytes(limit);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static OutputStream compressing(GridFsCompression compression, OutputStream out) throws IOException {
+    switch (compression) {
+      case GZIP:
+        return new GZIPOutputStream(out);
+      case DEFLATE:
+        return new DeflaterOutputStream(out);
+      default:
+        throw new IllegalArgumentException("Unsupported compression: " + compression);
+    }
+  }
+
+  private static InputStream decompressing(GridFsCompression compression, InputStream in) throws IOException {
+    switch (compression) {
+      case GZIP:
+        return new GZIPInputStream(in);
+      case DEFLATE:
+        return new InflaterInputStream(in);
+      default:
+        throw new IllegalArgumentException("Unsupported compression: " + compression);
+    }
+  }
+
+  private GridFsCompressionCodec() {
+    // Utility class
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A TTL cache of GridFS {@code files} entries keyed by file name and revision.
+ */
+class GridFsMetadataCache {
+
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final long ttl;
+  private final int maxSize;
+
+  GridFsMetadataCache(long ttl, int maxSize) {
+    this.ttl = ttl;
+    this.maxSize = maxSize;
+  }
+
+  BsonDocument get(String fileName, int revision) {
+    Key key = new Key(fileName, revision);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expiresAt - System.nanoTime() <= 0) {
+      entries.remove(key, entry);
+      return null;
+    }
+    return entry.file;
+  }
+
+  void put(String fileName, int revision, BsonDocument file) {
+    if (entries.size() >= maxSize) {
+      evictExpired();
+      if (entries.size() >= maxSize) {
+        // Still full, do not cache rather than evicting hot entries
+        return;
+      }
+    }
+    entries.put(new Key(fileName, revision), new Entry(file, System.nanoTime() + ttl * 1_000_000L));
+  }
+
+  void invalidateFileName(String fileName) {
+    entries.keySet().removeIf(key -> key.fileName.equals(fileName));
+  }
+
+  void invalidateId(BsonValue id) {
+    entries.values().removeIf(entry -> id.equals(entry.file.get("_id")));
+  }
+
+  void clear() {
+    entries.clear();
+  }
+
+  private void evictExpired() {
+    long now = System.nanoTime();
+    entries.values().removeIf(entry -> entry.expiresAt - now <= 0);
+  }
+
+  private static final class Key {
+    private final String fileName;
+    private final int revision;
+
+    Key(String fileName, int revision) {
+      this.fileName = fileName;
+      this.revision = revision;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Key key = (Key) o;
+      return revision == key.revision && fileName.equals(key.fileName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(fileName, revision);
+    }
+  }
+
+  private static final class Entry {
+    private final BsonDocument file;
+    private final long expiresAt;
+
+    Entry(BsonDocument file, long expiresAt) {
+      this.file = file;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.ext.mongo.HedgedReadStats;
+import org.reactivestreams.Publisher;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs single result reads, issuing a second identical read when the first one is slower than a delay, by default
+ * the 95th percentile of the recent read latencies. The first result wins and the other read is cancelled.
+ * <p>
+ * The result is delivered to a subscriber which is never subscribed to a publisher itself: failing it, e.g. when the
+ * operation times out, cancels the reads in progress.
+ */
+class HedgedReads {
+
+  private static final int WINDOW_SIZE = 128;
+  private static final int MIN_SAMPLES = 20;
+
+  private final long[] latencies = new long[WINDOW_SIZE];
+  private int samples;
+  private int next;
+
+  private final LongAdder reads = new LongAdder();
+  private final LongAdder hedges = new LongAdder();
+  private final LongAdder wins = new LongAdder();
+
+  /**
+   * @param hedgeDelay the delay in milliseconds before hedging, {@code 0} for the 95th percentile of the recent
+   *                   latencies
+   * @param result     the subscriber receiving the result
+   */
+  <T> void execute(Vertx vertx, ContextInternal context, Supplier<Publisher<T>> read, long hedgeDelay, SingleResultSubscriber<T> result) {
+    reads.increment();
+    long delay = hedgeDelay > 0 ? hedgeDelay : percentile95();
+    new Read<>(vertx, context, read, result).start(delay);
+  }
+
+  HedgedReadStats stats() {
+    return new HedgedReadStats(reads.sum(), hedges.sum(), wins.sum());
+  }
+
+  private synchronized void record(long latencyNanos) {
+    latencies[next] = latencyNanos;
+    next = (next + 1) % WINDOW_SIZE;
+    if (samples < WINDOW_SIZE) {
+      samples++;
+    }
+  }
+
+  /**
+   * @return the 95th percentile of the recent latencies in milliseconds, {@code 0} when too few reads were recorded
+   */
+  private synchronized long percentile95() {
+    if (samples < MIN_SAMPLES) {
+      return 0L;
+    }
+    long[] sorted = Arrays.copyOf(latencies, samples);
+    Arrays.sort(sorted);
+    long p95 = sorted[(int) Math.ceil(samples * 0.95) - 1];
+    return Math.max(1L, TimeUnit.NANOSECONDS.toMillis(p95));
+  }
+
+  /**
+   * The state of a read. All the callbacks run on the context of the read.
+   */
+  private class Read<T> {
+
+    private final Vertx vertx;
+    private final ContextInternal context;
+    private final Supplier<Publisher<T>> read;
+    private final SingleResultSubscriber<T> result;
+    private final long startTime = System.nanoTime();
+
+    private SingleResultSubscriber<T> primary;
+    private SingleResultSubscriber<T> hedge;
+    private boolean primaryFailed;
+    private boolean hedgeFailed;
+    private long timerId = -1L;
+
+    Read(Vertx vertx, ContextInternal context, Supplier<Publisher<T>> read, SingleResultSubscriber<T> result) {
+      this.vertx = vertx;
+      this.context = context;
+      this.read = read;
+      this.result = result;
+    }
+
+    void start(long delay) {
+      Promise<T> promise = context.promise();
+      primary = new SingleResultSubscriber<>(promise);
+      read.get().subscribe(primary);
+      promise.future().onComplete(this::handlePrimary);
+      if (delay > 0) {
+        timerId = vertx.setTimer(delay, id -> {
+          timerId = -1L;
+          startHedge();
+        });
+      }
+      result.future().onComplete(ar -> {
+        // Won, failed or cancelled: the reads still in progress are useless
+        if (timerId != -1L) {
+          vertx.cancelTimer(timerId);
+          timerId = -1L;
+        }
+        primary.cancel();
+        if (hedge != null) {
+          hedge.cancel();
+        }
+      });
+    }
+
+    private void startHedge() {
+      if (result.future().isComplete() || primaryFailed) {
+        return;
+      }
+      hedges.increment();
+      Promise<T> promise = context.promise();
+      hedge = new SingleResultSubscriber<>(promise);
+      // Server selection picks randomly among the eligible members, so the hedge usually reaches another member
+      read.get().subscribe(hedge);
+      promise.future().onComplete(this::handleHedge);
+    }
+
+    private void handlePrimary(AsyncResult<T> ar) {
+      if (timerId != -1L) {
+        vertx.cancelTimer(timerId);
+        timerId = -1L;
+      }
+      if (ar.succeeded()) {
+        if (complete(ar.result())) {
+          recordWinner();
+        }
+      } else {
+        primaryFailed = true;
+        if (hedge == null || hedgeFailed) {
+          result.onError(ar.cause());
+        }
+      }
+    }
+
+    private boolean complete(T value) {
+      if (result.future().isComplete()) {
+        return false;
+      }
+      result.onNext(value);
+      result.onComplete();
+      return true;
+    }
+
+    /**
+     * Records the latency of the read as seen by the caller, whichever read won: sampling only the reads answered
+     * by the first attempt would drop the slow ones and lower the hedge delay.
+     */
+    private void recordWinner() {
+      record(System.nanoTime() - startTime);
+    }
+
+    private void handleHedge(AsyncResult<T> ar) {
+      if (ar.succeeded()) {
+        if (complete(ar.result())) {
+          wins.increment();
+          recordWinner();
+        }
+      } else {
+        hedgeFailed = true;
+        if (primaryFailed) {
+          result.onError(ar.cause());
+        }
+      }
+    }
+  }
+}
@@ -17,44 +17,30 @@
 package io.vertx.ext.mongo.impl;
 
 import io.vertx.core.Promise;
-import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 
-public class MappingAndBufferingSubscriber<T, R> implements Subscriber<T> {
+public class MappingAndBufferingSubscriber<T, R> extends CancellableSubscriber<T, List<R>> {
 
   private final List<R> received = new ArrayList<>();
   private final Function<T, R> converter;
-  private final Promise<List<R>> promise;
 
   public MappingAndBufferingSubscriber(Function<T, R> converter, Promise<List<R>> promise) {
+    super(promise);
     Objects.requireNonNull(converter, "converter is null");
-    Objects.requireNonNull(promise, "promise is null");
-    this.promise = promise;
     this.converter = converter;
   }
 
-  @Override
-  public void onSubscribe(Subscription s) {
-    s.request(Long.MAX_VALUE);
-  }
-
   @Override
   public void onNext(T t) {
     received.add(converter.apply(t));
   }
 
-  @Override
-  public void onError(Throwable t) {
-    promise.fail(t);
-  }
-
   @Override
   public void onComplete() {
-    promise.complete(received);
+    promise.tryComplete(received);
   }
 }
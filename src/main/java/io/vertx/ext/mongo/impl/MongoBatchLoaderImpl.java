@@ -0,0 +1,203 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.BatchLoaderOptions;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.MongoBatchLoader;
+import io.vertx.ext.mongo.MongoClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.vertx.ext.mongo.impl.Utils.ID_FIELD;
+import static java.util.Objects.requireNonNull;
+
+public class MongoBatchLoaderImpl implements MongoBatchLoader {
+
+  private final ContextInternal context;
+  private final MongoClientImpl client;
+  private final String collection;
+  private final String keyField;
+  private final FindOptions findOptions;
+  private final Map<Object, Future<JsonObject>> cache;
+  // The loads waiting to be dispatched, by key
+  private Map<Object, Load> pending;
+
+  public MongoBatchLoaderImpl(Vertx vertx, MongoClient client, String collection, String keyField, BatchLoaderOptions options) {
+    requireNonNull(vertx, "vertx cannot be null");
+    requireNonNull(client, "client cannot be null");
+    requireNonNull(collection, MongoClientImpl.COLLECTION_CANNOT_BE_NULL);
+    requireNonNull(keyField, "keyField cannot be null");
+    requireNonNull(options, "options cannot be null");
+    if (!(client instanceof MongoClientImpl)) {
+      throw new IllegalArgumentException("client must be a client created by MongoClient, not " + client.getClass().getName());
+    }
+    this.context = ((VertxInternal) vertx).getOrCreateContext();
+    this.client = (MongoClientImpl) client;
+    this.collection = collection;
+    this.keyField = keyField;
+    this.findOptions = new FindOptions().setFields(projection(options.getFields(), keyField));
+    this.cache = options.isCache() ? new ConcurrentHashMap<>() : null;
+  }
+
+  /**
+   * The documents are matched to the loads by their key, so the key field must be projected.
+   */
+  static JsonObject projection(JsonObject fields, String keyField) {
+    if (fields == null) {
+      return null;
+    }
+    JsonObject projection = fields.copy();
+    if (isExcluded(projection.getValue(keyField))) {
+      projection.remove(keyField);
+    }
+    boolean inclusion = false;
+    for (Map.Entry<String, Object> field : projection) {
+      if (!ID_FIELD.equals(field.getKey()) && isIncluded(field.getValue())) {
+        inclusion = true;
+        break;
+      }
+    }
+    if (inclusion && !projection.containsKey(keyField) && !containsParent(projection, keyField)) {
+      projection.put(keyField, 1);
+    }
+    return projection;
+  }
+
+  private static boolean isExcluded(Object value) {
+    return Boolean.FALSE.equals(value) || (value instanceof Number && ((Number) value).doubleValue() == 0);
+  }
+
+  private static boolean isIncluded(Object value) {
+    if (value instanceof JsonObject) {
+      // $slice alone does not restrict the other fields
+      return !((JsonObject) value).containsKey("$slice");
+    }
+    return value != null && !isExcluded(value);
+  }
+
+  private static boolean containsParent(JsonObject projection, String field) {
+    for (int i = field.indexOf('.'); i != -1; i = field.indexOf('.', i + 1)) {
+      if (isIncluded(projection.getValue(field.substring(0, i)))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Future<JsonObject> load(Object key) {
+    requireNonNull(key, "key cannot be null");
+    Object normalizedKey = MongoClientImpl.idKey(key);
+    boolean dispatch = false;
+    Future<JsonObject> future;
+    synchronized (this) {
+      if (cache != null) {
+        future = cache.get(normalizedKey);
+        if (future != null) {
+          return future;
+        }
+      }
+      if (pending == null) {
+        pending = new LinkedHashMap<>();
+        dispatch = true;
+      }
+      Load load = pending.get(normalizedKey);
+      if (load == null) {
+        load = new Load(key, context.promise());
+        pending.put(normalizedKey, load);
+      }
+      future = load.promise.future();
+      if (cache != null) {
+        cache.put(normalizedKey, future);
+      }
+    }
+    if (dispatch) {
+      // Once the loads of the current task are collected
+      context.runOnContext(v -> dispatch());
+    }
+    return future;
+  }
+
+  private void dispatch() {
+    Map<Object, Load> loads;
+    synchronized (this) {
+      loads = pending;
+      pending = null;
+    }
+    List<Object> keys = new ArrayList<>(loads.size());
+    for (Load load : loads.values()) {
+      keys.add(load.key);
+    }
+    Future<Map<Object, JsonObject>> found;
+    try {
+      found = client.findByKeys(collection, keyField, keys, findOptions);
+    } catch (Exception e) {
+      found = Future.failedFuture(e);
+    }
+    found.onComplete(ar -> {
+      for (Map.Entry<Object, Load> entry : loads.entrySet()) {
+        Load load = entry.getValue();
+        if (ar.succeeded()) {
+          load.promise.complete(ar.result().get(entry.getKey()));
+        } else {
+          if (cache != null) {
+            // Do not cache failures, the next load retries
+            cache.remove(entry.getKey(), load.promise.future());
+          }
+          load.promise.fail(ar.cause());
+        }
+      }
+    });
+  }
+
+  @Override
+  public void clear(Object key) {
+    requireNonNull(key, "key cannot be null");
+    if (cache != null) {
+      cache.remove(MongoClientImpl.idKey(key));
+    }
+  }
+
+  @Override
+  public void clearAll() {
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  private static final class Load {
+    private final Object key;
+    private final Promise<JsonObject> promise;
+
+    Load(Object key, Promise<JsonObject> promise) {
+      this.key = key;
+      this.promise = promise;
+    }
+  }
+}
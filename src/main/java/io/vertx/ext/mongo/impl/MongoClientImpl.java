@@ -17,7 +17,11 @@
 package io.vertx.ext.mongo.impl;
 
 import com.mongodb.MongoClientSettings;
+import com.mongodb.ClientSessionOptions;
 import com.mongodb.MongoNamespace;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
 import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.model.*;
@@ -25,19 +29,29 @@ import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import com.mongodb.client.model.changestream.FullDocument;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.NettyTransportSettings;
+import com.mongodb.connection.TransportSettings;
 import com.mongodb.reactivestreams.client.*;
 import com.mongodb.reactivestreams.client.gridfs.GridFSBucket;
 import com.mongodb.reactivestreams.client.gridfs.GridFSBuckets;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.EventExecutor;
 import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.*;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.PromiseInternal;
 import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.LocalMap;
 import io.vertx.core.shareddata.Shareable;
+import io.vertx.core.spi.metrics.PoolMetrics;
+import io.vertx.core.spi.metrics.VertxMetrics;
 import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.mongo.BulkWriteOptions;
 import io.vertx.ext.mongo.CountOptions;
@@ -49,13 +63,20 @@ import io.vertx.ext.mongo.UpdateOptions;
 import io.vertx.ext.mongo.*;
 import io.vertx.ext.mongo.impl.codec.json.JsonObjectCodec;
 import io.vertx.ext.mongo.impl.config.MongoClientOptionsParser;
+import io.vertx.ext.mongo.impl.config.ReadPreferenceParser;
 import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.reactivestreams.Publisher;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.vertx.ext.mongo.impl.Utils.ID_FIELD;
@@ -71,9 +92,11 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
   private static final UpdateOptions DEFAULT_UPDATE_OPTIONS = new UpdateOptions();
   private static final FindOptions DEFAULT_FIND_OPTIONS = new FindOptions();
   private static final AggregateOptions DEFAULT_AGGREGATE_OPTIONS = new AggregateOptions();
+  private static final int DEFAULT_FIND_BY_IDS_BATCH_SIZE = 500;
   private static final BulkWriteOptions DEFAULT_BULK_WRITE_OPTIONS = new BulkWriteOptions();
 
   private static final String DS_LOCAL_MAP_NAME = "__vertx.MongoClient.datasources";
+  private static final String CLUSTER_RESUME_TOKEN_KEY = "cluster";
   public static final String COLLECTION_CANNOT_BE_NULL = "collection cannot be null";
   public static final String QUERY_CANNOT_BE_NULL = "query cannot be null";
   public static final String FIELD_NAME_CANNOT_BE_NULL = "fieldName cannot be null";
@@ -81,6 +104,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
   public static final String OPTIONS_CANNOT_BE_NULL = "options cannot be null";
   public static final String PIPELINE_CANNOT_BE_NULL = "pipeline cannot be null";
   public static final String FIND_OPTIONS_CANNOT_BE_NULL = "find options cannot be null";
+  public static final String TYPE_CANNOT_BE_NULL = "type cannot be null";
 
   private final VertxInternal vertx;
   private final ContextInternal creatingContext;
@@ -88,6 +112,13 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
   private final MongoHolder holder;
   private final boolean useObjectId;
+  private final ClientSession session;
+  private final ReadPreference readPreference;
+  private final ReadConcern readConcern;
+  private final WriteConcern writeConcern;
+  private final long timeout;
+  private final OperationPriority priority;
+  private final Set<CancellableSubscriber<?, ?>> inFlight;
 
   public MongoClientImpl(Vertx vertx, JsonObject config, String dataSourceName) {
     Objects.requireNonNull(vertx);
@@ -98,6 +129,13 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     this.holder = lookupHolder(dataSourceName, config);
     this.mongo = holder.mongo(vertx);
     this.useObjectId = config.getBoolean("useObjectId", false);
+    this.session = null;
+    this.readPreference = null;
+    this.readConcern = null;
+    this.writeConcern = null;
+    this.timeout = 0L;
+    this.priority = OperationPriority.NORMAL;
+    this.inFlight = null;
 
     creatingContext.addCloseHook(this);
   }
@@ -112,15 +150,57 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     this.holder = lookupHolder(dataSourceName, config);
     this.mongo = holder.mongo(vertx, settings);
     this.useObjectId = config.getBoolean("useObjectId", false);
+    this.session = null;
+    this.readPreference = null;
+    this.readConcern = null;
+    this.writeConcern = null;
+    this.timeout = 0L;
+    this.priority = OperationPriority.NORMAL;
+    this.inFlight = null;
 
     creatingContext.addCloseHook(this);
   }
 
+  /**
+   * Creates a client bound to a session, sharing the connection pool of {@code client}. The read and write settings,
+   * when not {@code null}, apply to the operations run outside of a transaction.
+   */
+  private MongoClientImpl(MongoClientImpl client, ClientSession session, ReadPreference readPreference,
+                          ReadConcern readConcern, WriteConcern writeConcern) {
+    this(client, session, readPreference, readConcern, writeConcern, client.timeout, client.priority);
+  }
+
+  /**
+   * Creates a client sharing the connection pool of {@code client}, which in-flight operations are tracked so that
+   * they can be timed out and cancelled.
+   */
+  private MongoClientImpl(MongoClientImpl client, ClientSession session, ReadPreference readPreference,
+                          ReadConcern readConcern, WriteConcern writeConcern, long timeout, OperationPriority priority) {
+    this.vertx = client.vertx;
+    this.creatingContext = client.creatingContext;
+    this.holder = client.holder;
+    this.mongo = client.mongo;
+    this.useObjectId = client.useObjectId;
+    this.session = session;
+    this.readPreference = readPreference;
+    this.readConcern = readConcern;
+    this.writeConcern = writeConcern;
+    this.timeout = timeout;
+    this.priority = priority;
+    this.inFlight = ConcurrentHashMap.newKeySet();
+  }
+
   @GenIgnore
   public static <T> DistinctPublisher<T> setDistinctOptions(DistinctPublisher<T> distinctPublisher, DistinctOptions distinctOptions) {
     if (distinctOptions != null && distinctOptions.getCollation() != null) {
       distinctPublisher.collation(distinctOptions.getCollation().toMongoDriverObject());
     }
+    if (distinctOptions != null && distinctOptions.getMaxTime() != null) {
+      distinctPublisher.maxTime(distinctOptions.getMaxTime(), TimeUnit.MILLISECONDS);
+    }
+    if (distinctOptions != null && distinctOptions.getComment() != null) {
+      distinctPublisher.comment(distinctOptions.getComment());
+    }
     return distinctPublisher;
   }
 
@@ -132,6 +212,13 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
   @Override
   public Future<Void> close() {
+    if (inFlight != null) {
+      // The client does not own the connection pool, the session is owned by withSession or withTransaction
+      for (CancellableSubscriber<?, ?> subscriber : inFlight) {
+        subscriber.cancel(new CancellationException("Client closed"));
+      }
+      return vertx.getOrCreateContext().succeededFuture();
+    }
     holder.close();
     creatingContext.removeCloseHook(this);
     return vertx.getOrCreateContext().succeededFuture();
@@ -152,7 +239,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
     if (id == null) {
       Promise<Void> promise = vertx.promise();
-      coll.insertOne(document).subscribe(new CompletionSubscriber<>(promise));
+      write(session == null ? coll.insertOne(document) : coll.insertOne(session, document), new CompletionSubscriber<>(promise));
       return promise.future().map(v -> useObjectId ? document.getJsonObject(ID_FIELD).getString(JsonObjectCodec.OID_FIELD) : document.getString(ID_FIELD));
     }
 
@@ -163,7 +250,9 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     ReplaceOptions replaceOptions = new ReplaceOptions().upsert(true);
 
     Promise<Void> promise = vertx.promise();
-    coll.replaceOne(wrap(filter), encodedDocument, replaceOptions).subscribe(new CompletionSubscriber<>(promise));
+    write(session == null
+      ? coll.replaceOne(wrap(filter), encodedDocument, replaceOptions)
+      : coll.replaceOne(session, wrap(filter), encodedDocument, replaceOptions), new CompletionSubscriber<>(promise));
     return promise.future().mapEmpty();
   }
 
@@ -183,7 +272,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     MongoCollection<JsonObject> coll = getCollection(collection, writeOption);
 
     Promise<Void> promise = vertx.promise();
-    coll.insertOne(encodedDocument).subscribe(new CompletionSubscriber<>(promise));
+    write(session == null ? coll.insertOne(encodedDocument) : coll.insertOne(session, encodedDocument), new CompletionSubscriber<>(promise));
     return promise.future().map(v -> hasCustomId ? null : decodeKeyWhenUseObjectId(encodedDocument).getString(ID_FIELD));
   }
 
@@ -229,13 +318,13 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
     Publisher<UpdateResult> publisher;
     if (options.isMulti()) {
-      publisher = coll.updateMany(bquery, bupdate, updateOptions);
+      publisher = session == null ? coll.updateMany(bquery, bupdate, updateOptions) : coll.updateMany(session, bquery, bupdate, updateOptions);
     } else {
-      publisher = coll.updateOne(bquery, bupdate, updateOptions);
+      publisher = session == null ? coll.updateOne(bquery, bupdate, updateOptions) : coll.updateOne(session, bquery, bupdate, updateOptions);
     }
 
     Promise<UpdateResult> promise = vertx.promise();
-    publisher.subscribe(new SingleResultSubscriber<>(promise));
+    write(publisher, new SingleResultSubscriber<>(promise));
     return promise.future().map(Utils::toMongoClientUpdateResult);
   }
 
@@ -272,10 +361,12 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
       updateOptions.collation(options.getCollation().toMongoDriverObject());
     }
 
-    Publisher<UpdateResult> publisher = coll.updateMany(bquery, bpipeline, updateOptions);
+    Publisher<UpdateResult> publisher = session == null
+      ? coll.updateMany(bquery, bpipeline, updateOptions)
+      : coll.updateMany(session, bquery, bpipeline, updateOptions);
 
     Promise<UpdateResult> promise = vertx.promise();
-    publisher.subscribe(new SingleResultSubscriber<>(promise));
+    write(publisher, new SingleResultSubscriber<>(promise));
     return promise.future().map(Utils::toMongoClientUpdateResult);
   }
 
@@ -321,7 +412,10 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
       replaceOptions.collation(options.getCollation().toMongoDriverObject());
     }
     Promise<UpdateResult> promise = vertx.promise();
-    coll.replaceOne(bquery, encodeKeyWhenUseObjectId(replace), replaceOptions).subscribe(new SingleResultSubscriber<>(promise));
+    JsonObject encodedReplace = encodeKeyWhenUseObjectId(replace);
+    write(session == null
+      ? coll.replaceOne(bquery, encodedReplace, replaceOptions)
+      : coll.replaceOne(session, bquery, encodedReplace, replaceOptions), new SingleResultSubscriber<>(promise));
     return promise.future().map(Utils::toMongoClientUpdateResult);
   }
 
@@ -336,8 +430,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     requireNonNull(query, QUERY_CANNOT_BE_NULL);
 
     Promise<List<JsonObject>> promise = vertx.promise();
-    doFind(collection, deepEncodeKeyWhenUseObjectId(query), options)
-      .subscribe(new MappingAndBufferingSubscriber<>(this::decodeKeyWhenUseObjectId, promise));
+    read(doFind(collection, deepEncodeKeyWhenUseObjectId(query), options), new MappingAndBufferingSubscriber<>(this::decodeKeyWhenUseObjectId, promise));
     return promise.future();
   }
 
@@ -351,7 +444,16 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
     requireNonNull(query, QUERY_CANNOT_BE_NULL);
     FindPublisher<JsonObject> view = doFind(collection, query, options);
-    return new PublisherAdapter<>(vertx.getOrCreateContext(), view, options.getBatchSize());
+    return new PublisherAdapter<>(vertx.getOrCreateContext(), admitStream(view, holder.readGate), options.getBatchSize());
+  }
+
+  @Override
+  public Publisher<JsonObject> findPublisher(String collection, JsonObject query, FindOptions options) {
+    requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
+    requireNonNull(query, QUERY_CANNOT_BE_NULL);
+    requireNonNull(options, FIND_OPTIONS_CANNOT_BE_NULL);
+    FindPublisher<JsonObject> view = doFind(collection, query, options);
+    return new ContextPublisher<>(vertx.getOrCreateContext(), admitStream(view, holder.readGate));
   }
 
   @Override
@@ -364,10 +466,186 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     Bson bquery = wrap(encodedQuery);
     Bson bfields = wrap(fields);
     Promise<JsonObject> promise = vertx.promise();
-    getCollection(collection).find(bquery).projection(bfields).first().subscribe(new SingleResultSubscriber<>(promise));
+    MongoCollection<JsonObject> coll = getCollection(collection);
+    read((session == null ? coll.find(bquery) : coll.find(session, bquery)).projection(bfields).first(), new SingleResultSubscriber<>(promise));
     return promise.future().map(object -> object == null ? null : decodeKeyWhenUseObjectId(object));
   }
 
+  @Override
+  public Future<@Nullable JsonObject> findOneWithOptions(String collection, JsonObject query, FindOptions options) {
+    requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
+    requireNonNull(query, QUERY_CANNOT_BE_NULL);
+    requireNonNull(options, FIND_OPTIONS_CANNOT_BE_NULL);
+
+    Promise<JsonObject> promise = vertx.promise();
+    if (options.isHedged() && session == null && !isPrimaryRead(collection, options)) {
+      // Operations of a session cannot run concurrently. The read is tracked as a whole, its timeout and the close of
+      // the client cancel both attempts
+      holder.hedgedReads.execute(vertx, vertx.getOrCreateContext(), () -> admit(doFind(collection, query, options).first(), holder.readGate),
+        options.getHedgeDelay(), track(new SingleResultSubscriber<>(promise)));
+    } else {
+      read(doFind(collection, query, options).first(), new SingleResultSubscriber<>(promise));
+    }
+    return promise.future().map(object -> object == null ? null : decodeKeyWhenUseObjectId(object));
+  }
+
+  @Override
+  public <T> Future<List<T>> find(String collection, JsonObject query, Class<T> type) {
+    return findWithOptions(collection, query, DEFAULT_FIND_OPTIONS, type);
+  }
+
+  @Override
+  public <T> Future<List<T>> findWithOptions(String collection, JsonObject query, FindOptions options, Class<T> type) {
+    requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
+    requireNonNull(query, QUERY_CANNOT_BE_NULL);
+    requireNonNull(options, FIND_OPTIONS_CANNOT_BE_NULL);
+    requireNonNull(type, TYPE_CANNOT_BE_NULL);
+
+    Promise<List<T>> promise = vertx.promise();
+    read(doFind(collection, query, options, type), new BufferingSubscriber<>(promise));
+    return promise.future();
+  }
+
+  @Override
+  public <T> Future<@Nullable T> findOneWithOptions(String collection, JsonObject query, FindOptions options, Class<T> type) {
+    requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
+    requireNonNull(query, QUERY_CANNOT_BE_NULL);
+    requireNonNull(options, FIND_OPTIONS_CANNOT_BE_NULL);
+    requireNonNull(type, TYPE_CANNOT_BE_NULL);
+
+    Promise<T> promise = vertx.promise();
+    if (options.isHedged() && session == null && !isPrimaryRead(collection, options)) {
+      // Like the JsonObject overload
+      holder.hedgedReads.execute(vertx, vertx.getOrCreateContext(), () -> admit(doFind(collection, query, options, type).first(), holder.readGate),
+        options.getHedgeDelay(), track(new SingleResultSubscriber<>(promise)));
+    } else {
+      read(doFind(collection, query, options, type).first(), new SingleResultSubscriber<>(promise));
+    }
+    return promise.future();
+  }
+
+  @Override
+  public <T> ReadStream<T> findBatchWithOptions(String collection, JsonObject query, FindOptions options, Class<T> type) {
+    requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
+    requireNonNull(query, QUERY_CANNOT_BE_NULL);
+    requireNonNull(options, FIND_OPTIONS_CANNOT_BE_NULL);
+    requireNonNull(type, TYPE_CANNOT_BE_NULL);
+    FindPublisher<T> view = doFind(collection, query, options, type);
+    return new PublisherAdapter<>(vertx.getOrCreateContext(), admitStream(view, holder.readGate), options.getBatchSize());
+  }
+
+  @Override
+  public Future<FindByIdsResult> findByIds(String collection, List<Object> ids, FindOptions options) {
+    requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
+    requireNonNull(ids, "ids cannot be null");
+    requireNonNull(options, FIND_OPTIONS_CANNOT_BE_NULL);
+
+    Map<Object, Object> uniqueIds = new LinkedHashMap<>();
+    for (Object id : ids) {
+      requireNonNull(id, "id cannot be null");
+      uniqueIds.putIfAbsent(idKey(id), id);
+    }
+    return findByKeys(collection, ID_FIELD, new ArrayList<>(uniqueIds.values()), options).map(found -> {
+      List<JsonObject> documents = new ArrayList<>(found.size());
+      JsonArray missingIds = new JsonArray();
+      for (Map.Entry<Object, Object> entry : uniqueIds.entrySet()) {
+        JsonObject document = found.get(entry.getKey());
+        if (document != null) {
+          documents.add(document);
+        } else {
+          missingIds.add(entry.getValue());
+        }
+      }
+      return new FindByIdsResult(documents, missingIds);
+    });
+  }
+
+  /**
+   * Find the documents which top-level {@code keyField} is one of {@code keys}, with {@code $in} queries of at most
+   * {@code findByIdsBatchSize} keys.
+   *
+   * @return the documents by {@link #idKey(Object) key}, the first one when several documents have the same key
+   */
+  Future<Map<Object, JsonObject>> findByKeys(String collection, String keyField, List<Object> keys, FindOptions options) {
+    int batchSize = Math.max(holder.config.getInteger("findByIdsBatchSize", DEFAULT_FIND_BY_IDS_BATCH_SIZE), 1);
+    List<Future<List<JsonObject>>> batches = new ArrayList<>();
+    Future<List<JsonObject>> previous = Future.succeededFuture();
+    for (int from = 0; from < keys.size(); from += batchSize) {
+      List<Object> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+      JsonArray in = new JsonArray(new ArrayList<>(batch.size()));
+      for (Object key : batch) {
+        boolean objectId = useObjectId && ID_FIELD.equals(keyField) && key instanceof String && ObjectId.isValid((String) key);
+        in.add(objectId ? new JsonObject().put(JsonObjectCodec.OID_FIELD, key) : key);
+      }
+      JsonObject query = new JsonObject().put(keyField, new JsonObject().put("$in", in));
+      // The order is restored by the caller
+      FindOptions batchOptions = new FindOptions(options)
+        .setSort(new JsonObject())
+        .setLimit(FindOptions.DEFAULT_LIMIT)
+        .setSkip(FindOptions.DEFAULT_SKIP);
+      int size = batch.size();
+      if (session == null) {
+        batches.add(findKeys(collection, query, batchOptions, size));
+      } else {
+        // Operations of a session cannot run concurrently
+        previous = previous.compose(v -> findKeys(collection, query, batchOptions, size));
+        batches.add(previous);
+      }
+    }
+    return Future.all(batches).map(v -> {
+      Map<Object, JsonObject> found = new HashMap<>();
+      for (Future<List<JsonObject>> batch : batches) {
+        for (JsonObject document : batch.result()) {
+          found.putIfAbsent(idKey(document.getValue(keyField)), document);
+        }
+      }
+      return found;
+    });
+  }
+
+  /**
+   * Find the documents of a {@code $in} batch of {@code size} keys, in a single cursor batch.
+   */
+  private Future<List<JsonObject>> findKeys(String collection, JsonObject query, FindOptions options, int size) {
+    Promise<List<JsonObject>> promise = vertx.promise();
+    read(doFind(collection, query, options).batchSize(size), new MappingAndBufferingSubscriber<>(this::decodeKeyWhenUseObjectId, promise));
+    return promise.future();
+  }
+
+  /**
+   * Numbers are equal whatever their type, as for the server: integral values, e.g. {@code 1} and {@code 1.0}, map to
+   * a {@code Long}, other values to a {@code Double}.
+   */
+  static Object idKey(Object id) {
+    if (id instanceof Integer || id instanceof Long || id instanceof Short || id instanceof Byte) {
+      return ((Number) id).longValue();
+    }
+    if (id instanceof Number) {
+      double value = ((Number) id).doubleValue();
+      // Doubles in the long range without a fractional part
+      if (value == Math.rint(value) && value >= Long.MIN_VALUE && value < 0x1p63) {
+        return (long) value;
+      }
+      return value;
+    }
+    return id;
+  }
+
+  @Override
+  public HedgedReadStats hedgedReadStats() {
+    return holder.hedgedReads.stats();
+  }
+
+  @Override
+  public List<ConnectionPoolStats> poolStats() {
+    return holder.poolMonitor.stats();
+  }
+
+  @Override
+  public List<ConcurrencyLimiterStats> concurrencyLimiterStats() {
+    return holder.concurrencyLimiterStats();
+  }
+
   @Override
   public Future<@Nullable JsonObject> findOneAndUpdate(String collection, JsonObject query, JsonObject update) {
     return findOneAndUpdateWithOptions(collection, query, update, DEFAULT_FIND_OPTIONS, DEFAULT_UPDATE_OPTIONS);
@@ -419,7 +697,9 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
     MongoCollection<JsonObject> coll = getCollection(collection);
     Promise<JsonObject> promise = vertx.promise();
-    coll.findOneAndUpdate(bquery, bupdate, foauOptions).subscribe(new SingleResultSubscriber<>(promise));
+    write(session == null
+      ? coll.findOneAndUpdate(bquery, bupdate, foauOptions)
+      : coll.findOneAndUpdate(session, bquery, bupdate, foauOptions), new SingleResultSubscriber<>(promise));
     return promise.future();
   }
 
@@ -462,7 +742,9 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
     MongoCollection<JsonObject> coll = getCollection(collection);
     Promise<JsonObject> promise = vertx.promise();
-    coll.findOneAndReplace(bquery, replace, foarOptions).subscribe(new SingleResultSubscriber<>(promise));
+    write(session == null
+      ? coll.findOneAndReplace(bquery, replace, foarOptions)
+      : coll.findOneAndReplace(session, bquery, replace, foarOptions), new SingleResultSubscriber<>(promise));
     return promise.future();
   }
 
@@ -497,7 +779,9 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
     MongoCollection<JsonObject> coll = getCollection(collection);
     Promise<JsonObject> promise = vertx.promise();
-    coll.findOneAndDelete(bquery, foadOptions).subscribe(new SingleResultSubscriber<>(promise));
+    write(session == null
+      ? coll.findOneAndDelete(bquery, foadOptions)
+      : coll.findOneAndDelete(session, bquery, foadOptions), new SingleResultSubscriber<>(promise));
     return promise.future();
   }
 
@@ -513,11 +797,17 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
     Bson bquery = wrap(deepEncodeKeyWhenUseObjectId(query));
     MongoCollection<JsonObject> coll = getCollection(collection);
+    if (countOptions != null) {
+      coll = withReadSettings(coll, countOptions.getReadPreference(), countOptions.getReadConcern());
+    }
     Promise<Long> promise = vertx.promise();
-    Publisher<Long> countPublisher = countOptions != null
-      ? coll.countDocuments(bquery, countOptions.toMongoDriverObject())
-      : coll.countDocuments(bquery);
-    countPublisher.subscribe(new SingleResultSubscriber<>(promise));
+    com.mongodb.client.model.CountOptions driverOptions = countOptions != null
+      ? countOptions.toMongoDriverObject()
+      : new com.mongodb.client.model.CountOptions();
+    Publisher<Long> countPublisher = session == null
+      ? coll.countDocuments(bquery, driverOptions)
+      : coll.countDocuments(session, bquery, driverOptions);
+    read(countPublisher, new SingleResultSubscriber<>(promise));
     return promise.future();
   }
 
@@ -534,7 +824,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     MongoCollection<JsonObject> coll = getCollection(collection, writeOption);
     Bson bquery = wrap(deepEncodeKeyWhenUseObjectId(query));
     Promise<DeleteResult> promise = vertx.promise();
-    coll.deleteMany(bquery).subscribe(new SingleResultSubscriber<>(promise));
+    write(session == null ? coll.deleteMany(bquery) : coll.deleteMany(session, bquery), new SingleResultSubscriber<>(promise));
     return promise.future().map(Utils::toMongoClientDeleteResult);
   }
 
@@ -551,7 +841,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     MongoCollection<JsonObject> coll = getCollection(collection, writeOption);
     Bson bquery = wrap(deepEncodeKeyWhenUseObjectId(query));
     Promise<DeleteResult> promise = vertx.promise();
-    coll.deleteOne(bquery).subscribe(new SingleResultSubscriber<>(promise));
+    write(session == null ? coll.deleteOne(bquery) : coll.deleteOne(session, bquery), new SingleResultSubscriber<>(promise));
     return promise.future().map(Utils::toMongoClientDeleteResult);
   }
 
@@ -569,7 +859,9 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     List<WriteModel<JsonObject>> bulkOperations = convertBulkOperations(operations);
     com.mongodb.client.model.BulkWriteOptions options = new com.mongodb.client.model.BulkWriteOptions().ordered(bulkWriteOptions.isOrdered());
     Promise<BulkWriteResult> promise = vertx.promise();
-    coll.bulkWrite(bulkOperations, options).subscribe(new SingleResultSubscriber<>(promise));
+    write(session == null
+      ? coll.bulkWrite(bulkOperations, options)
+      : coll.bulkWrite(session, bulkOperations, options), new SingleResultSubscriber<>(promise));
     return promise.future().map(Utils::toMongoClientBulkWriteResult);
   }
 
@@ -644,7 +936,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     requireNonNull(collectionName, "collectionName cannot be null");
 
     Promise<Void> promise = vertx.promise();
-    holder.db.createCollection(collectionName).subscribe(new CompletionSubscriber<>(promise));
+    write(session == null ? getDatabase().createCollection(collectionName) : getDatabase().createCollection(session, collectionName), new CompletionSubscriber<>(promise));
     return promise.future();
   }
 
@@ -653,15 +945,17 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     requireNonNull(collectionName, "collectionName cannot be null");
 
     Promise<Void> promise = vertx.promise();
-    holder.db.createCollection(collectionName, collectionOptions.toMongoDriverObject())
-      .subscribe(new CompletionSubscriber<>(promise));
+    com.mongodb.client.model.CreateCollectionOptions driverOptions = collectionOptions.toMongoDriverObject();
+    write(session == null
+      ? getDatabase().createCollection(collectionName, driverOptions)
+      : getDatabase().createCollection(session, collectionName, driverOptions), new CompletionSubscriber<>(promise));
     return promise.future();
   }
 
   @Override
   public Future<List<String>> getCollections() {
     Promise<List<String>> promise = vertx.promise();
-    holder.db.listCollectionNames().subscribe(new BufferingSubscriber<>(promise));
+    read(session == null ? getDatabase().listCollectionNames() : getDatabase().listCollectionNames(session), new BufferingSubscriber<>(promise));
     return promise.future();
   }
 
@@ -671,7 +965,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
     MongoCollection<JsonObject> coll = getCollection(collection);
     Promise<Void> promise = vertx.promise();
-    coll.drop().subscribe(new CompletionSubscriber<>(promise));
+    write(session == null ? coll.drop() : coll.drop(session), new CompletionSubscriber<>(promise));
     return promise.future();
   }
 
@@ -689,8 +983,10 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     MongoCollection<JsonObject> coll = getCollection(oldCollectionName);
     Promise<Void> promise = vertx.promise();
     MongoNamespace newNamespace = new MongoNamespace(coll.getNamespace().getDatabaseName(), newCollectionName);
-    coll.renameCollection(newNamespace, options.toMongoDriverObject())
-      .subscribe(new CompletionSubscriber<>(promise));
+    com.mongodb.client.model.RenameCollectionOptions driverOptions = options.toMongoDriverObject();
+    write(session == null
+      ? coll.renameCollection(newNamespace, driverOptions)
+      : coll.renameCollection(session, newNamespace, driverOptions), new CompletionSubscriber<>(promise));
     return promise.future();
   }
 
@@ -707,7 +1003,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     MongoCollection<JsonObject> coll = getCollection(collection);
     com.mongodb.client.model.IndexOptions driverOpts = mongoIndexOptions(options);
     Promise<Void> promise = vertx.promise();
-    coll.createIndex(wrap(key), driverOpts).subscribe(new CompletionSubscriber<>(promise));
+    write(session == null ? coll.createIndex(wrap(key), driverOpts) : coll.createIndex(session, wrap(key), driverOpts), new CompletionSubscriber<>(promise));
     return promise.future();
   }
 
@@ -722,7 +1018,8 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     }).collect(Collectors.toList());
 
     Promise<Void> promise = vertx.promise();
-    getCollection(collection).createIndexes(transformIndexes).subscribe(new CompletionSubscriber<>(promise));
+    MongoCollection<JsonObject> coll = getCollection(collection);
+    write(session == null ? coll.createIndexes(transformIndexes) : coll.createIndexes(session, transformIndexes), new CompletionSubscriber<>(promise));
     return promise.future();
   }
 
@@ -736,7 +1033,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
     MongoCollection<JsonObject> coll = getCollection(collection);
     Promise<List<JsonObject>> promise = vertx.promise();
-    coll.listIndexes(JsonObject.class).subscribe(new BufferingSubscriber<>(promise));
+    read(session == null ? coll.listIndexes(JsonObject.class) : coll.listIndexes(session, JsonObject.class), new BufferingSubscriber<>(promise));
     return promise.future().map(JsonArray::new);
   }
 
@@ -747,7 +1044,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
     MongoCollection<JsonObject> coll = getCollection(collection);
     Promise<Void> promise = vertx.promise();
-    coll.dropIndex(indexName).subscribe(new CompletionSubscriber<>(promise));
+    write(session == null ? coll.dropIndex(indexName) : coll.dropIndex(session, indexName), new CompletionSubscriber<>(promise));
     return promise.future();
   }
 
@@ -758,7 +1055,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
     MongoCollection<JsonObject> coll = getCollection(collection);
     Promise<Void> promise = vertx.promise();
-    coll.dropIndex(wrap(key)).subscribe(new CompletionSubscriber<>(promise));
+    write(session == null ? coll.dropIndex(wrap(key)) : coll.dropIndex(session, wrap(key)), new CompletionSubscriber<>(promise));
     return promise.future();
   }
 
@@ -782,7 +1079,9 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     });
 
     Promise<JsonObject> promise = vertx.promise();
-    holder.db.runCommand(wrap(json), JsonObject.class).subscribe(new SingleResultSubscriber<>(promise));
+    write(session == null
+      ? getDatabase().runCommand(wrap(json), JsonObject.class)
+      : getDatabase().runCommand(session, wrap(json), JsonObject.class), new SingleResultSubscriber<>(promise));
     return promise.future();
   }
 
@@ -805,7 +1104,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
   public Future<JsonArray> distinctWithQuery(String collection, String fieldName, String resultClassname, JsonObject query, DistinctOptions distinctOptions) {
     try {
       PromiseInternal<List<Object>> promise = vertx.promise();
-      findDistinctValuesWithQuery(collection, fieldName, resultClassname, query, distinctOptions).subscribe(new BufferingSubscriber<>(promise));
+      read(findDistinctValuesWithQuery(collection, fieldName, resultClassname, query, distinctOptions), new BufferingSubscriber<>(promise));
       return promise.future().map(JsonArray::new);
     } catch (ClassNotFoundException e) {
       return vertx.getOrCreateContext().failedFuture(e);
@@ -841,13 +1140,84 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
   public ReadStream<JsonObject> distinctBatchWithQuery(String collection, String fieldName, String resultClassname, JsonObject query, int batchSize, DistinctOptions distinctOptions) {
     try {
       DistinctPublisher<?> distinctValuesWithQuery = findDistinctValuesWithQuery(collection, fieldName, resultClassname, query, distinctOptions);
-      PublisherAdapter<?> readStream = new PublisherAdapter<>(vertx.getOrCreateContext(), distinctValuesWithQuery, batchSize);
+      PublisherAdapter<?> readStream = new PublisherAdapter<>(vertx.getOrCreateContext(), admitStream(distinctValuesWithQuery, holder.readGate), batchSize);
       return new MappingStream<>(readStream, value -> new JsonObject().put(fieldName, value));
     } catch (ClassNotFoundException e) {
       return new FailedStream(e);
     }
   }
 
+  @Override
+  public <T> Future<@Nullable T> withTransaction(Function<io.vertx.ext.mongo.MongoClient, Future<@Nullable T>> function) {
+    return withTransaction(new TransactionOptions(), function);
+  }
+
+  @Override
+  public <T> Future<@Nullable T> withTransaction(TransactionOptions options, Function<io.vertx.ext.mongo.MongoClient, Future<@Nullable T>> function) {
+    requireNonNull(options, OPTIONS_CANNOT_BE_NULL);
+    requireNonNull(function, "function cannot be null");
+    ContextInternal context = vertx.getOrCreateContext();
+    if (session != null) {
+      if (session.hasActiveTransaction()) {
+        return context.failedFuture(new IllegalStateException("Transactions cannot be nested"));
+      }
+      // The session is owned by withSession
+      return new TransactionRunner<>(vertx, context, session, this, options, function).run();
+    }
+    return withNewSession(context, ClientSessionOptions.builder().build(), clientSession ->
+      new TransactionRunner<>(vertx, context, clientSession, new MongoClientImpl(this, clientSession, null, null, null), options, function).run());
+  }
+
+  @Override
+  public <T> Future<@Nullable T> withSession(SessionOptions options, Function<io.vertx.ext.mongo.MongoClient, Future<@Nullable T>> function) {
+    requireNonNull(options, OPTIONS_CANNOT_BE_NULL);
+    requireNonNull(function, "function cannot be null");
+    ContextInternal context = vertx.getOrCreateContext();
+    if (session != null) {
+      return context.failedFuture(new IllegalStateException("Sessions cannot be nested"));
+    }
+    ReadPreference sessionReadPreference = new ReadPreferenceParser(null, new JsonObject()
+      .put("readPreference", options.getReadPreference())
+      .put("readPreferenceTags", options.getReadPreferenceTags())).readPreference();
+    ReadConcern sessionReadConcern = options.getReadConcern() != null
+      ? new ReadConcern(ReadConcernLevel.fromString(options.getReadConcern()))
+      : null;
+    WriteConcern sessionWriteConcern = options.getWriteOption() != null
+      ? WriteConcern.valueOf(options.getWriteOption().name())
+      : null;
+    com.mongodb.TransactionOptions.Builder transactionOptions = com.mongodb.TransactionOptions.builder()
+      .readConcern(sessionReadConcern)
+      .writeConcern(sessionWriteConcern);
+    ClientSessionOptions sessionOptions = ClientSessionOptions.builder()
+      .causallyConsistent(options.isCausallyConsistent())
+      .defaultTransactionOptions(transactionOptions.build())
+      .build();
+    return withNewSession(context, sessionOptions, clientSession -> {
+      MongoClientImpl client = new MongoClientImpl(this, clientSession, sessionReadPreference, sessionReadConcern, sessionWriteConcern);
+      Future<T> future;
+      try {
+        future = function.apply(client);
+      } catch (Exception e) {
+        future = context.failedFuture(e);
+      }
+      return future;
+    });
+  }
+
+  @Override
+  public io.vertx.ext.mongo.MongoClient withOperationOptions(OperationOptions options) {
+    requireNonNull(options, OPTIONS_CANNOT_BE_NULL);
+    OperationPriority operationPriority = options.getPriority() != null ? options.getPriority() : priority;
+    return new MongoClientImpl(this, session, readPreference, readConcern, writeConcern, options.getTimeout(), operationPriority);
+  }
+
+  private <T> Future<T> withNewSession(ContextInternal context, ClientSessionOptions options, Function<ClientSession, Future<T>> function) {
+    Promise<ClientSession> promise = context.promise();
+    mongo.startSession(options).subscribe(new SingleResultSubscriber<>(promise));
+    // Closing the session returns its server session to the pool of the driver
+    return promise.future().compose(clientSession -> function.apply(clientSession).onComplete(ar -> clientSession.close()));
+  }
+
   @Override
   public Future<MongoGridFsClient> createDefaultGridFsBucketService() {
     return createGridFsBucketService("fs");
@@ -855,10 +1225,26 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
 
   @Override
   public Future<MongoGridFsClient> createGridFsBucketService(String bucketName) {
-    MongoGridFsClientImpl impl = new MongoGridFsClientImpl(vertx, this, getGridFSBucket(bucketName), holder.db.getCodecRegistry());
+    return createGridFsBucketServiceWithOptions(bucketName, new GridFsBucketOptions());
+  }
+
+  @Override
+  public Future<MongoGridFsClient> createGridFsBucketServiceWithOptions(String bucketName, GridFsBucketOptions options) {
+    requireNonNull(bucketName, "bucketName cannot be null");
+    requireNonNull(options, OPTIONS_CANNOT_BE_NULL);
+
+    MongoGridFsClientImpl impl = new MongoGridFsClientImpl(vertx, this, getGridFSBucket(bucketName), holder.db, options);
+    if (options.getExpiryField() != null) {
+      // The expiry sweeper must not outlive the driver client
+      holder.gridFsClients.add(impl);
+    }
     return Future.succeededFuture(impl);
   }
 
+  void removeGridFsClient(MongoGridFsClientImpl gridFsClient) {
+    holder.gridFsClients.remove(gridFsClient);
+  }
+
   private GridFSBucket getGridFSBucket(String bucketName) {
     return GridFSBuckets.create(holder.db, bucketName);
   }
@@ -871,19 +1257,100 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
   @Override
   public ReadStream<JsonObject> aggregateWithOptions(final String collection, final JsonArray pipeline, final AggregateOptions options) {
     AggregatePublisher<JsonObject> view = doAggregate(collection, pipeline, options);
-    return new PublisherAdapter<>(vertx.getOrCreateContext(), view, options.getBatchSize());
+    return new PublisherAdapter<>(vertx.getOrCreateContext(), admitStream(view, holder.readGate), options.getBatchSize());
   }
 
   @Override
-  public ReadStream<ChangeStreamDocument<JsonObject>> watch(final String collection, final JsonArray pipeline, boolean withUpdatedDoc, int batchSize) {
+  public Future<AggregateStats> aggregateInto(String collection, JsonArray pipeline, AggregateOptions options) {
+    return aggregateIntoWithProgress(collection, pipeline, options, 0L, null);
+  }
+
+  @Override
+  public Future<AggregateStats> aggregateIntoWithProgress(String collection, JsonArray pipeline, AggregateOptions options,
+                                                          long progressInterval, @Nullable Handler<JsonObject> progressHandler) {
     requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
     requireNonNull(pipeline, PIPELINE_CANNOT_BE_NULL);
-    MongoCollection<JsonObject> coll = getCollection(collection);
-    final List<Bson> bpipeline = new ArrayList<>(pipeline.size());
-    for (int i = 0; i < pipeline.size(); i++) {
-      bpipeline.add(wrap(pipeline.getJsonObject(i)));
+    requireNonNull(options, "aggregateOptions cannot be null");
+    MongoNamespace target = aggregateTarget(pipeline.isEmpty() ? null : pipeline.getJsonObject(pipeline.size() - 1));
+    AggregateOptions aggregateOptions = options;
+    String comment = options.getComment();
+    boolean progress = progressHandler != null && progressInterval > 0;
+    if (progress && comment == null) {
+      // Identifies the operation in $currentOp
+      comment = "vertx-aggregate-into-" + UUID.randomUUID();
+      aggregateOptions = new AggregateOptions(options).setComment(comment);
+    }
+    long start = System.nanoTime();
+    Promise<Void> promise = vertx.promise();
+    // The output stage writes on the server, the empty result is not read. The aggregation can run for minutes, it
+    // would hold a permit of the write limiter for all that time
+    admitStream(doAggregate(collection, pipeline, aggregateOptions).toCollection(), null)
+      .subscribe(track(new CompletionSubscriber<>(promise)));
+    if (progress) {
+      List<Bson> currentOp = Arrays.asList(
+        wrap(new JsonObject().put("$currentOp", new JsonObject())),
+        wrap(new JsonObject().put("$match", new JsonObject().put("command.comment", comment))));
+      long timerId = vertx.setPeriodic(progressInterval, id -> {
+        Promise<JsonObject> op = vertx.promise();
+        read(mongo.getDatabase("admin").aggregate(currentOp, JsonObject.class).first(), new SingleResultSubscriber<>(op));
+        op.future().onSuccess(status -> {
+          if (status != null && !promise.future().isComplete()) {
+            progressHandler.handle(status);
+          }
+        });
+      });
+      promise.future().onComplete(ar -> vertx.cancelTimer(timerId));
+    }
+    return promise.future().compose(v -> {
+      long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      Promise<Long> count = vertx.promise();
+      read(mongo.getDatabase(target.getDatabaseName()).getCollection(target.getCollectionName()).estimatedDocumentCount(),
+        new SingleResultSubscriber<>(count));
+      return count.future().map(targetCount -> new AggregateStats(target.getFullName(), duration, targetCount == null ? 0L : targetCount));
+    });
+  }
+
+  private MongoNamespace aggregateTarget(JsonObject stage) {
+    Object out;
+    if (stage != null && stage.containsKey("$out")) {
+      out = stage.getValue("$out");
+    } else if (stage != null && stage.containsKey("$merge")) {
+      out = stage.getValue("$merge");
+      if (out instanceof JsonObject) {
+        out = ((JsonObject) out).getValue("into");
+      }
+    } else {
+      throw new IllegalArgumentException("The last stage of the pipeline must be $out or $merge");
+    }
+    if (out instanceof String) {
+      return new MongoNamespace(holder.db.getName(), (String) out);
     }
-    ChangeStreamPublisher<JsonObject> changeStreamPublisher = coll.watch(bpipeline, JsonObject.class);
+    if (out instanceof JsonObject) {
+      JsonObject namespace = (JsonObject) out;
+      return new MongoNamespace(namespace.getString("db", holder.db.getName()), namespace.getString("coll"));
+    }
+    throw new IllegalArgumentException("Invalid output collection: " + out);
+  }
+
+  @Override
+  public <T> ReadStream<T> aggregateWithOptions(String collection, JsonArray pipeline, AggregateOptions options, Class<T> type) {
+    requireNonNull(type, TYPE_CANNOT_BE_NULL);
+    AggregatePublisher<T> view = doAggregate(collection, pipeline, options, type);
+    return new PublisherAdapter<>(vertx.getOrCreateContext(), admitStream(view, holder.readGate), options.getBatchSize());
+  }
+
+  @Override
+  public Publisher<JsonObject> aggregatePublisher(String collection, JsonArray pipeline, AggregateOptions options) {
+    AggregatePublisher<JsonObject> view = doAggregate(collection, pipeline, options);
+    return new ContextPublisher<>(vertx.getOrCreateContext(), admitStream(view, holder.readGate));
+  }
+
+  @Override
+  public ReadStream<ChangeStreamDocument<JsonObject>> watch(final String collection, final JsonArray pipeline, boolean withUpdatedDoc, int batchSize) {
+    requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
+    requireNonNull(pipeline, PIPELINE_CANNOT_BE_NULL);
+    MongoCollection<JsonObject> coll = getUntimedCollection(collection);
+    ChangeStreamPublisher<JsonObject> changeStreamPublisher = coll.watch(wrapPipeline(pipeline), JsonObject.class);
     if (withUpdatedDoc) {
       // By default, only "insert" and "replace" operations return fullDocument
       // Following setting is for "update" operation to return fullDocument
@@ -895,6 +1362,129 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     return new PublisherAdapter<>(vertx.getOrCreateContext(), changeStreamPublisher, batchSize);
   }
 
+  @Override
+  public ReadStream<ChangeStreamDocument<JsonObject>> watchWithOptions(String collection, JsonArray pipeline, ChangeStreamOptions options) {
+    return watchWithOptions(collection, pipeline, options, null);
+  }
+
+  @Override
+  public ReadStream<ChangeStreamDocument<JsonObject>> watchWithOptions(String collection, JsonArray pipeline, ChangeStreamOptions options, ResumeTokenStore store) {
+    requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
+    requireNonNull(pipeline, PIPELINE_CANNOT_BE_NULL);
+    requireNonNull(options, OPTIONS_CANNOT_BE_NULL);
+    MongoCollection<JsonObject> coll = getUntimedCollection(collection);
+    List<Bson> bpipeline = wrapPipeline(pipeline);
+    return watchScope(holder.db.getName() + "." + collection, collection, pipeline, options, store,
+      resumeToken -> configureChangeStream(coll.watch(bpipeline, JsonObject.class), options, resumeToken),
+      ChangeStreamDocument::getResumeToken);
+  }
+
+  @Override
+  public ReadStream<List<ChangeStreamDocument<JsonObject>>> watchBatch(String collection, JsonArray pipeline, ChangeStreamOptions options) {
+    ReadStream<ChangeStreamDocument<JsonObject>> stream = watchWithOptions(collection, pipeline, options);
+    return new BatchingStream<>(vertx.getOrCreateContext(), stream, options.getBatchSize());
+  }
+
+  @Override
+  public ReadStream<Buffer> watchRaw(String collection, JsonArray pipeline, ChangeStreamOptions options) {
+    return watchRaw(collection, pipeline, options, null);
+  }
+
+  @Override
+  public ReadStream<Buffer> watchRaw(String collection, JsonArray pipeline, ChangeStreamOptions options, ResumeTokenStore store) {
+    requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
+    requireNonNull(pipeline, PIPELINE_CANNOT_BE_NULL);
+    requireNonNull(options, OPTIONS_CANNOT_BE_NULL);
+    MongoCollection<JsonObject> coll = getUntimedCollection(collection);
+    List<Bson> bpipeline = wrapPipeline(pipeline);
+    // Events are not decoded, only their resume token is read from the raw bytes
+    ReadStream<RawBsonDocument> stream = watchScope("raw:" + holder.db.getName() + "." + collection, collection, pipeline, options, store,
+      resumeToken -> configureChangeStream(coll.watch(bpipeline, JsonObject.class), options, resumeToken).withDocumentClass(RawBsonDocument.class),
+      event -> event.getDocument(ID_FIELD));
+    return new MappingStream<>(stream, event -> BufferInternal.buffer(Unpooled.wrappedBuffer(event.getByteBuffer().asNIO())));
+  }
+
+  @Override
+  public ReadStream<ChangeStreamDocument<JsonObject>> watchDatabase(JsonArray pipeline, ChangeStreamOptions options) {
+    return watchDatabase(pipeline, options, null);
+  }
+
+  @Override
+  public ReadStream<ChangeStreamDocument<JsonObject>> watchDatabase(JsonArray pipeline, ChangeStreamOptions options, ResumeTokenStore store) {
+    requireNonNull(pipeline, PIPELINE_CANNOT_BE_NULL);
+    requireNonNull(options, OPTIONS_CANNOT_BE_NULL);
+    MongoDatabase db = holder.db;
+    List<Bson> bpipeline = wrapPipeline(pipeline);
+    return watchScope(db.getName(), db.getName(), pipeline, options, store,
+      resumeToken -> configureChangeStream(db.watch(bpipeline, JsonObject.class), options, resumeToken),
+      ChangeStreamDocument::getResumeToken);
+  }
+
+  @Override
+  public ReadStream<ChangeStreamDocument<JsonObject>> watchCluster(JsonArray pipeline, ChangeStreamOptions options) {
+    return watchCluster(pipeline, options, null);
+  }
+
+  @Override
+  public ReadStream<ChangeStreamDocument<JsonObject>> watchCluster(JsonArray pipeline, ChangeStreamOptions options, ResumeTokenStore store) {
+    requireNonNull(pipeline, PIPELINE_CANNOT_BE_NULL);
+    requireNonNull(options, OPTIONS_CANNOT_BE_NULL);
+    List<Bson> bpipeline = wrapPipeline(pipeline);
+    return watchScope("", CLUSTER_RESUME_TOKEN_KEY, pipeline, options, store,
+      resumeToken -> configureChangeStream(mongo.watch(bpipeline, JsonObject.class), options, resumeToken),
+      ChangeStreamDocument::getResumeToken);
+  }
+
+  /**
+   * @param scope      the watched namespace, {@code ""} for the whole cluster
+   * @param defaultKey the resume token key when not set in the options
+   */
+  private <E> ReadStream<E> watchScope(String scope, String defaultKey, JsonArray pipeline, ChangeStreamOptions options, ResumeTokenStore store,
+                                       Function<BsonDocument, Publisher<E>> publisherFactory, Function<E, BsonDocument> resumeTokenOf) {
+    if (options.isShared()) {
+      if (store != null) {
+        throw new IllegalArgumentException("A shared change stream cannot use a resume token store");
+      }
+      // Streams differing only by their buffer size can share the cursor
+      ChangeStreamOptions sourceOptions = new ChangeStreamOptions(options).setSharedQueueSize(ChangeStreamOptions.DEFAULT_SHARED_QUEUE_SIZE);
+      String key = scope + '|' + pipeline.encode() + '|' + sourceOptions.toJson().encode();
+      // The shared cursor is not bound to the context of the first subscriber, which may be undeployed first
+      return holder.hub.subscribe(vertx.getOrCreateContext(), key,
+        () -> new ResumableChangeStream<>(vertx, vertx.createEventLoopContext(), publisherFactory, resumeTokenOf, options, null, null),
+        options.getSharedQueueSize());
+    }
+    String key = options.getResumeTokenKey() != null ? options.getResumeTokenKey() : defaultKey;
+    return new ResumableChangeStream<>(vertx, vertx.getOrCreateContext(), publisherFactory, resumeTokenOf, options, store, key);
+  }
+
+  private List<Bson> wrapPipeline(JsonArray pipeline) {
+    final List<Bson> bpipeline = new ArrayList<>(pipeline.size());
+    for (int i = 0; i < pipeline.size(); i++) {
+      bpipeline.add(wrap(pipeline.getJsonObject(i)));
+    }
+    return bpipeline;
+  }
+
+  private static <T> ChangeStreamPublisher<T> configureChangeStream(ChangeStreamPublisher<T> publisher, ChangeStreamOptions options, BsonDocument resumeToken) {
+    if (options.getFullDocument() != null) {
+      publisher.fullDocument(FullDocument.fromString(options.getFullDocument()));
+    }
+    if (options.getBatchSize() > 0) {
+      publisher.batchSize(options.getBatchSize());
+    }
+    if (resumeToken != null) {
+      // Reconnecting, or resuming from a checkpoint
+      publisher.resumeAfter(resumeToken);
+    } else if (options.getStartAfter() != null) {
+      publisher.startAfter(BsonDocument.parse(options.getStartAfter().encode()));
+    } else if (options.getResumeAfter() != null) {
+      publisher.resumeAfter(BsonDocument.parse(options.getResumeAfter().encode()));
+    } else if (options.getStartAtOperationTime() != null) {
+      publisher.startAtOperationTime(new BsonTimestamp(options.getStartAtOperationTime()));
+    }
+    return publisher;
+  }
+
   private DistinctPublisher<?> findDistinctValuesWithQuery(String collection, String fieldName, String resultClassname, JsonObject query, DistinctOptions distinctOptions) throws ClassNotFoundException {
     requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
     requireNonNull(fieldName, FIELD_NAME_CANNOT_BE_NULL);
@@ -905,20 +1495,32 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     Bson bquery = wrap(encodedQuery);
 
     MongoCollection<JsonObject> mongoCollection = getCollection(collection);
+    if (distinctOptions != null) {
+      mongoCollection = withReadSettings(mongoCollection, distinctOptions.getReadPreference(), distinctOptions.getReadConcern());
+    }
     Class<?> resultClass = this.getClass().getClassLoader().loadClass(resultClassname);
-    return setDistinctOptions(mongoCollection.distinct(fieldName, bquery, resultClass), distinctOptions);
+    DistinctPublisher<?> distinct = session == null
+      ? mongoCollection.distinct(fieldName, bquery, resultClass)
+      : mongoCollection.distinct(session, fieldName, bquery, resultClass);
+    return setDistinctOptions(distinct, distinctOptions);
   }
 
   private AggregatePublisher<JsonObject> doAggregate(final String collection, final JsonArray pipeline, final AggregateOptions aggregateOptions) {
+    return doAggregate(collection, pipeline, aggregateOptions, JsonObject.class);
+  }
+
+  private <T> AggregatePublisher<T> doAggregate(final String collection, final JsonArray pipeline, final AggregateOptions aggregateOptions, Class<T> type) {
     requireNonNull(collection, COLLECTION_CANNOT_BE_NULL);
     requireNonNull(pipeline, PIPELINE_CANNOT_BE_NULL);
     requireNonNull(aggregateOptions, "aggregateOptions cannot be null");
-    final MongoCollection<JsonObject> coll = getCollection(collection);
+    final MongoCollection<JsonObject> coll = withTypedCodecs(withReadSettings(getCollection(collection), aggregateOptions.getReadPreference(), aggregateOptions.getReadConcern()), type);
     final List<Bson> bpipeline = new ArrayList<>(pipeline.size());
     for (int i = 0; i < pipeline.size(); i++) {
       bpipeline.add(wrap(pipeline.getJsonObject(i)));
     }
-    AggregatePublisher<JsonObject> aggregate = coll.aggregate(bpipeline, JsonObject.class);
+    AggregatePublisher<T> aggregate = session == null
+      ? coll.aggregate(bpipeline, type)
+      : coll.aggregate(session, bpipeline, type);
 
     if(aggregateOptions.getCollation() != null) {
       aggregate.collation(aggregateOptions.getCollation().toMongoDriverObject());
@@ -932,6 +1534,12 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     if (aggregateOptions.getAllowDiskUse() != null) {
       aggregate.allowDiskUse(aggregateOptions.getAllowDiskUse());
     }
+    if (aggregateOptions.getComment() != null) {
+      aggregate.comment(aggregateOptions.getComment());
+    }
+    if (aggregateOptions.getLet() != null) {
+      aggregate.let(wrap(aggregateOptions.getLet()));
+    }
     return aggregate;
   }
 
@@ -1013,9 +1621,15 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
   }
 
   private FindPublisher<JsonObject> doFind(String collection, JsonObject query, FindOptions options) {
-    MongoCollection<JsonObject> coll = getCollection(collection);
+    return doFind(collection, query, options, JsonObject.class);
+  }
+
+  private <T> FindPublisher<T> doFind(String collection, JsonObject query, FindOptions options, Class<T> type) {
+    MongoCollection<JsonObject> coll = withTypedCodecs(withReadSettings(getCollection(collection), options.getReadPreference(), options.getReadConcern()), type);
     Bson bquery = wrap(deepEncodeKeyWhenUseObjectId(query));
-    FindPublisher<JsonObject> find = coll.find(bquery, JsonObject.class);
+    FindPublisher<T> find = session == null
+      ? coll.find(bquery, type)
+      : coll.find(session, bquery, type);
     if (options.getLimit() != -1) {
       find.limit(options.getLimit());
     }
@@ -1037,21 +1651,176 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     if(options.getCollation() != null) {
       find.collation(options.getCollation().toMongoDriverObject());
     }
+    if (options.getMaxTime() > 0) {
+      find.maxTime(options.getMaxTime(), TimeUnit.MILLISECONDS);
+    }
+    if (options.isNoCursorTimeout()) {
+      find.noCursorTimeout(true);
+    }
+    if (options.isAllowPartialResults()) {
+      find.partial(true);
+    }
+    if (options.getComment() != null) {
+      find.comment(options.getComment());
+    }
+    if (options.getLet() != null) {
+      find.let(wrap(options.getLet()));
+    }
     return find;
   }
 
+  /**
+   * @return whether the read preference of a find is {@code primary}, with which a hedge would only double the load
+   * of the member serving the read
+   */
+  private boolean isPrimaryRead(String collection, FindOptions options) {
+    ReadPreference readPreference = options.getReadPreference() != null
+      ? ReadPreference.valueOf(options.getReadPreference())
+      : getCollection(collection).getReadPreference();
+    return ReadPreference.primary().equals(readPreference);
+  }
+
+  /**
+   * Applies the read preference and read concern of an operation, when set.
+   */
+  private static MongoCollection<JsonObject> withReadSettings(MongoCollection<JsonObject> coll, String readPreferenceName, String readConcernLevel) {
+    if (readPreferenceName != null) {
+      coll = coll.withReadPreference(ReadPreference.valueOf(readPreferenceName));
+    }
+    if (readConcernLevel != null) {
+      coll = coll.withReadConcern(new ReadConcern(ReadConcernLevel.fromString(readConcernLevel)));
+    }
+    return coll;
+  }
+
+  /**
+   * The results decoded into another type than {@code JsonObject} may use the reflective codecs of the records and
+   * the POJOs.
+   */
+  private MongoCollection<JsonObject> withTypedCodecs(MongoCollection<JsonObject> coll, Class<?> type) {
+    return type == JsonObject.class ? coll : coll.withCodecRegistry(holder.typedCodecRegistry);
+  }
+
   private MongoCollection<JsonObject> getCollection(String name) {
     return getCollection(name, null);
   }
 
   private MongoCollection<JsonObject> getCollection(String name, @Nullable WriteOption writeOption) {
-    MongoCollection<JsonObject> coll = holder.db.getCollection(name, JsonObject.class);
+    MongoCollection<JsonObject> coll = getUntimedCollection(name, writeOption);
+    if (coll != null && timeout > 0) {
+      coll = coll.withTimeout(timeout, TimeUnit.MILLISECONDS);
+    }
+    return coll;
+  }
+
+  /**
+   * Change streams are long-lived and shared between clients, they are not subject to the timeout of the client.
+   */
+  private MongoCollection<JsonObject> getUntimedCollection(String name) {
+    return getUntimedCollection(name, null);
+  }
+
+  private MongoCollection<JsonObject> getUntimedCollection(String name, @Nullable WriteOption writeOption) {
+    MongoCollection<JsonObject> coll = database().getCollection(name, JsonObject.class);
+    if (coll != null && session != null && !session.hasActiveTransaction()) {
+      // The settings of a transaction are set when it starts
+      if (readPreference != null) {
+        coll = coll.withReadPreference(readPreference);
+      }
+      if (readConcern != null) {
+        coll = coll.withReadConcern(readConcern);
+      }
+      if (writeConcern != null) {
+        coll = coll.withWriteConcern(writeConcern);
+      }
+    }
     if (coll != null && writeOption != null) {
       coll = coll.withWriteConcern(WriteConcern.valueOf(writeOption.name()));
     }
     return coll;
   }
 
+  private MongoDatabase getDatabase() {
+    MongoDatabase db = database();
+    return timeout > 0 ? db.withTimeout(timeout, TimeUnit.MILLISECONDS) : db;
+  }
+
+  private MongoDatabase database() {
+    // A session belongs to the shared driver client
+    return session == null ? holder.database((ContextInternal) Vertx.currentContext()) : holder.db;
+  }
+
+  /**
+   * Tracks the subscriber of an operation of a client created by {@link #withOperationOptions}, {@link #withSession}
+   * or {@link #withTransaction}: the operation fails when the timeout expires, even if the driver has not given up
+   * yet, and is cancelled when the client is closed.
+   */
+  private <S extends CancellableSubscriber<?, ?>> S track(S subscriber) {
+    if (inFlight == null) {
+      return subscriber;
+    }
+    inFlight.add(subscriber);
+    long timerId = -1L;
+    if (timeout > 0) {
+      subscriber.timeout(timeout);
+      timerId = vertx.setTimer(timeout, id -> subscriber.cancel(CancellableSubscriber.timeoutException(timeout)));
+    }
+    long id = timerId;
+    subscriber.future().onComplete(ar -> {
+      inFlight.remove(subscriber);
+      if (id != -1L) {
+        vertx.cancelTimer(id);
+      }
+    });
+    return subscriber;
+  }
+
+  /**
+   * Subscribes to the publisher of a read operation, once admitted by the read concurrency limiter and the adaptive
+   * pool limiter of the data source, when enabled.
+   */
+  private <T> void read(Publisher<T> publisher, CancellableSubscriber<? super T, ?> subscriber) {
+    admit(publisher, holder.readGate).subscribe(track(subscriber));
+  }
+
+  /**
+   * Like {@link #read} for operations writing data or running commands.
+   */
+  private <T> void write(Publisher<T> publisher, CancellableSubscriber<? super T, ?> subscriber) {
+    admit(publisher, holder.writeGate).subscribe(track(subscriber));
+  }
+
+  private <T> Publisher<T> admit(Publisher<T> publisher, AdmissionGate limiterGate) {
+    AdmissionGate poolGate = holder.poolGate();
+    if (poolGate != null) {
+      publisher = new GatedPublisher<>(poolGate, publisher);
+    }
+    return admit(publisher, limiterGate, true);
+  }
+
+  /**
+   * Like {@link #admit} for the cursor streams, which stay open as long as their consumer reads. They are not held against the adaptive pool limit, a slow
+   * consumer would otherwise pin a share of the pool, the driver returns the connection of a cursor to the pool
+   * between two batches. They count against the limit of the concurrency limiter without feeding it their duration,
+   * which would read as a saturated server.
+   */
+  private <T> Publisher<T> admitStream(Publisher<T> publisher, AdmissionGate limiterGate) {
+    return admit(publisher, limiterGate, false);
+  }
+
+  private <T> Publisher<T> admit(Publisher<T> publisher, AdmissionGate limiterGate, boolean sampled) {
+    // The limiter comes first, so that rejected operations never wait for the pool
+    if (limiterGate != null) {
+      publisher = new GatedPublisher<>(limiterGate, publisher, sampled);
+    }
+    // Low priority operations are throttled before competing with the others
+    AdmissionGate lowPriorityGate = holder.lowPriorityGate();
+    if (priority == OperationPriority.LOW && lowPriorityGate != null) {
+      publisher = new GatedPublisher<>(lowPriorityGate, publisher);
+    }
+    return publisher;
+  }
+
   private com.mongodb.client.model.IndexOptions mongoIndexOptions(IndexOptions options) {
     CollationOptions co = options.getCollation();
     com.mongodb.client.model.IndexOptions o = new com.mongodb.client.model.IndexOptions()
@@ -1095,7 +1864,7 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
       LocalMap<String, MongoHolder> map = vertx.sharedData().getLocalMap(DS_LOCAL_MAP_NAME);
       MongoHolder theHolder = map.get(datasourceName);
       if (theHolder == null) {
-        theHolder = new MongoHolder(config, () -> removeFromMap(map, datasourceName));
+        theHolder = new MongoHolder(datasourceName, config, () -> removeFromMap(map, datasourceName));
         map.put(datasourceName, theHolder);
       } else {
         theHolder.incRefCount();
@@ -1110,17 +1879,61 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     JsonObject config;
     Runnable closeRunner;
     int refCount = 1;
-
-    MongoHolder(JsonObject config, Runnable closeRunner) {
+    final ChangeStreamHub hub = new ChangeStreamHub();
+    final HedgedReads hedgedReads = new HedgedReads();
+    final ConnectionPoolMonitor poolMonitor;
+    final AdmissionGate readGate;
+    final AdmissionGate writeGate;
+    AdaptivePoolLimiter poolLimiter;
+    AdmissionGate lowPriorityGate;
+    MongoClientSettings affinitySettings;
+    String databaseName;
+    final Map<EventLoop, MongoDatabase> loopDatabases = new ConcurrentHashMap<>();
+    final List<com.mongodb.reactivestreams.client.MongoClient> loopClients = new ArrayList<>();
+    final Set<MongoGridFsClientImpl> gridFsClients = ConcurrentHashMap.newKeySet();
+    CodecRegistry typedCodecRegistry;
+
+    MongoHolder(String dataSourceName, JsonObject config, Runnable closeRunner) {
       this.config = config;
       this.closeRunner = closeRunner;
+      this.poolMonitor = new ConnectionPoolMonitor(MongoClientImpl.this.vertx, dataSourceName);
+      this.readGate = createConcurrencyLimiter(dataSourceName, "read");
+      this.writeGate = createConcurrencyLimiter(dataSourceName, "write");
+    }
+
+    @SuppressWarnings("rawtypes")
+    private AdmissionGate createConcurrencyLimiter(String dataSourceName, String name) {
+      JsonObject json = config.getJsonObject(name + "ConcurrencyLimiter");
+      if (json == null) {
+        return null;
+      }
+      ConcurrencyLimiterOptions options = new ConcurrencyLimiterOptions(json);
+      GradientLimit limit = new GradientLimit(options);
+      VertxMetrics vertxMetrics = MongoClientImpl.this.vertx.metrics();
+      PoolMetrics metrics = vertxMetrics != null
+        ? vertxMetrics.createPoolMetrics("mongo-limiter", dataSourceName + ":" + name, options.getMaxLimit())
+        : null;
+      return new AdmissionGate(name, limit.initialLimit(), options.getMaxQueueSize(), limit, metrics);
+    }
+
+    List<ConcurrencyLimiterStats> concurrencyLimiterStats() {
+      List<ConcurrencyLimiterStats> stats = new ArrayList<>(2);
+      for (AdmissionGate gate : Arrays.asList(readGate, writeGate, lowPriorityGate())) {
+        if (gate != null) {
+          stats.add(new ConcurrencyLimiterStats(gate.name(), gate.limit(), gate.inFlight(), gate.queueSize(), gate.rejected()));
+        }
+      }
+      return stats;
     }
 
     synchronized com.mongodb.reactivestreams.client.MongoClient mongo(Vertx vertx) {
       if (mongo == null) {
-        MongoClientOptionsParser parser = new MongoClientOptionsParser(vertx, config);
-        mongo = MongoClients.create(parser.settings());
+        MongoClientOptionsParser parser = new MongoClientOptionsParser(vertx, config, poolMonitor, poolMonitor);
+        enableAffinity(parser.settings(), parser.database());
+        mongo = MongoClients.create(affinitySettings != null ? withPoolShare(parser.settings()) : parser.settings());
         db = mongo.getDatabase(parser.database());
+        typedCodecRegistry = MongoClientOptionsParser.typedCodecRegistry(db.getCodecRegistry());
+        createGates(vertx, parser.settings());
       }
       return mongo;
     }
@@ -1128,12 +1941,115 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     synchronized com.mongodb.reactivestreams.client.MongoClient mongo(Vertx vertx, MongoClientSettings settings) {
       if (mongo == null) {
         MongoClientOptionsParser parser = new MongoClientOptionsParser(vertx, config);
-        mongo = MongoClients.create(settings);
+        MongoClientSettings monitoredSettings = MongoClientSettings.builder(settings)
+          .applyToConnectionPoolSettings(builder -> builder.addConnectionPoolListener(poolMonitor))
+          .applyToServerSettings(builder -> builder.addServerMonitorListener(poolMonitor))
+          .build();
+        enableAffinity(monitoredSettings, parser.database());
+        mongo = MongoClients.create(affinitySettings != null ? withPoolShare(monitoredSettings) : monitoredSettings);
         db = mongo.getDatabase(parser.database());
+        typedCodecRegistry = MongoClientOptionsParser.typedCodecRegistry(db.getCodecRegistry());
+        createGates(vertx, settings);
       }
       return mongo;
     }
 
+    private void createGates(Vertx vertx, MongoClientSettings settings) {
+      ConnectionPoolSettings poolSettings = settings.getConnectionPoolSettings();
+      if (poolSettings.getMaxSize() > 0) {
+        // The remaining connections are reserved to the normal priority operations
+        double lowPriorityPoolShare = config.getDouble("lowPriorityPoolShare", 0.25);
+        lowPriorityGate = new AdmissionGate("lowPriority", (int) (poolSettings.getMaxSize() * lowPriorityPoolShare));
+      }
+      if (config.getBoolean("adaptivePoolSize", false)) {
+        poolLimiter = new AdaptivePoolLimiter(vertx, poolMonitor, poolSettings.getMinSize(), poolSettings.getMaxSize(),
+          config.getLong("adaptivePoolTargetWaitMS", 10L), config.getLong("adaptivePoolIntervalMS", 1000L));
+      }
+    }
+
+    private void enableAffinity(MongoClientSettings settings, String databaseName) {
+      if (config.getBoolean("eventLoopAffinity", false)) {
+        this.affinitySettings = settings;
+        this.databaseName = databaseName;
+      }
+    }
+
+    /**
+     * With event loop affinity, the pool of the data source is split between the driver clients of the event loops and
+     * the shared driver client, so that they open at most {@code maxPoolSize} connections together. Each driver client
+     * gets at least one connection though, the total is at least the number of event loops plus one.
+     */
+    private MongoClientSettings withPoolShare(MongoClientSettings settings) {
+      int clients = 1;
+      for (EventExecutor ignored : MongoClientImpl.this.vertx.nettyEventLoopGroup()) {
+        clients++;
+      }
+      ConnectionPoolSettings poolSettings = settings.getConnectionPoolSettings();
+      int maxSize = poolSettings.getMaxSize() > 0 ? Math.max(1, poolSettings.getMaxSize() / clients) : 0;
+      int minSize = Math.min((poolSettings.getMinSize() + clients - 1) / clients, maxSize > 0 ? maxSize : Integer.MAX_VALUE);
+      return MongoClientSettings.builder(settings)
+        .applyToConnectionPoolSettings(builder -> builder.maxSize(maxSize).minSize(minSize))
+        .build();
+    }
+
+    /**
+     * @return the database of the driver client bound to the event loop of {@code context} when event loop affinity is
+     * enabled and the caller runs on it, the shared database otherwise
+     */
+    MongoDatabase database(ContextInternal context) {
+      if (affinitySettings == null || context == null || !context.isEventLoopContext()) {
+        return db;
+      }
+      EventLoop loop = context.nettyEventLoop();
+      if (!loop.inEventLoop()) {
+        return db;
+      }
+      MongoDatabase loopDatabase = loopDatabases.get(loop);
+      if (loopDatabase == null) {
+        loopDatabase = createLoopDatabase(loop);
+      }
+      return loopDatabase;
+    }
+
+    private synchronized MongoDatabase createLoopDatabase(EventLoop loop) {
+      if (mongo == null) {
+        // Closed
+        return db;
+      }
+      MongoDatabase loopDatabase = loopDatabases.get(loop);
+      if (loopDatabase != null) {
+        return loopDatabase;
+      }
+      NettyTransportSettings.Builder transport = TransportSettings.nettyBuilder().eventLoopGroup(loop);
+      if (affinitySettings.getTransportSettings() instanceof NettyTransportSettings) {
+        NettyTransportSettings base = (NettyTransportSettings) affinitySettings.getTransportSettings();
+        if (base.getSocketChannelClass() != null) {
+          transport.socketChannelClass(base.getSocketChannelClass());
+        }
+        if (base.getAllocator() != null) {
+          transport.allocator(base.getAllocator());
+        }
+        if (base.getSslContext() != null) {
+          transport.sslContext(base.getSslContext());
+        }
+      }
+      com.mongodb.reactivestreams.client.MongoClient loopClient = MongoClients.create(MongoClientSettings.builder(withPoolShare(affinitySettings))
+        .transportSettings(transport.build())
+        .build());
+      loopClients.add(loopClient);
+      loopDatabase = loopClient.getDatabase(databaseName);
+      loopDatabases.put(loop, loopDatabase);
+      return loopDatabase;
+    }
+
+    synchronized AdmissionGate poolGate() {
+      return poolLimiter != null ? poolLimiter.gate() : null;
+    }
+
+    synchronized AdmissionGate lowPriorityGate() {
+      return lowPriorityGate;
+    }
+
     synchronized void incRefCount() {
       refCount++;
     }
@@ -1141,21 +2057,40 @@ public class MongoClientImpl implements io.vertx.ext.mongo.MongoClient, Closeabl
     void close() {
       java.io.Closeable client;
       Runnable callback;
+      AdaptivePoolLimiter limiter;
+      List<com.mongodb.reactivestreams.client.MongoClient> clients;
       synchronized (this) {
         if (--refCount > 0) {
           return;
         }
         client = mongo;
         mongo = null;
+        clients = new ArrayList<>(loopClients);
+        loopClients.clear();
+        loopDatabases.clear();
         callback = closeRunner;
         closeRunner = null;
+        limiter = poolLimiter;
+        poolLimiter = null;
+      }
+      gridFsClients.forEach(MongoGridFsClientImpl::close);
+      if (limiter != null) {
+        limiter.close();
+      }
+      if (readGate != null) {
+        readGate.close();
+      }
+      if (writeGate != null) {
+        writeGate.close();
       }
       if (callback != null) {
         callback.run();
       }
+      hub.close();
       if (client != null) {
         MongoClientImpl.this.vertx.executeBlocking(() -> {
           client.close();
+          clients.forEach(com.mongodb.reactivestreams.client.MongoClient::close);
           return null;
         });
       }
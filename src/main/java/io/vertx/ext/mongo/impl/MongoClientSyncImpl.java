@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.*;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Waits for the futures of a {@link MongoClient} with {@link io.vertx.core.Future#await()}.
+ */
+public class MongoClientSyncImpl implements MongoClientSync {
+
+  private final MongoClient client;
+
+  public MongoClientSyncImpl(MongoClient client) {
+    this.client = requireNonNull(client, "client cannot be null");
+  }
+
+  @Override
+  public MongoClient client() {
+    return client;
+  }
+
+  @Override
+  public String save(String collection, JsonObject document) {
+    return client.save(collection, document).await();
+  }
+
+  @Override
+  public String insert(String collection, JsonObject document) {
+    return client.insert(collection, document).await();
+  }
+
+  @Override
+  public MongoClientUpdateResult updateCollection(String collection, JsonObject query, JsonObject update) {
+    return client.updateCollection(collection, query, update).await();
+  }
+
+  @Override
+  public MongoClientUpdateResult updateCollectionWithOptions(String collection, JsonObject query, JsonObject update, UpdateOptions options) {
+    return client.updateCollectionWithOptions(collection, query, update, options).await();
+  }
+
+  @Override
+  public MongoClientUpdateResult replaceDocuments(String collection, JsonObject query, JsonObject replace) {
+    return client.replaceDocuments(collection, query, replace).await();
+  }
+
+  @Override
+  public MongoClientBulkWriteResult bulkWrite(String collection, List<BulkOperation> operations) {
+    return client.bulkWrite(collection, operations).await();
+  }
+
+  @Override
+  public List<JsonObject> find(String collection, JsonObject query) {
+    return client.find(collection, query).await();
+  }
+
+  @Override
+  public List<JsonObject> findWithOptions(String collection, JsonObject query, FindOptions options) {
+    return client.findWithOptions(collection, query, options).await();
+  }
+
+  @Override
+  public MongoCursor<JsonObject> findBatch(String collection, JsonObject query) {
+    return findBatchWithOptions(collection, query, new FindOptions());
+  }
+
+  @Override
+  public MongoCursor<JsonObject> findBatchWithOptions(String collection, JsonObject query, FindOptions options) {
+    return MongoCursor.create(client.findBatchWithOptions(collection, query, options), prefetch(options.getBatchSize()));
+  }
+
+  @Override
+  public JsonObject findOne(String collection, JsonObject query, JsonObject fields) {
+    return client.findOne(collection, query, fields).await();
+  }
+
+  @Override
+  public JsonObject findOneWithOptions(String collection, JsonObject query, FindOptions options) {
+    return client.findOneWithOptions(collection, query, options).await();
+  }
+
+  @Override
+  public JsonObject findOneAndUpdate(String collection, JsonObject query, JsonObject update) {
+    return client.findOneAndUpdate(collection, query, update).await();
+  }
+
+  @Override
+  public JsonObject findOneAndReplace(String collection, JsonObject query, JsonObject replace) {
+    return client.findOneAndReplace(collection, query, replace).await();
+  }
+
+  @Override
+  public JsonObject findOneAndDelete(String collection, JsonObject query) {
+    return client.findOneAndDelete(collection, query).await();
+  }
+
+  @Override
+  public long count(String collection, JsonObject query) {
+    return client.count(collection, query).await();
+  }
+
+  @Override
+  public long countWithOptions(String collection, JsonObject query, CountOptions countOptions) {
+    return client.countWithOptions(collection, query, countOptions).await();
+  }
+
+  @Override
+  public MongoClientDeleteResult removeDocuments(String collection, JsonObject query) {
+    return client.removeDocuments(collection, query).await();
+  }
+
+  @Override
+  public MongoClientDeleteResult removeDocument(String collection, JsonObject query) {
+    return client.removeDocument(collection, query).await();
+  }
+
+  @Override
+  public JsonArray distinct(String collection, String fieldName, String resultClassname) {
+    return client.distinct(collection, fieldName, resultClassname).await();
+  }
+
+  @Override
+  public MongoCursor<JsonObject> aggregate(String collection, JsonArray pipeline) {
+    return aggregateWithOptions(collection, pipeline, new AggregateOptions());
+  }
+
+  @Override
+  public MongoCursor<JsonObject> aggregateWithOptions(String collection, JsonArray pipeline, AggregateOptions options) {
+    return MongoCursor.create(client.aggregateWithOptions(collection, pipeline, options), prefetch(options.getBatchSize()));
+  }
+
+  @Override
+  public JsonObject runCommand(String commandName, JsonObject command) {
+    return client.runCommand(commandName, command).await();
+  }
+
+  @Override
+  public void close() {
+    client.close().await();
+  }
+
+  /**
+   * One batch is consumed by the reader while the next one is requested from the server.
+   */
+  private static int prefetch(int batchSize) {
+    return 2 * Math.max(batchSize, 1);
+  }
+}
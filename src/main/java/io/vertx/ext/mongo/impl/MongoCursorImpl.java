@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.Promise;
+import io.vertx.core.VertxException;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.mongo.MongoCursor;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a {@link ReadStream} with an explicit demand of at most {@code prefetch} items, and parks the reader on a
+ * future when the buffer is empty. The demand is topped up once half of it is consumed, so that the stream keeps
+ * requesting the next batch while the reader consumes the current one.
+ */
+public class MongoCursorImpl<T> implements MongoCursor<T> {
+
+  private final ReadStream<T> stream;
+  private final int prefetch;
+  private final ArrayDeque<T> buffer = new ArrayDeque<>();
+  private int requested;
+  private boolean ended;
+  private boolean closed;
+  private Throwable failure;
+  private Promise<Void> waiter;
+
+  public MongoCursorImpl(ReadStream<T> stream, int prefetch) {
+    if (prefetch < 1) {
+      throw new IllegalArgumentException("prefetch must be > 0");
+    }
+    this.stream = stream;
+    this.prefetch = prefetch;
+    stream.pause();
+    stream.exceptionHandler(this::handleFailure);
+    stream.endHandler(v -> handleEnd());
+    stream.handler(this::handleItem);
+    requested = prefetch;
+    stream.fetch(prefetch);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (true) {
+      Promise<Void> promise;
+      synchronized (this) {
+        if (!buffer.isEmpty()) {
+          return true;
+        }
+        if (failure != null) {
+          throw failure instanceof RuntimeException ? (RuntimeException) failure : new VertxException(failure);
+        }
+        if (ended || closed) {
+          return false;
+        }
+        promise = Promise.promise();
+        waiter = promise;
+      }
+      promise.future().await();
+    }
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    T item;
+    int amount = 0;
+    synchronized (this) {
+      item = buffer.poll();
+      requested--;
+      if (requested <= prefetch / 2 && !ended && !closed) {
+        amount = prefetch - requested;
+        requested = prefetch;
+      }
+    }
+    if (amount > 0) {
+      stream.fetch(amount);
+    }
+    return item;
+  }
+
+  @Override
+  public void close() {
+    Promise<Void> promise;
+    boolean cancel;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      buffer.clear();
+      cancel = !ended;
+      promise = waiter;
+      waiter = null;
+    }
+    if (cancel) {
+      // Cancels the subscription, which kills the server cursor
+      stream.handler(null);
+    }
+    if (promise != null) {
+      promise.tryComplete();
+    }
+  }
+
+  private void handleItem(T item) {
+    Promise<Void> promise;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      buffer.add(item);
+      promise = waiter;
+      waiter = null;
+    }
+    if (promise != null) {
+      promise.tryComplete();
+    }
+  }
+
+  private void handleEnd() {
+    Promise<Void> promise;
+    synchronized (this) {
+      ended = true;
+      promise = waiter;
+      waiter = null;
+    }
+    if (promise != null) {
+      promise.tryComplete();
+    }
+  }
+
+  private void handleFailure(Throwable t) {
+    Promise<Void> promise;
+    synchronized (this) {
+      failure = t;
+      ended = true;
+      promise = waiter;
+      waiter = null;
+    }
+    if (promise != null) {
+      promise.tryComplete();
+    }
+  }
+}
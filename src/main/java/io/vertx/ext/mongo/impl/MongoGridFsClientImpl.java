@@ -1,32 +1,62 @@
 package io.vertx.ext.mongo.impl;
 
-import com.mongodb.client.gridfs.model.GridFSDownloadOptions;
+import com.mongodb.MongoGridFSException;
 import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
 import com.mongodb.reactivestreams.client.gridfs.GridFSBucket;
-import com.mongodb.reactivestreams.client.gridfs.GridFSDownloadPublisher;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.core.file.OpenOptions;
+import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.streams.ReadStream;
 import io.vertx.core.streams.WriteStream;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.GridFsBucketOptions;
+import io.vertx.ext.mongo.GridFsCompression;
 import io.vertx.ext.mongo.GridFsDownloadOptions;
 import io.vertx.ext.mongo.GridFsUploadOptions;
 import io.vertx.ext.mongo.MongoGridFsClient;
+import org.bson.BsonArray;
+import org.bson.BsonDateTime;
 import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.codecs.Codec;
 import org.bson.codecs.DecoderContext;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
+import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static io.netty.buffer.Unpooled.copiedBuffer;
 import static java.util.Objects.requireNonNull;
@@ -39,38 +69,236 @@ import static java.util.Objects.requireNonNull;
  */
 public class MongoGridFsClientImpl implements MongoGridFsClient {
 
+  private static final String CONTENT_HASH_FIELD = "contentHash";
+  private static final String CONTENT_ID_FIELD = "contentId";
+  private static final String COMPRESSION_FIELD = "compression";
+  private static final int DELETE_BATCH_SIZE = 1000;
+
+  private static final Logger log = LoggerFactory.getLogger(MongoGridFsClientImpl.class);
+
+  private static final Subscription EMPTY_SUBSCRIPTION = new Subscription() {
+    @Override
+    public void request(long n) {
+    }
+
+    @Override
+    public void cancel() {
+    }
+  };
+
   private final GridFSBucket bucket;
+  private final MongoCollection<BsonDocument> files;
+  private final MongoCollection<BsonDocument> chunks;
+  private final MongoCollection<BsonDocument> contents;
   private final MongoClientImpl clientImpl;
   private final VertxInternal vertx;
   private final CodecRegistry codecRegistry;
-
-  public MongoGridFsClientImpl(VertxInternal vertx, MongoClientImpl mongoClient, GridFSBucket gridFSBucket, CodecRegistry codecRegistry) {
+  private final GridFsMetadataCache metadataCache;
+  private final boolean deduplication;
+  private Future<Void> indexes;
+  private final String expiryField;
+  private final long expirySweepInterval;
+  private final int expiryRateLimit;
+  private long expiryTimerId = -1;
+  private boolean closed;
+
+  public MongoGridFsClientImpl(VertxInternal vertx, MongoClientImpl mongoClient, GridFSBucket gridFSBucket, MongoDatabase database, GridFsBucketOptions options) {
     this.vertx = vertx;
     this.clientImpl = mongoClient;
     this.bucket = gridFSBucket;
-    this.codecRegistry = codecRegistry;
+    this.files = database.getCollection(gridFSBucket.getBucketName() + ".files", BsonDocument.class);
+    this.chunks = database.getCollection(gridFSBucket.getBucketName() + ".chunks", BsonDocument.class);
+    this.contents = database.getCollection(gridFSBucket.getBucketName() + ".contents", BsonDocument.class);
+    this.codecRegistry = database.getCodecRegistry();
+    this.metadataCache = options.getMetadataCacheTtl() > 0
+      ? new GridFsMetadataCache(options.getMetadataCacheTtl(), options.getMetadataCacheMaxSize())
+      : null;
+    this.deduplication = options.isDeduplication();
+    this.expiryField = options.getExpiryField();
+    this.expirySweepInterval = options.getExpirySweepInterval();
+    this.expiryRateLimit = options.getExpiryRateLimit();
+    if (expiryField != null) {
+      scheduleExpirySweep(expirySweepInterval);
+    }
   }
 
   @Override
   public Future<String> uploadByFileName(ReadStream<Buffer> stream, String fileName) {
-    GridFSReadStreamPublisher publisher = new GridFSReadStreamPublisher(stream);
-    Promise<ObjectId> promise = vertx.promise();
-    bucket.uploadFromPublisher(fileName, publisher).subscribe(new SingleResultSubscriber<>(promise));
-    return promise.future().map(ObjectId::toHexString);
+    return uploaded(fileName, doUpload(stream, fileName, null));
   }
 
   @Override
   public Future<String> uploadByFileNameWithOptions(ReadStream<Buffer> stream, String fileName, GridFsUploadOptions options) {
-    GridFSUploadOptions uploadOptions = new GridFSUploadOptions();
-    uploadOptions.chunkSizeBytes(options.getChunkSizeBytes());
-    if (options.getMetadata() != null) {
-      uploadOptions.metadata(wrap(options.getMetadata()));
-    }
+    return uploaded(fileName, doUpload(stream, fileName, options));
+  }
 
-    GridFSReadStreamPublisher publisher = new GridFSReadStreamPublisher(stream);
+  private Future<ObjectId> doUpload(ReadStream<Buffer> stream, String fileName, GridFsUploadOptions options) {
+    MessageDigest digest = deduplication ? sha256() : null;
+    if (options != null && options.getCompression() != null) {
+      return uploadCompressed(stream, fileName, options, digest);
+    }
+    GridFSReadStreamPublisher publisher = new GridFSReadStreamPublisher(stream, digest);
     Promise<ObjectId> promise = vertx.promise();
-    bucket.uploadFromPublisher(fileName, publisher, uploadOptions).subscribe(new SingleResultSubscriber<>(promise));
-    return promise.future().map(ObjectId::toHexString);
+    if (options == null) {
+      bucket.uploadFromPublisher(fileName, publisher).subscribe(new SingleResultSubscriber<>(promise));
+    } else {
+      GridFSUploadOptions uploadOptions = new GridFSUploadOptions();
+      uploadOptions.chunkSizeBytes(options.getChunkSizeBytes());
+      if (options.getMetadata() != null) {
+        uploadOptions.metadata(wrap(options.getMetadata()));
+      }
+      bucket.uploadFromPublisher(fileName, publisher, uploadOptions).subscribe(new SingleResultSubscriber<>(promise));
+    }
+    if (digest == null) {
+      return promise.future();
+    }
+    int chunkSize = options != null && options.getChunkSizeBytes() != null ? options.getChunkSizeBytes() : bucket.getChunkSizeBytes();
+    return promise.future().compose(id -> deduplicate(id, toHex(digest.digest()), publisher.length(), chunkSize, null));
+  }
+
+  /**
+   * Uploads a file with compressed chunks. The driver only writes chunks as is, so the chunks and the files entry
+   * are written here, following the GridFS layout with an additional {@code compression} field on the files entry.
+   */
+  private Future<ObjectId> uploadCompressed(ReadStream<Buffer> stream, String fileName, GridFsUploadOptions options, MessageDigest digest) {
+    ObjectId id = new ObjectId();
+    BsonObjectId fileId = new BsonObjectId(id);
+    int chunkSize = options.getChunkSizeBytes() != null ? options.getChunkSizeBytes() : bucket.getChunkSizeBytes();
+    GridFsCompression compression = options.getCompression();
+    GridFsChunkWriteStream chunkStream = new GridFsChunkWriteStream(vertx.getOrCreateContext(), chunks, fileId, chunkSize, compression, digest);
+    Future<ObjectId> future = ensureIndexes()
+      .compose(v -> stream.pipeTo(chunkStream))
+      .compose(v -> {
+        BsonDocument file = new BsonDocument("_id", fileId)
+          .append("length", new BsonInt64(chunkStream.length()))
+          .append("chunkSize", new BsonInt32(chunkSize))
+          .append("uploadDate", new BsonDateTime(System.currentTimeMillis()))
+          .append("filename", new BsonString(fileName));
+        if (options.getMetadata() != null) {
+          file.append("metadata", new JsonObjectBsonAdapter(options.getMetadata()).toBsonDocument(BsonDocument.class, codecRegistry));
+        }
+        file.append(COMPRESSION_FIELD, new BsonString(compression.name()));
+        Promise<Void> promise = vertx.promise();
+        files.insertOne(file).subscribe(new CompletionSubscriber<>(promise));
+        return promise.future();
+      })
+      .recover(err -> deleteChunks(fileId).transform(ar -> Future.failedFuture(err)))
+      .map(id);
+    if (digest == null) {
+      return future;
+    }
+    return future.compose(v -> deduplicate(id, toHex(digest.digest()), chunkStream.length(), chunkSize, compression));
+  }
+
+  /**
+   * Creates the indexes the driver creates before the first upload to a bucket, once per client.
+   */
+  private synchronized Future<Void> ensureIndexes() {
+    if (indexes == null) {
+      Promise<String> filesIndex = vertx.promise();
+      files.createIndex(new BsonDocument("filename", new BsonInt32(1)).append("uploadDate", new BsonInt32(1)))
+        .subscribe(new SingleResultSubscriber<>(filesIndex));
+      Promise<String> chunksIndex = vertx.promise();
+      chunks.createIndex(new BsonDocument("files_id", new BsonInt32(1)).append("n", new BsonInt32(1)), new IndexOptions().unique(true))
+        .subscribe(new SingleResultSubscriber<>(chunksIndex));
+      Future<Void> future = Future.all(filesIndex.future(), chunksIndex.future()).mapEmpty();
+      indexes = future;
+      future.onFailure(err -> {
+        synchronized (this) {
+          // Try again with the next upload
+          indexes = null;
+        }
+      });
+    }
+    return indexes;
+  }
+
+  private Future<String> uploaded(String fileName, Future<ObjectId> future) {
+    if (metadataCache != null) {
+      // A new revision shifts the revision numbers of the existing files with the same name
+      future = future.onComplete(ar -> metadataCache.invalidateFileName(fileName));
+    }
+    return future.map(ObjectId::toHexString);
+  }
+
+  /**
+   * Registers the content of a freshly uploaded file. When the same content is already stored, the file entry is
+   * pointed to the existing chunks and the chunks just written are removed.
+   */
+  private Future<ObjectId> deduplicate(ObjectId id, String hash, long length, int chunkSize, GridFsCompression compression) {
+    BsonObjectId fileId = new BsonObjectId(id);
+    BsonDocument content = new BsonDocument("filesId", fileId)
+      .append("length", new BsonInt64(length))
+      .append("chunkSize", new BsonInt32(chunkSize));
+    if (compression != null) {
+      content.append(COMPRESSION_FIELD, new BsonString(compression.name()));
+    }
+    BsonDocument update = new BsonDocument("$inc", new BsonDocument("refCount", new BsonInt64(1)))
+      .append("$setOnInsert", content);
+    FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER);
+    Promise<BsonDocument> promise = vertx.promise();
+    contents.findOneAndUpdate(new BsonDocument("_id", new BsonString(hash)), update, options)
+      .subscribe(new SingleResultSubscriber<>(promise));
+    return promise.future().compose(content -> {
+      BsonValue contentId = content.get("filesId");
+      Future<Void> future = setContent(fileId, hash, content);
+      if (!contentId.equals(fileId)) {
+        // Only drop the duplicate chunks once the file entry references the existing ones
+        future = future.compose(v -> deleteChunks(fileId));
+      }
+      return future.map(id);
+    });
+  }
+
+  private Future<Void> setContent(BsonValue fileId, String hash, BsonDocument content) {
+    BsonDocument set = new BsonDocument(CONTENT_HASH_FIELD, new BsonString(hash))
+      .append(CONTENT_ID_FIELD, content.get("filesId"));
+    BsonDocument update = new BsonDocument("$set", set);
+    // The file is read from the shared chunks, which may have been stored with another compression
+    if (content.containsKey(COMPRESSION_FIELD)) {
+      set.append(COMPRESSION_FIELD, content.get(COMPRESSION_FIELD));
+    } else {
+      update.append("$unset", new BsonDocument(COMPRESSION_FIELD, new BsonString("")));
+    }
+    Promise<Void> promise = vertx.promise();
+    files.updateOne(new BsonDocument("_id", fileId), update).subscribe(new CompletionSubscriber<>(promise));
+    return promise.future();
+  }
+
+  /**
+   * Stores a new file entry referencing already stored content, without uploading any chunk.
+   *
+   * @return the id of the new file, or {@code null} when the content is not stored yet
+   */
+  private Future<ObjectId> uploadDuplicate(String fileName, GridFsUploadOptions options, String hash) {
+    BsonDocument update = new BsonDocument("$inc", new BsonDocument("refCount", new BsonInt64(1)));
+    FindOneAndUpdateOptions updateOptions = new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER);
+    Promise<BsonDocument> promise = vertx.promise();
+    contents.findOneAndUpdate(new BsonDocument("_id", new BsonString(hash)), update, updateOptions)
+      .subscribe(new SingleResultSubscriber<>(promise));
+    return promise.future().compose(content -> {
+      if (content == null) {
+        return Future.succeededFuture();
+      }
+      ObjectId id = new ObjectId();
+      BsonDocument file = new BsonDocument("_id", new BsonObjectId(id))
+        .append("length", content.get("length"))
+        .append("chunkSize", content.get("chunkSize"))
+        .append("uploadDate", new BsonDateTime(System.currentTimeMillis()))
+        .append("filename", new BsonString(fileName));
+      if (options != null && options.getMetadata() != null) {
+        file.append("metadata", new JsonObjectBsonAdapter(options.getMetadata()).toBsonDocument(BsonDocument.class, codecRegistry));
+      }
+      file.append(CONTENT_HASH_FIELD, new BsonString(hash)).append(CONTENT_ID_FIELD, content.get("filesId"));
+      if (content.containsKey(COMPRESSION_FIELD)) {
+        file.append(COMPRESSION_FIELD, content.get(COMPRESSION_FIELD));
+      }
+      Promise<Void> inserted = vertx.promise();
+      files.insertOne(file).subscribe(new CompletionSubscriber<>(inserted));
+      return inserted.future()
+        .recover(err -> release(hash).transform(ar -> Future.failedFuture(err)))
+        .map(id);
+    });
   }
 
   private Document wrap(JsonObject json) {
@@ -89,28 +317,64 @@ public class MongoGridFsClientImpl implements MongoGridFsClient {
   public Future<String> uploadFileWithOptions(String fileName, GridFsUploadOptions options) {
     requireNonNull(fileName, "fileName cannot be null");
 
+    Future<ObjectId> future;
+    if (deduplication) {
+      // Hash the local file first, so that known content is not uploaded at all
+      future = vertx.<String>executeBlocking(() -> hashFile(fileName))
+        .compose(hash -> uploadDuplicate(fileName, options, hash))
+        .compose(id -> {
+          if (id != null) {
+            return Future.succeededFuture(id);
+          }
+          return openAndUpload(fileName, options);
+        });
+    } else {
+      future = openAndUpload(fileName, options);
+    }
+    return uploaded(fileName, future);
+  }
+
+  private Future<ObjectId> openAndUpload(String fileName, GridFsUploadOptions options) {
     OpenOptions openOptions = new OpenOptions().setRead(true);
 
     return vertx.fileSystem().open(fileName, openOptions)
-      .flatMap(file -> {
-        GridFSReadStreamPublisher publisher = new GridFSReadStreamPublisher(file);
-        Promise<ObjectId> promise = vertx.promise();
-        if (options == null) {
-          bucket.uploadFromPublisher(fileName, publisher).subscribe(new SingleResultSubscriber<>(promise));
-        } else {
-          GridFSUploadOptions uploadOptions = new GridFSUploadOptions();
-          uploadOptions.chunkSizeBytes(options.getChunkSizeBytes());
-          if (options.getMetadata() != null) {
-            uploadOptions.metadata(wrap(options.getMetadata()));
-          }
-          bucket.uploadFromPublisher(fileName, publisher, uploadOptions).subscribe(new SingleResultSubscriber<>(promise));
-        }
-        return promise.future().map(ObjectId::toHexString);
-      });
+      .flatMap(file -> doUpload(file, fileName, options));
   }
 
   @Override
   public void close() {
+    synchronized (this) {
+      closed = true;
+      if (expiryTimerId != -1) {
+        vertx.cancelTimer(expiryTimerId);
+        expiryTimerId = -1;
+      }
+    }
+    clientImpl.removeGridFsClient(this);
+  }
+
+  private synchronized void scheduleExpirySweep(long delay) {
+    if (!closed) {
+      expiryTimerId = vertx.setTimer(delay, id -> sweepExpired());
+    }
+  }
+
+  /**
+   * Deletes expired files, at most {@code expiryRateLimit} per second, then waits for the next sweep.
+   */
+  private void sweepExpired() {
+    BsonDocument filter = new BsonDocument(expiryField, new BsonDocument("$lte", new BsonDateTime(System.currentTimeMillis())));
+    deleteBatch(filter, expiryRateLimit).onComplete(ar -> {
+      if (ar.failed()) {
+        log.warn("Failed to delete expired files from bucket " + bucket.getBucketName(), ar.cause());
+        scheduleExpirySweep(expirySweepInterval);
+      } else if (ar.result() == expiryRateLimit) {
+        // More expired files may be left, continue once the rate allows it
+        scheduleExpirySweep(1000);
+      } else {
+        scheduleExpirySweep(expirySweepInterval);
+      }
+    });
   }
 
   @Override
@@ -118,49 +382,241 @@ public class MongoGridFsClientImpl implements MongoGridFsClient {
     requireNonNull(id, "id cannot be null");
 
     ObjectId objectId = new ObjectId(id);
+    // The file may have been uploaded by a deduplicating client, even when this one is not
+    Future<Void> future = findFileById(objectId).compose(this::deleteFile);
+    if (metadataCache != null) {
+      return future.onComplete(ar -> metadataCache.invalidateId(new BsonObjectId(objectId)));
+    }
+    return future;
+  }
+
+  private Future<Void> deleteFile(BsonDocument file) {
+    BsonValue fileId = file.get("_id");
+    if (!file.containsKey(CONTENT_HASH_FIELD)) {
+      // Not uploaded in deduplication mode, the file owns its chunks
+      Promise<Void> promise = vertx.promise();
+      bucket.delete(fileId).subscribe(new CompletionSubscriber<>(promise));
+      return promise.future();
+    }
+    Promise<Void> promise = vertx.promise();
+    files.deleteOne(new BsonDocument("_id", fileId)).subscribe(new CompletionSubscriber<>(promise));
+    return promise.future().compose(v -> release(file.getString(CONTENT_HASH_FIELD).getValue()));
+  }
+
+  @Override
+  public Future<Long> deleteMany(JsonObject query) {
+    requireNonNull(query, "query cannot be null");
+
+    Bson filter = clientImpl.wrap(clientImpl.encodeKeyWhenUseObjectId(query));
+    return deleteMany(filter, 0L);
+  }
+
+  private Future<Long> deleteMany(Bson filter, long deleted) {
+    return deleteBatch(filter, DELETE_BATCH_SIZE).compose(count -> {
+      if (count < DELETE_BATCH_SIZE) {
+        return Future.succeededFuture(deleted + count);
+      }
+      return deleteMany(filter, deleted + count);
+    });
+  }
+
+  /**
+   * Deletes up to {@code limit} files matching the filter, the chunks they own with a single {@code $in} delete
+   * and their references to deduplicated content.
+   *
+   * @return the number of files found and deleted
+   */
+  private Future<Integer> deleteBatch(Bson filter, int limit) {
+    Promise<List<BsonDocument>> promise = vertx.promise();
+    files.find(filter)
+      .projection(new BsonDocument("_id", new BsonInt32(1)).append(CONTENT_HASH_FIELD, new BsonInt32(1)))
+      .limit(limit)
+      .subscribe(new BufferingSubscriber<>(promise));
+    return promise.future().compose(batch -> {
+      if (batch.isEmpty()) {
+        return Future.succeededFuture(0);
+      }
+      BsonArray ids = new BsonArray();
+      BsonArray owned = new BsonArray();
+      Map<String, Integer> released = new HashMap<>();
+      for (BsonDocument file : batch) {
+        BsonValue id = file.get("_id");
+        ids.add(id);
+        if (file.containsKey(CONTENT_HASH_FIELD)) {
+          released.merge(file.getString(CONTENT_HASH_FIELD).getValue(), 1, Integer::sum);
+        } else {
+          owned.add(id);
+        }
+      }
+      // Same order as the driver: the files entries first, so that no reader sees a file with missing chunks
+      Promise<Void> deleted = vertx.promise();
+      files.deleteMany(new BsonDocument("_id", new BsonDocument("$in", ids))).subscribe(new CompletionSubscriber<>(deleted));
+      return deleted.future().compose(v -> {
+        if (metadataCache != null) {
+          metadataCache.clear();
+        }
+        List<Future<Void>> futures = new ArrayList<>();
+        if (!owned.isEmpty()) {
+          Promise<Void> chunksDeleted = vertx.promise();
+          chunks.deleteMany(new BsonDocument("files_id", new BsonDocument("$in", owned))).subscribe(new CompletionSubscriber<>(chunksDeleted));
+          futures.add(chunksDeleted.future());
+        }
+        released.forEach((hash, count) -> futures.add(release(hash, count)));
+        return Future.all(futures).map(batch.size());
+      });
+    });
+  }
+
+  private Future<Void> release(String hash) {
+    return release(hash, 1);
+  }
+
+  /**
+   * Releases references to a content, removing its chunks when no file references it anymore.
+   */
+  private Future<Void> release(String hash, int count) {
+    BsonDocument filter = new BsonDocument("_id", new BsonString(hash));
+    BsonDocument update = new BsonDocument("$inc", new BsonDocument("refCount", new BsonInt64(-count)));
+    FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER);
+    Promise<BsonDocument> promise = vertx.promise();
+    contents.findOneAndUpdate(filter, update, options).subscribe(new SingleResultSubscriber<>(promise));
+    return promise.future().compose(content -> {
+      if (content == null || content.getNumber("refCount").longValue() > 0) {
+        return Future.succeededFuture();
+      }
+      // Only remove the chunks if no upload referenced the content in the meantime
+      BsonDocument unreferenced = filter.clone().append("refCount", new BsonDocument("$lte", new BsonInt64(0)));
+      Promise<DeleteResult> deleted = vertx.promise();
+      contents.deleteOne(unreferenced).subscribe(new SingleResultSubscriber<>(deleted));
+      return deleted.future().compose(result -> {
+        if (result.getDeletedCount() == 0) {
+          return Future.succeededFuture();
+        }
+        return deleteChunks(content.get("filesId"));
+      });
+    });
+  }
+
+  private Future<Void> deleteChunks(BsonValue filesId) {
     Promise<Void> promise = vertx.promise();
-    bucket.delete(objectId).subscribe(new CompletionSubscriber<>(promise));
+    chunks.deleteMany(new BsonDocument("files_id", filesId)).subscribe(new CompletionSubscriber<>(promise));
     return promise.future();
   }
 
   @Override
   public ReadStream<Buffer> readByFileName(String fileName) {
-    GridFSDownloadPublisher publisher = bucket.downloadToPublisher(fileName);
-    return handleRead(publisher);
+    return readByFileNameWithOptions(fileName, null);
   }
 
   @Override
   public ReadStream<Buffer> readByFileNameWithOptions(String fileName, GridFsDownloadOptions options) {
-    GridFSDownloadOptions downloadOptions = new GridFSDownloadOptions();
-    GridFSDownloadPublisher publisher = bucket.downloadToPublisher(fileName, downloadOptions);
-    return handleRead(publisher);
+    int revision = revision(options);
+    return handleRead(chunksOf(() -> findFile(fileName, revision)));
   }
 
   @Override
   public ReadStream<Buffer> readById(String id) {
     ObjectId objectId = new ObjectId(id);
-    GridFSDownloadPublisher publisher = bucket.downloadToPublisher(objectId);
-    return handleRead(publisher);
+    return handleRead(chunksOf(() -> findFileById(objectId)));
   }
 
   @Override
   public Future<Long> downloadByFileName(WriteStream<Buffer> stream, String fileName) {
-    GridFSDownloadPublisher publisher = bucket.downloadToPublisher(fileName);
-    return handleDownload(publisher, stream);
+    return downloadByFileNameWithOptions(stream, fileName, null);
   }
 
   @Override
   public Future<Long> downloadByFileNameWithOptions(WriteStream<Buffer> stream, String fileName, GridFsDownloadOptions options) {
-    GridFSDownloadOptions downloadOptions = new GridFSDownloadOptions();
-    GridFSDownloadPublisher publisher = bucket.downloadToPublisher(fileName, downloadOptions);
-    return handleDownload(publisher, stream);
+    int revision = revision(options);
+    return handleDownload(chunksOf(() -> findFile(fileName, revision)), stream);
+  }
+
+  private static int revision(GridFsDownloadOptions options) {
+    Integer revision = options == null ? null : options.getRevision();
+    return revision == null ? GridFsDownloadOptions.DEFAULT_REVISION : revision;
+  }
+
+  /**
+   * Resolves the files entry of the given revision, from the metadata cache when possible.
+   */
+  private Future<BsonDocument> findFile(String fileName, int revision) {
+    if (metadataCache != null) {
+      BsonDocument cached = metadataCache.get(fileName, revision);
+      if (cached != null) {
+        return vertx.getOrCreateContext().succeededFuture(cached);
+      }
+    }
+    // Same revision semantics as the driver: 0 is the original, -1 the most recent
+    int sort;
+    int skip;
+    if (revision >= 0) {
+      sort = 1;
+      skip = revision;
+    } else {
+      sort = -1;
+      skip = -revision - 1;
+    }
+    Promise<BsonDocument> promise = vertx.promise();
+    files.find(new BsonDocument("filename", new BsonString(fileName)))
+      .sort(new BsonDocument("uploadDate", new BsonInt32(sort)))
+      .skip(skip)
+      .limit(1)
+      .first()
+      .subscribe(new SingleResultSubscriber<>(promise));
+    return promise.future().compose(file -> {
+      if (file == null) {
+        return Future.failedFuture(new MongoGridFSException("No file found with the filename: " + fileName + " and revision: " + revision));
+      }
+      if (metadataCache != null) {
+        metadataCache.put(fileName, revision, file);
+      }
+      return Future.succeededFuture(file);
+    });
+  }
+
+  private Future<BsonDocument> findFileById(ObjectId id) {
+    Promise<BsonDocument> promise = vertx.promise();
+    files.find(new BsonDocument("_id", new BsonObjectId(id))).first().subscribe(new SingleResultSubscriber<>(promise));
+    return promise.future().compose(file -> {
+      if (file == null) {
+        return Future.failedFuture(new MongoGridFSException("No file found with the ObjectId: " + id));
+      }
+      return Future.succeededFuture(file);
+    });
+  }
+
+  /**
+   * Streams the content of a file directly from the chunks collection, once its files entry is resolved. Reading
+   * the chunks here rather than through the driver lets cached entries skip the files lookup, deduplicated files
+   * read shared chunks and compressed chunks be decompressed. Whether a file is compressed is only known from its
+   * files entry, so plain files are read the same way, with the same checks as the driver.
+   */
+  private Publisher<ByteBuffer> chunksOf(Supplier<Future<BsonDocument>> file) {
+    ContextInternal context = vertx.getOrCreateContext();
+    return subscriber -> file.get().onComplete(ar -> {
+      if (ar.succeeded()) {
+        BsonDocument entry = ar.result();
+        // Deduplicated files reference the chunks of the first file uploaded with the same content
+        BsonValue filesId = entry.get(CONTENT_ID_FIELD, entry.get("_id"));
+        GridFsCompression compression = entry.containsKey(COMPRESSION_FIELD)
+          ? GridFsCompression.valueOf(entry.getString(COMPRESSION_FIELD).getValue())
+          : null;
+        long length = entry.getNumber("length").longValue();
+        int chunkSize = entry.getNumber("chunkSize").intValue();
+        chunks.find(new BsonDocument("files_id", filesId))
+          .sort(new BsonDocument("n", new BsonInt32(1)))
+          .subscribe(new ChunkSubscriber(context, subscriber, filesId, compression, length, chunkSize));
+      } else {
+        subscriber.onSubscribe(EMPTY_SUBSCRIPTION);
+        subscriber.onError(ar.cause());
+      }
+    });
   }
 
   @Override
   public Future<Long> downloadById(WriteStream<Buffer> stream, String id) {
     ObjectId objectId = new ObjectId(id);
-    GridFSDownloadPublisher publisher = bucket.downloadToPublisher(objectId);
-    return handleDownload(publisher, stream);
+    return handleDownload(chunksOf(() -> findFileById(objectId)), stream);
   }
 
   @Override
@@ -178,10 +634,7 @@ public class MongoGridFsClientImpl implements MongoGridFsClient {
     OpenOptions options = new OpenOptions().setWrite(true);
 
     return vertx.fileSystem().open(newFileName, options)
-      .flatMap(file -> {
-        GridFSDownloadPublisher publisher = bucket.downloadToPublisher(fileName);
-        return handleDownload(publisher, file);
-      });
+      .flatMap(file -> downloadByFileName(file, fileName));
   }
   @Override
   public Future<Long> downloadFileByID(String id, String fileName) {
@@ -190,18 +643,23 @@ public class MongoGridFsClientImpl implements MongoGridFsClient {
     OpenOptions options = new OpenOptions().setWrite(true);
 
     return vertx.fileSystem().open(fileName, options)
-      .flatMap(file -> {
-        ObjectId objectId = new ObjectId(id);
-        GridFSDownloadPublisher publisher = bucket.downloadToPublisher(objectId);
-        return handleDownload(publisher, file);
-      });
+      .flatMap(file -> downloadById(file, id));
   }
 
   @Override
   public Future<Void> drop() {
     Promise<Void> promise = vertx.promise();
     bucket.drop().subscribe(new CompletionSubscriber<>(promise));
-    return promise.future();
+    // The contents collection may have been populated by a deduplicating client, even when this one is not
+    Future<Void> future = promise.future().compose(v -> {
+      Promise<Void> dropped = vertx.promise();
+      contents.drop().subscribe(new CompletionSubscriber<>(dropped));
+      return dropped.future();
+    });
+    if (metadataCache != null) {
+      return future.onComplete(ar -> metadataCache.clear());
+    }
+    return future;
   }
 
   @Override
@@ -223,19 +681,61 @@ public class MongoGridFsClientImpl implements MongoGridFsClient {
     return promise.future();
   }
 
-  private Future<Long> handleDownload(GridFSDownloadPublisher publisher, WriteStream<Buffer> stream) {
+  @Override
+  public ReadStream<JsonObject> findFiles(JsonObject query) {
+    return findFilesWithOptions(query, new FindOptions());
+  }
+
+  @Override
+  public ReadStream<JsonObject> findFilesWithOptions(JsonObject query, FindOptions options) {
+    requireNonNull(query, "query cannot be null");
+    requireNonNull(options, "options cannot be null");
+
+    return clientImpl.findBatchWithOptions(bucket.getBucketName() + ".files", query, options);
+  }
+
+  private Future<Long> handleDownload(Publisher<ByteBuffer> publisher, WriteStream<Buffer> stream) {
     ReadStream<ByteBuffer> adapter = new PublisherAdapter<>(vertx.getOrCreateContext(), publisher, 16);
     MapAndCountBuffer mapper = new MapAndCountBuffer();
     MappingStream<ByteBuffer, Buffer> rs = new MappingStream<>(adapter, mapper);
     return rs.pipeTo(stream).map(v -> mapper.count);
   }
 
-  private ReadStream<Buffer> handleRead(GridFSDownloadPublisher publisher) {
+  private ReadStream<Buffer> handleRead(Publisher<ByteBuffer> publisher) {
     ReadStream<ByteBuffer> adapter = new PublisherAdapter<>(vertx.getOrCreateContext(), publisher, 16);
     MapBuffer mapper = new MapBuffer();
     return new MappingStream<>(adapter, mapper);
   }
 
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String hashFile(String fileName) throws Exception {
+    MessageDigest digest = sha256();
+    byte[] buffer = new byte[8192];
+    try (InputStream in = Files.newInputStream(Paths.get(fileName))) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return toHex(digest.digest());
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder sb = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+
   private static class MapAndCountBuffer implements Function<ByteBuffer, Buffer> {
     private long count = 0;
 
@@ -253,4 +753,128 @@ public class MongoGridFsClientImpl implements MongoGridFsClient {
       return BufferInternal.buffer(copiedBuffer(bb));
     }
   }
+
+  /**
+   * Maps the chunk documents of a file to their data, in order, checking that no chunk is missing and that each chunk
+   * has the index and the size expected from the files entry. Compressed chunks are decompressed on a worker, the decompressions are chained so that the
+   * chunks are still emitted in order and the terminal signal after the last one.
+   */
+  private static class ChunkSubscriber implements Subscriber<BsonDocument> {
+    private final ContextInternal context;
+    private final Subscriber<? super ByteBuffer> downstream;
+    private final BsonValue filesId;
+    private final GridFsCompression compression;
+    private final long length;
+    private final int chunkSize;
+    private final int numChunks;
+    private Subscription subscription;
+    private Future<Void> decompressed;
+    private boolean decompressionFailed;
+    private int expected;
+    private boolean done;
+
+    ChunkSubscriber(ContextInternal context, Subscriber<? super ByteBuffer> downstream, BsonValue filesId,
+                    GridFsCompression compression, long length, int chunkSize) {
+      this.context = context;
+      this.downstream = downstream;
+      this.filesId = filesId;
+      this.compression = compression;
+      this.length = length;
+      this.chunkSize = chunkSize;
+      this.numChunks = (int) ((length + chunkSize - 1) / chunkSize);
+      this.decompressed = context.succeededFuture();
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      subscription = s;
+      downstream.onSubscribe(s);
+    }
+
+    @Override
+    public void onNext(BsonDocument chunk) {
+      if (done) {
+        return;
+      }
+      int n;
+      int size;
+      byte[] data;
+      try {
+        n = chunk.getNumber("n").intValue();
+        if (n != expected || n >= numChunks) {
+          throw new MongoGridFSException("Could not find file chunk for files_id: " + filesId + " at chunk index " + expected);
+        }
+        expected++;
+        size = (int) Math.min(chunkSize, length - (long) n * chunkSize);
+        data = chunk.getBinary("data").getData();
+        if (compression == null && data.length != size) {
+          throw invalidSize(data.length, n, size);
+        }
+      } catch (RuntimeException e) {
+        subscription.cancel();
+        onError(e);
+        return;
+      }
+      if (compression == null) {
+        downstream.onNext(ByteBuffer.wrap(data));
+        return;
+      }
+      // One more byte than expected is enough to tell the chunk is invalid, without inflating it further
+      Future<Void> next = decompressed
+        .compose(v -> context.executeBlocking(() -> GridFsCompressionCodec.decompress(compression, data, size + 1), false))
+        .map(bytes -> {
+          if (bytes.length != size) {
+            throw invalidSize(bytes.length, n, size);
+          }
+          downstream.onNext(ByteBuffer.wrap(bytes));
+          return null;
+        });
+      next.onFailure(this::decompressionFailed);
+      decompressed = next;
+    }
+
+    private MongoGridFSException invalidSize(int actual, int n, int size) {
+      return new MongoGridFSException("Chunk size data length is not the expected size. The size was " + actual
+        + " for file_id: " + filesId + " chunk index " + n + " it should be " + size + " bytes.");
+    }
+
+    private void decompressionFailed(Throwable t) {
+      // The chunks after the failed one fail as well, only the first failure is reported
+      if (!decompressionFailed) {
+        decompressionFailed = true;
+        subscription.cancel();
+        downstream.onError(t);
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      if (!done) {
+        done = true;
+        afterDecompression(() -> downstream.onError(t));
+      }
+    }
+
+    @Override
+    public void onComplete() {
+      if (done) {
+        return;
+      }
+      done = true;
+      if (expected < numChunks) {
+        MongoGridFSException err = new MongoGridFSException("Could not find file chunk at chunk index " + expected);
+        afterDecompression(() -> downstream.onError(err));
+      } else {
+        afterDecompression(downstream::onComplete);
+      }
+    }
+
+    private void afterDecompression(Runnable signal) {
+      if (compression == null) {
+        signal.run();
+      } else {
+        decompressed.onSuccess(v -> signal.run());
+      }
+    }
+  }
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.mongo.ChangeStreamOptions;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.ext.mongo.MongoMaterializedView;
+import io.vertx.ext.mongo.impl.codec.json.JsonObjectCodec;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static io.vertx.ext.mongo.impl.Utils.ID_FIELD;
+import static java.util.Objects.requireNonNull;
+
+public class MongoMaterializedViewImpl implements MongoMaterializedView {
+
+  private final MongoClient client;
+  private final String collection;
+  private final String keyField;
+  private final Map<String, JsonObject> documents = new ConcurrentHashMap<>();
+  private final Map<String, String> keysById = new ConcurrentHashMap<>();
+
+  private ReadStream<ChangeStreamDocument<JsonObject>> stream;
+  // Events received while loading the documents, only accessed from the stream context
+  private List<ChangeStreamDocument<JsonObject>> pending = new ArrayList<>();
+  private volatile long lag;
+  private volatile long failedAt = -1L;
+
+  private MongoMaterializedViewImpl(MongoClient client, String collection, String keyField) {
+    this.client = client;
+    this.collection = collection;
+    this.keyField = keyField;
+  }
+
+  public static Future<MongoMaterializedView> create(MongoClient client, String collection, String keyField) {
+    requireNonNull(client, "client cannot be null");
+    requireNonNull(collection, MongoClientImpl.COLLECTION_CANNOT_BE_NULL);
+    requireNonNull(keyField, "keyField cannot be null");
+    MongoMaterializedViewImpl view = new MongoMaterializedViewImpl(client, collection, keyField);
+    return view.load().map(view);
+  }
+
+  private Future<Void> load() {
+    // Watch from before the documents are read, so that no change is missed. Changes already visible in the
+    // loaded documents are applied again, which is harmless since whole documents are stored.
+    return client.runCommand("ping", new JsonObject().put("ping", 1)).compose(reply -> {
+      ChangeStreamOptions options = new ChangeStreamOptions()
+        .setFullDocument("updateLookup")
+        .setMaxReconnectAttempts(-1)
+        .setStartAtOperationTime(operationTime(reply));
+      stream = client.watchWithOptions(collection, new JsonArray(), options);
+      stream.exceptionHandler(err -> stale());
+      stream.endHandler(v -> stale());
+      stream.handler(this::handleEvent);
+      return client.find(collection, new JsonObject());
+    }).compose(docs -> {
+      docs.forEach(this::put);
+      List<ChangeStreamDocument<JsonObject>> events = pending;
+      pending = null;
+      events.forEach(this::apply);
+      return Future.<Void>succeededFuture();
+    }).onFailure(err -> close());
+  }
+
+  private static Long operationTime(JsonObject reply) {
+    JsonObject time = reply == null ? null : reply.getJsonObject("operationTime");
+    if (time == null || !time.containsKey(JsonObjectCodec.TIMESTAMP_FIELD)) {
+      return null;
+    }
+    JsonObject timestamp = time.getJsonObject(JsonObjectCodec.TIMESTAMP_FIELD);
+    return new BsonTimestamp(timestamp.getInteger(JsonObjectCodec.TIMESTAMP_TIME_FIELD),
+      timestamp.getInteger(JsonObjectCodec.TIMESTAMP_INCREMENT_FIELD)).getValue();
+  }
+
+  private void handleEvent(ChangeStreamDocument<JsonObject> event) {
+    if (pending != null) {
+      pending.add(event);
+    } else {
+      apply(event);
+    }
+  }
+
+  private void apply(ChangeStreamDocument<JsonObject> event) {
+    switch (event.getOperationType()) {
+      case INSERT:
+      case UPDATE:
+      case REPLACE:
+        // The document of an update is looked up, it is null when the document was deleted meanwhile
+        if (event.getFullDocument() != null) {
+          put(event.getFullDocument());
+        }
+        break;
+      case DELETE:
+        BsonDocument documentKey = event.getDocumentKey();
+        if (documentKey != null) {
+          remove(key(new JsonObject(documentKey.toJson()).getValue(ID_FIELD)));
+        }
+        break;
+      default:
+        // Dropped, renamed or invalidated, the stream ends
+        break;
+    }
+    long committed = committedAt(event);
+    if (committed > 0L) {
+      lag = Math.max(0L, System.currentTimeMillis() - committed);
+    }
+  }
+
+  private static long committedAt(ChangeStreamDocument<JsonObject> event) {
+    if (event.getWallTime() != null) {
+      return event.getWallTime().getValue();
+    }
+    if (event.getClusterTime() != null) {
+      return event.getClusterTime().getTime() * 1000L;
+    }
+    return -1L;
+  }
+
+  private void put(JsonObject document) {
+    String id = key(document.getValue(ID_FIELD));
+    String key = key(document.getValue(keyField));
+    if (key == null) {
+      remove(id);
+      return;
+    }
+    String previous = keysById.put(id, key);
+    if (previous != null && !previous.equals(key)) {
+      documents.remove(previous);
+    }
+    documents.put(key, document);
+  }
+
+  private void remove(String id) {
+    String key = keysById.remove(id);
+    if (key != null) {
+      documents.remove(key);
+    }
+  }
+
+  private static String key(Object value) {
+    if (value == null) {
+      return null;
+    }
+    if (value instanceof JsonObject && ((JsonObject) value).containsKey(JsonObjectCodec.OID_FIELD)) {
+      return ((JsonObject) value).getString(JsonObjectCodec.OID_FIELD);
+    }
+    return String.valueOf(value);
+  }
+
+  private void stale() {
+    if (failedAt < 0L) {
+      failedAt = System.currentTimeMillis();
+    }
+  }
+
+  @Override
+  public JsonObject get(String key) {
+    return documents.get(key);
+  }
+
+  @Override
+  public List<JsonObject> query(Function<JsonObject, Boolean> predicate) {
+    requireNonNull(predicate, "predicate cannot be null");
+    List<JsonObject> result = new ArrayList<>();
+    for (JsonObject document : documents.values()) {
+      if (predicate.apply(document)) {
+        result.add(document);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public int size() {
+    return documents.size();
+  }
+
+  @Override
+  public long lag() {
+    long failed = failedAt;
+    if (failed >= 0L) {
+      return lag + System.currentTimeMillis() - failed;
+    }
+    return lag;
+  }
+
+  @Override
+  public void close() {
+    stale();
+    if (stream != null) {
+      stream.handler(null);
+    }
+  }
+}
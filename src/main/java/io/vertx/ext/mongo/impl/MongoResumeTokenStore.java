@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.ext.mongo.ResumeTokenStore;
+import io.vertx.ext.mongo.UpdateOptions;
+
+import java.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ResumeTokenStore} keeping tokens in a collection, in documents {@code {key, token, updatedAt}}.
+ */
+public class MongoResumeTokenStore implements ResumeTokenStore {
+
+  private static final JsonObject FIELDS = new JsonObject().put("token", 1);
+  private static final UpdateOptions UPSERT = new UpdateOptions(true);
+
+  private final MongoClient client;
+  private final String collection;
+
+  public MongoResumeTokenStore(MongoClient client, String collection) {
+    this.client = requireNonNull(client, "client cannot be null");
+    this.collection = requireNonNull(collection, "collection cannot be null");
+  }
+
+  @Override
+  public Future<JsonObject> load(String key) {
+    requireNonNull(key, "key cannot be null");
+    return client.findOne(collection, new JsonObject().put("key", key), FIELDS)
+      .map(doc -> doc == null ? null : doc.getJsonObject("token"));
+  }
+
+  @Override
+  public Future<Void> save(String key, JsonObject token) {
+    requireNonNull(key, "key cannot be null");
+    requireNonNull(token, "token cannot be null");
+    // Not keyed by _id, which the client may encode as an ObjectId
+    JsonObject update = new JsonObject().put("$set", new JsonObject()
+      .put("token", token)
+      .put("updatedAt", new JsonObject().put("$date", Instant.now().toString())));
+    return client.updateCollectionWithOptions(collection, new JsonObject().put("key", key), update, UPSERT)
+      .mapEmpty();
+  }
+}
@@ -167,6 +167,7 @@ public class PublisherAdapter<T> implements ReadStream<T> {
     }
 
     private Subscription subscription;
+    private boolean cancelled;
     private boolean paused;
     private int inflight = batchSize;
 
@@ -204,14 +205,31 @@ public class PublisherAdapter<T> implements ReadStream<T> {
 
     @Override
     public void onSubscribe(Subscription subscription) {
+      boolean cancel;
       synchronized (PublisherAdapter.this) {
         this.subscription = subscription;
+        cancel = cancelled;
+      }
+      if (cancel) {
+        subscription.cancel();
+      } else {
+        subscription.request(batchSize);
       }
-      subscription.request(batchSize);
     }
 
+    /**
+     * Cancels the subscription, or records the cancellation when the publisher has not called
+     * {@link #onSubscribe(Subscription)} yet, e.g. while the operation waits at an admission gate.
+     */
     void cancel() {
-      subscription.cancel();
+      Subscription s;
+      synchronized (PublisherAdapter.this) {
+        cancelled = true;
+        s = subscription;
+      }
+      if (s != null) {
+        s.cancel();
+      }
     }
 
     @Override
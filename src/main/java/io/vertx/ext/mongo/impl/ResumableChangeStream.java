@@ -0,0 +1,288 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import io.vertx.core.Handler;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.mongo.ChangeStreamOptions;
+import io.vertx.ext.mongo.ResumeTokenStore;
+import org.bson.BsonDocument;
+import org.reactivestreams.Publisher;
+
+import java.util.function.Function;
+
+/**
+ * A change stream which reconnects after transient errors, resuming after the last received event, and which
+ * optionally checkpoints its resume tokens to a {@link ResumeTokenStore}.
+ */
+class ResumableChangeStream<E> implements ReadStream<E> {
+
+  private static final long MAX_RECONNECT_INTERVAL = 30_000L;
+
+  private final VertxInternal vertx;
+  private final ContextInternal context;
+  private final Function<BsonDocument, Publisher<E>> publisherFactory;
+  private final Function<E, BsonDocument> resumeTokenOf;
+  private final ChangeStreamOptions options;
+  private final ResumeTokenStore store;
+  private final String key;
+
+  private Handler<E> handler;
+  private Handler<Throwable> exceptionHandler;
+  private Handler<Void> endHandler;
+  private long demand = Long.MAX_VALUE;
+  private PublisherAdapter<E> current;
+  private ResumeTokenCheckpointer checkpointer;
+  private BsonDocument resumeToken;
+  private int attempts;
+  private boolean started;
+  private boolean closed;
+
+  /**
+   * @param publisherFactory creates the driver change stream, resuming after the given token when not {@code null}
+   * @param resumeTokenOf    extracts the resume token of an event
+   * @param store            the store of resume tokens, may be {@code null}
+   * @param key              the key of the resume tokens in the store
+   */
+  ResumableChangeStream(VertxInternal vertx, ContextInternal context,
+                        Function<BsonDocument, Publisher<E>> publisherFactory, Function<E, BsonDocument> resumeTokenOf,
+                        ChangeStreamOptions options, ResumeTokenStore store, String key) {
+    this.vertx = vertx;
+    this.context = context;
+    this.publisherFactory = publisherFactory;
+    this.resumeTokenOf = resumeTokenOf;
+    this.options = options;
+    this.store = store;
+    this.key = key;
+  }
+
+  @Override
+  public synchronized ReadStream<E> exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public synchronized ReadStream<E> endHandler(Handler<Void> handler) {
+    endHandler = handler;
+    return this;
+  }
+
+  @Override
+  public ReadStream<E> handler(Handler<E> h) {
+    if (h == null) {
+      close();
+      return this;
+    }
+    boolean start;
+    synchronized (this) {
+      handler = h;
+      start = !started && !closed;
+      started = true;
+    }
+    if (start) {
+      start();
+    }
+    return this;
+  }
+
+  @Override
+  public ReadStream<E> pause() {
+    PublisherAdapter<E> adapter;
+    synchronized (this) {
+      demand = 0L;
+      adapter = current;
+    }
+    if (adapter != null) {
+      adapter.pause();
+    }
+    return this;
+  }
+
+  @Override
+  public ReadStream<E> resume() {
+    return fetch(Long.MAX_VALUE);
+  }
+
+  @Override
+  public ReadStream<E> fetch(long amount) {
+    if (amount < 0L) {
+      throw new IllegalArgumentException();
+    }
+    PublisherAdapter<E> adapter;
+    synchronized (this) {
+      demand += amount;
+      if (demand < 0L) {
+        demand = Long.MAX_VALUE;
+      }
+      adapter = current;
+    }
+    if (adapter != null) {
+      adapter.fetch(amount);
+    }
+    return this;
+  }
+
+  private void start() {
+    if (store == null) {
+      connect();
+      return;
+    }
+    checkpointer = new ResumeTokenCheckpointer(vertx, store, key, options.getCheckpointEvents(), options.getCheckpointInterval());
+    store.load(key).onComplete(ar -> {
+      if (ar.failed()) {
+        fail(ar.cause());
+        return;
+      }
+      JsonObject token = ar.result();
+      if (token != null) {
+        // The saved checkpoint is more recent than the start position of the options
+        synchronized (this) {
+          resumeToken = BsonDocument.parse(token.encode());
+        }
+      }
+      connect();
+    });
+  }
+
+  private void connect() {
+    PublisherAdapter<E> adapter;
+    long d;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      adapter = new PublisherAdapter<>(context, publisherFactory.apply(resumeToken), Math.max(1, options.getBatchSize()));
+      current = adapter;
+      d = demand;
+    }
+    adapter.exceptionHandler(this::handleException);
+    adapter.endHandler(v -> handleEnd());
+    adapter.pause();
+    if (d > 0L) {
+      adapter.fetch(d);
+    }
+    adapter.handler(this::handleEvent);
+  }
+
+  private void handleEvent(E event) {
+    Handler<E> h;
+    BsonDocument token = resumeTokenOf.apply(event);
+    synchronized (this) {
+      if (demand != Long.MAX_VALUE && demand > 0L) {
+        demand--;
+      }
+      attempts = 0;
+      if (token != null) {
+        resumeToken = token;
+      }
+      h = handler;
+    }
+    if (h != null) {
+      h.handle(event);
+    }
+    // Checkpoint the event once handled, so that a restart never skips an event the handler did not see
+    if (checkpointer != null) {
+      checkpointer.update(token);
+    }
+  }
+
+  private void handleException(Throwable err) {
+    long delay;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      int max = options.getMaxReconnectAttempts();
+      if (!isTransient(err) || (max != -1 && attempts >= max)) {
+        delay = -1L;
+      } else {
+        delay = Math.min(options.getReconnectInterval() << Math.min(attempts, 16), MAX_RECONNECT_INTERVAL);
+        attempts++;
+        current = null;
+      }
+    }
+    if (delay < 0L) {
+      fail(err);
+    } else {
+      vertx.setTimer(Math.max(1L, delay), id -> connect());
+    }
+  }
+
+  private void handleEnd() {
+    Handler<Void> h;
+    synchronized (this) {
+      closed = true;
+      h = endHandler;
+    }
+    if (checkpointer != null) {
+      checkpointer.close();
+    }
+    if (h != null) {
+      h.handle(null);
+    }
+  }
+
+  private void fail(Throwable err) {
+    Handler<Throwable> h;
+    synchronized (this) {
+      closed = true;
+      h = exceptionHandler;
+    }
+    if (checkpointer != null) {
+      checkpointer.close();
+    }
+    if (h != null) {
+      h.handle(err);
+    }
+  }
+
+  private void close() {
+    PublisherAdapter<E> adapter;
+    synchronized (this) {
+      closed = true;
+      handler = null;
+      adapter = current;
+      current = null;
+    }
+    if (adapter != null) {
+      adapter.handler(null);
+    }
+    if (checkpointer != null) {
+      checkpointer.close();
+    }
+  }
+
+  /**
+   * @return whether the error is caused by a failover or a network issue, after which the stream can be resumed
+   */
+  static boolean isTransient(Throwable err) {
+    if (err instanceof MongoSocketException || err instanceof MongoTimeoutException
+      || err instanceof MongoNotPrimaryException || err instanceof MongoNodeIsRecoveringException) {
+      return true;
+    }
+    return err instanceof MongoException && ((MongoException) err).hasErrorLabel("ResumableChangeStreamError");
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.ResumeTokenStore;
+import org.bson.BsonDocument;
+
+/**
+ * Saves the last resume token of a change stream every {@code events} events or {@code interval} milliseconds.
+ * Saves never block the stream: at most one save is in flight and the tokens received meanwhile are coalesced.
+ */
+class ResumeTokenCheckpointer {
+
+  private static final Logger log = LoggerFactory.getLogger(ResumeTokenCheckpointer.class);
+
+  private final Vertx vertx;
+  private final ResumeTokenStore store;
+  private final String key;
+  private final int events;
+  private final long timerId;
+
+  private BsonDocument latest;
+  private int pending;
+  private boolean saving;
+  private boolean closed;
+
+  ResumeTokenCheckpointer(Vertx vertx, ResumeTokenStore store, String key, int events, long interval) {
+    this.vertx = vertx;
+    this.store = store;
+    this.key = key;
+    this.events = events;
+    this.timerId = vertx.setPeriodic(interval, id -> flush());
+  }
+
+  synchronized void update(BsonDocument token) {
+    if (token == null || closed) {
+      return;
+    }
+    latest = token;
+    if (++pending >= events) {
+      flush();
+    }
+  }
+
+  /**
+   * Saves the pending token, if any, and stops checkpointing.
+   */
+  synchronized void close() {
+    if (!closed) {
+      closed = true;
+      vertx.cancelTimer(timerId);
+      flush();
+    }
+  }
+
+  private synchronized void flush() {
+    if (saving || pending == 0) {
+      return;
+    }
+    JsonObject token = new JsonObject(latest.toJson());
+    pending = 0;
+    saving = true;
+    store.save(key, token).onComplete(ar -> {
+      if (ar.failed()) {
+        log.warn("Failed to save the resume token of change stream " + key, ar.cause());
+      }
+      synchronized (this) {
+        saving = false;
+        // Tokens received during the save are flushed by the next event or timer tick, unless closed
+        if (pending >= events || (closed && pending > 0)) {
+          flush();
+        }
+      }
+    });
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A subscriber of a {@link ChangeStreamHub} channel, buffering the events of the channel until they are
+ * requested. When the buffer is full the subscriber fails and is detached from the channel, the other
+ * subscribers are not affected.
+ */
+class SharedStreamSubscriber<T> implements ReadStream<T> {
+
+  private static final Object END = new Object();
+
+  private final ContextInternal context;
+  private final int queueSize;
+  private final Function<SharedStreamSubscriber<T>, ChangeStreamHub.Channel<T>> attach;
+  private final Consumer<SharedStreamSubscriber<T>> detach;
+  private final ArrayDeque<Object> queue = new ArrayDeque<>();
+
+  private ChangeStreamHub.Channel<T> channel;
+  private Handler<T> handler;
+  private Handler<Throwable> exceptionHandler;
+  private Handler<Void> endHandler;
+  private long demand = Long.MAX_VALUE;
+  private boolean attached;
+  private boolean draining;
+  private boolean terminated;
+
+  SharedStreamSubscriber(ContextInternal context, int queueSize,
+                         Function<SharedStreamSubscriber<T>, ChangeStreamHub.Channel<T>> attach,
+                         Consumer<SharedStreamSubscriber<T>> detach) {
+    this.context = context;
+    this.queueSize = queueSize;
+    this.attach = attach;
+    this.detach = detach;
+  }
+
+  synchronized ChangeStreamHub.Channel<T> channel() {
+    return channel;
+  }
+
+  @Override
+  public synchronized ReadStream<T> exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public synchronized ReadStream<T> endHandler(Handler<Void> handler) {
+    endHandler = handler;
+    return this;
+  }
+
+  @Override
+  public ReadStream<T> handler(Handler<T> h) {
+    if (h == null) {
+      synchronized (this) {
+        handler = null;
+        terminated = true;
+        queue.clear();
+      }
+      detach.accept(this);
+      return this;
+    }
+    boolean attach;
+    synchronized (this) {
+      handler = h;
+      attach = !attached && !terminated;
+      attached = true;
+    }
+    if (attach) {
+      ChangeStreamHub.Channel<T> c = this.attach.apply(this);
+      synchronized (this) {
+        channel = c;
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized ReadStream<T> pause() {
+    demand = 0L;
+    return this;
+  }
+
+  @Override
+  public ReadStream<T> resume() {
+    return fetch(Long.MAX_VALUE);
+  }
+
+  @Override
+  public synchronized ReadStream<T> fetch(long amount) {
+    if (amount < 0L) {
+      throw new IllegalArgumentException();
+    }
+    demand += amount;
+    if (demand < 0L) {
+      demand = Long.MAX_VALUE;
+    }
+    scheduleDrain();
+    return this;
+  }
+
+  void offer(T event) {
+    boolean overflow = false;
+    synchronized (this) {
+      if (terminated) {
+        return;
+      }
+      if (queue.size() >= queueSize) {
+        overflow = true;
+      } else {
+        queue.add(event);
+        scheduleDrain();
+      }
+    }
+    if (overflow) {
+      fail(new IllegalStateException("Shared change stream subscriber is too slow, more than " + queueSize + " events are buffered"));
+      detach.accept(this);
+    }
+  }
+
+  void fail(Throwable err) {
+    terminate(err);
+  }
+
+  void end() {
+    terminate(END);
+  }
+
+  private synchronized void terminate(Object msg) {
+    if (!terminated) {
+      terminated = true;
+      if (msg != END) {
+        // Failures are delivered right away, the buffered events are dropped
+        queue.clear();
+      }
+      queue.add(msg);
+      if (!draining) {
+        draining = true;
+        context.runOnContext(v -> drain());
+      }
+    }
+  }
+
+  private void scheduleDrain() {
+    if (!draining && demand > 0L && !queue.isEmpty()) {
+      draining = true;
+      context.runOnContext(v -> drain());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void drain() {
+    while (true) {
+      Object msg;
+      Handler h;
+      synchronized (this) {
+        msg = queue.peek();
+        boolean event = msg != END && !(msg instanceof Throwable);
+        if (msg == null || (event && demand == 0L)) {
+          draining = false;
+          return;
+        }
+        queue.poll();
+        if (msg == END) {
+          h = endHandler;
+          msg = null;
+        } else if (!event) {
+          h = exceptionHandler;
+        } else {
+          if (demand != Long.MAX_VALUE) {
+            demand--;
+          }
+          h = handler;
+        }
+      }
+      if (h != null) {
+        h.handle(msg);
+      }
+    }
+  }
+}
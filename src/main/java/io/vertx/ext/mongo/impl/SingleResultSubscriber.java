@@ -17,24 +17,13 @@
 package io.vertx.ext.mongo.impl;
 
 import io.vertx.core.Promise;
-import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
 
-import java.util.Objects;
-
-public class SingleResultSubscriber<T> implements Subscriber<T> {
+public class SingleResultSubscriber<T> extends CancellableSubscriber<T, T> {
 
   private T received;
-  private final Promise<T> promise;
 
   public SingleResultSubscriber(Promise<T> promise) {
-    Objects.requireNonNull(promise, "promise is null");
-    this.promise = promise;
-  }
-
-  @Override
-  public void onSubscribe(Subscription s) {
-    s.request(Long.MAX_VALUE);
+    super(promise);
   }
 
   @Override
@@ -44,13 +33,8 @@ public class SingleResultSubscriber<T> implements Subscriber<T> {
     }
   }
 
-  @Override
-  public void onError(Throwable t) {
-    promise.fail(t);
-  }
-
   @Override
   public void onComplete() {
-    promise.complete(received);
+    promise.tryComplete(received);
   }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 The Vert.x Community.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.vertx.ext.mongo.impl;
+
+import com.mongodb.MongoException;
+import com.mongodb.reactivestreams.client.ClientSession;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.ext.mongo.TransactionOptions;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Runs a function in a transaction, following the retry rules of the driver's {@code withTransaction}: the whole
+ * transaction is retried on {@code TransientTransactionError}, the commit alone on
+ * {@code UnknownTransactionCommitResult}, until the retry time is exhausted.
+ */
+class TransactionRunner<T> {
+
+  private static final int MAX_TIME_MS_EXPIRED = 50;
+
+  private final Vertx vertx;
+  private final ContextInternal context;
+  private final ClientSession session;
+  private final MongoClient client;
+  private final TransactionOptions options;
+  private final Function<MongoClient, Future<T>> function;
+  private final Promise<T> promise;
+  private final long startTime = System.currentTimeMillis();
+
+  private int retries;
+
+  TransactionRunner(Vertx vertx, ContextInternal context, ClientSession session, MongoClient client,
+                    TransactionOptions options, Function<MongoClient, Future<T>> function) {
+    this.vertx = vertx;
+    this.context = context;
+    this.session = session;
+    this.client = client;
+    this.options = options;
+    this.function = function;
+    this.promise = context.promise();
+  }
+
+  Future<T> run() {
+    attempt();
+    return promise.future();
+  }
+
+  private void attempt() {
+    Future<T> future;
+    try {
+      session.startTransaction(options.toMongoDriverObject());
+      future = function.apply(client);
+    } catch (Exception e) {
+      future = context.failedFuture(e);
+    }
+    future.onComplete(ar -> {
+      if (ar.succeeded()) {
+        commit(ar.result());
+      } else {
+        abort(ar.cause());
+      }
+    });
+  }
+
+  private void commit(T result) {
+    Promise<Void> committed = context.promise();
+    session.commitTransaction().subscribe(new CompletionSubscriber<>(committed));
+    committed.future().onComplete(ar -> {
+      if (ar.succeeded()) {
+        promise.complete(result);
+        return;
+      }
+      Throwable err = ar.cause();
+      if (hasErrorLabel(err, MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL) && !isMaxTimeExpired(err)) {
+        // The commit is idempotent, the driver retries it with a majority write concern
+        if (retry(() -> commit(result))) {
+          return;
+        }
+      } else if (hasErrorLabel(err, MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+        if (retry(this::attempt)) {
+          return;
+        }
+      }
+      promise.fail(err);
+    });
+  }
+
+  private void abort(Throwable err) {
+    if (!session.hasActiveTransaction()) {
+      retryOrFail(err);
+      return;
+    }
+    Promise<Void> aborted = context.promise();
+    session.abortTransaction().subscribe(new CompletionSubscriber<>(aborted));
+    // Like the driver, abort failures are ignored: the server aborts the transaction after its lifetime
+    aborted.future().onComplete(ar -> retryOrFail(err));
+  }
+
+  private void retryOrFail(Throwable err) {
+    if (!hasErrorLabel(err, MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL) || !retry(this::attempt)) {
+      promise.fail(err);
+    }
+  }
+
+  /**
+   * Schedules the action after an exponential backoff with jitter.
+   *
+   * @return {@code false} when the retry time is exhausted
+   */
+  private boolean retry(Runnable action) {
+    if (System.currentTimeMillis() - startTime >= options.getMaxRetryTime()) {
+      return false;
+    }
+    long backoff = Math.min(options.getRetryInterval() << Math.min(retries++, 16), options.getMaxRetryInterval());
+    long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    vertx.setTimer(Math.max(1L, delay), id -> context.runOnContext(v -> action.run()));
+    return true;
+  }
+
+  private static boolean hasErrorLabel(Throwable err, String label) {
+    return err instanceof MongoException && ((MongoException) err).hasErrorLabel(label);
+  }
+
+  private static boolean isMaxTimeExpired(Throwable err) {
+    return err instanceof MongoException && ((MongoException) err).getCode() == MAX_TIME_MS_EXPIRED;
+  }
+}
@@ -11,6 +11,8 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
  */
 public class ConnectionPoolSettingsParser {
 
+  private static final long DEFAULT_ADAPTIVE_MAX_IDLE_TIME_MS = 60000L;
+
   private final ConnectionPoolSettings settings;
 
   public ConnectionPoolSettingsParser(ConnectionString connectionString, JsonObject config) {
@@ -30,6 +32,10 @@ public class ConnectionPoolSettingsParser {
     Long maxIdleTimeMS = config.getLong("maxIdleTimeMS");
     if (maxIdleTimeMS != null) {
       settings.maxConnectionIdleTime(maxIdleTimeMS, MILLISECONDS);
+    } else if (config.getBoolean("adaptivePoolSize", false)
+      && (connectionString == null || connectionString.getMaxConnectionIdleTime() == null)) {
+      // The connections left unused when the adaptive limit shrinks must be closed eventually
+      settings.maxConnectionIdleTime(DEFAULT_ADAPTIVE_MAX_IDLE_TIME_MS, MILLISECONDS);
     }
     Long maxLifeTimeMS = config.getLong("maxLifeTimeMS");
     if (maxLifeTimeMS != null) {
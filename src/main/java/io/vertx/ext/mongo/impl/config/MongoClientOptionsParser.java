@@ -7,6 +7,8 @@ import static io.vertx.core.transport.Transport.NIO;
 
 import com.mongodb.*;
 import com.mongodb.connection.*;
+import com.mongodb.event.ConnectionPoolListener;
+import com.mongodb.event.ServerMonitorListener;
 import io.netty.channel.socket.SocketChannel;
 import io.vertx.core.Vertx;
 import io.vertx.core.internal.VertxInternal;
@@ -19,6 +21,7 @@ import io.vertx.ext.mongo.impl.codec.json.JsonObjectCodec;
 import org.bson.codecs.*;
 import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.PojoCodecProvider;
 
 import java.util.List;
 import java.util.Objects;
@@ -31,11 +34,35 @@ public class MongoClientOptionsParser {
 
   private static final Logger log = LoggerFactory.getLogger(MongoClientOptionsParser.class);
   private final static CodecRegistry commonCodecRegistry = CodecRegistries.fromCodecs(new StringCodec(), new IntegerCodec(),
-    new BooleanCodec(), new DoubleCodec(), new LongCodec(), new BsonDocumentCodec(), new DocumentCodec());
+    new BooleanCodec(), new DoubleCodec(), new LongCodec(), new BsonDocumentCodec(), new RawBsonDocumentCodec(), new DocumentCodec());
+  // Decodes the typed results straight into records and POJOs, after the codecs of the other types
+  private final static CodecRegistry typedCodecRegistry = CodecRegistries.fromProviders(new Jep395RecordCodecProvider(),
+    PojoCodecProvider.builder().automatic(true).build());
   private final MongoClientSettings settings;
   private final String database;
 
+  /**
+   * The registry of the operations decoding their results into a {@code Class<T>}: the codecs of {@code registry}, then
+   * reflective codecs of the records and the POJOs. The other operations only use the codecs of the client, a missing
+   * codec fails fast instead of falling back to a reflective one.
+   *
+   * @param registry the registry of the client
+   * @return the registry of the typed operations
+   */
+  public static CodecRegistry typedCodecRegistry(CodecRegistry registry) {
+    return CodecRegistries.fromRegistries(registry, typedCodecRegistry);
+  }
+
   public MongoClientOptionsParser(Vertx vertx, JsonObject config) {
+    this(vertx, config, null, null);
+  }
+
+  /**
+   * @param poolListener    a listener of the connection pool events, or {@code null}
+   * @param monitorListener a listener of the server monitor events, or {@code null}
+   */
+  public MongoClientOptionsParser(Vertx vertx, JsonObject config, ConnectionPoolListener poolListener,
+                                  ServerMonitorListener monitorListener) {
     Objects.requireNonNull(config);
 
     MongoClientSettings.Builder options = MongoClientSettings.builder();
@@ -93,6 +120,14 @@ public class MongoClientOptionsParser {
     ServerSettings serverSettings = new ServerSettingsParser(config).settings();
     options.applyToServerSettings(builder -> builder.applySettings(serverSettings));
 
+    // Listeners
+    if (poolListener != null) {
+      options.applyToConnectionPoolSettings(builder -> builder.addConnectionPoolListener(poolListener));
+    }
+    if (monitorListener != null) {
+      options.applyToServerSettings(builder -> builder.addServerMonitorListener(monitorListener));
+    }
+
     // CompressorsSettings
     List<MongoCompressor> compressorList = new CompressorListParser(connectionString, config).compressorList();
     if (compressorList != null) {
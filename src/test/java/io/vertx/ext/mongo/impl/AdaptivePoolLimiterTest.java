@@ -0,0 +1,67 @@
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.internal.VertxInternal;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptivePoolLimiterTest {
+
+  private Vertx vertx;
+  private AdaptivePoolLimiter limiter;
+
+  @Before
+  public void before() {
+    vertx = Vertx.vertx();
+    // Adjusted by the test only
+    limiter = new AdaptivePoolLimiter(vertx, new ConnectionPoolMonitor((VertxInternal) vertx, "test"), 2, 32, 10, 3_600_000);
+  }
+
+  @After
+  public void after() {
+    limiter.close();
+    vertx.close().await();
+  }
+
+  @Test
+  public void testMultiplicativeDecrease() {
+    // Checkouts waited 50 ms on average
+    assertEquals(16, limiter.nextLimit(32, 10, 500, 0, saturated(32)));
+    // A failed checkout
+    assertEquals(8, limiter.nextLimit(16, 10, 10, 1, saturated(16)));
+    assertEquals(4, limiter.nextLimit(8, 10, 500, 0, saturated(8)));
+    assertEquals(2, limiter.nextLimit(4, 10, 500, 0, saturated(4)));
+    assertEquals(2, limiter.nextLimit(2, 10, 500, 0, saturated(2)));
+  }
+
+  @Test
+  public void testIncrease() {
+    assertEquals(8, limiter.nextLimit(16, 0, 0, 1, saturated(16)));
+    // Additive above the limit of the last decrease
+    assertEquals(9, limiter.nextLimit(8, 10, 10, 0, saturated(8)));
+    assertEquals(10, limiter.nextLimit(9, 10, 10, 0, saturated(9)));
+    // Doubled below it
+    assertEquals(5, limiter.nextLimit(10, 0, 0, 1, saturated(10)));
+    assertEquals(4, limiter.nextLimit(4, 10, 10, 0, new AdmissionGate.Sample(4, false)));
+    assertEquals(5, limiter.nextLimit(3, 10, 10, 0, saturated(3)));
+    assertEquals(6, limiter.nextLimit(5, 10, 10, 0, saturated(5)));
+    // Never above the maximum
+    assertEquals(32, limiter.nextLimit(32, 10, 10, 0, saturated(32)));
+  }
+
+  @Test
+  public void testShrinkWhenIdle() {
+    assertEquals(20, limiter.nextLimit(32, 10, 10, 0, new AdmissionGate.Sample(8, false)));
+    assertEquals(14, limiter.nextLimit(20, 10, 10, 0, new AdmissionGate.Sample(8, false)));
+    // Never below the minimum
+    assertEquals(16, limiter.nextLimit(32, 0, 0, 0, new AdmissionGate.Sample(0, false)));
+    assertEquals(2, limiter.nextLimit(3, 0, 0, 0, new AdmissionGate.Sample(0, false)));
+  }
+
+  private static AdmissionGate.Sample saturated(int inFlight) {
+    return new AdmissionGate.Sample(inFlight, true);
+  }
+}
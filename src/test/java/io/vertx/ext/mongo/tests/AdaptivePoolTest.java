@@ -0,0 +1,55 @@
+package io.vertx.ext.mongo.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.ConnectionPoolStats;
+import io.vertx.ext.mongo.MongoClient;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class AdaptivePoolTest extends MongoTestBase {
+
+  private MongoClient mongoClient;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    JsonObject config = getConfig()
+      .put("maxPoolSize", 4)
+      .put("adaptivePoolSize", true)
+      .put("adaptivePoolIntervalMS", 100);
+    mongoClient = MongoClient.create(vertx, config);
+    CountDownLatch latch = new CountDownLatch(1);
+    dropCollections(mongoClient, latch);
+    awaitLatch(latch);
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    mongoClient.close();
+    super.tearDown();
+  }
+
+  @Test
+  public void testBurst() {
+    String collection = randomCollection();
+    List<Future<String>> inserts = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      inserts.add(mongoClient.insert(collection, new JsonObject().put("i", i)));
+    }
+    Future.all(inserts)
+      .compose(v -> mongoClient.count(collection, new JsonObject()))
+      .onComplete(onSuccess(count -> {
+        assertEquals(100L, (long) count);
+        for (ConnectionPoolStats pool : mongoClient.poolStats()) {
+          assertEquals(0L, pool.getCheckoutFailures());
+          assertTrue(pool.getConnectionsCreated() - pool.getConnectionsClosed() <= 4);
+        }
+        testComplete();
+      }));
+    await();
+  }
+}
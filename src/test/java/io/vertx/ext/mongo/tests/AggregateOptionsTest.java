@@ -106,4 +106,19 @@ public class AggregateOptionsTest {
 
     assertEquals(options, new AggregateOptions(options.toJson()));
   }
+
+  @Test
+  public void testReadSettingsToJson() {
+    AggregateOptions options = new AggregateOptions()
+      .setReadPreference("secondaryPreferred")
+      .setReadConcern("majority")
+      .setComment("daily report")
+      .setLet(new JsonObject().put("threshold", 10));
+
+    AggregateOptions copy = new AggregateOptions(options.toJson());
+    assertEquals(options, copy);
+    assertEquals(options, new AggregateOptions(options));
+    assertEquals("secondaryPreferred", copy.getReadPreference());
+    assertEquals(10, (int) copy.getLet().getInteger("threshold"));
+  }
 }
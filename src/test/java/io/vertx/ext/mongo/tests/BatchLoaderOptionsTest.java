@@ -0,0 +1,29 @@
+package io.vertx.ext.mongo.tests;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.BatchLoaderOptions;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BatchLoaderOptionsTest {
+
+  @Test
+  public void testDefaults() {
+    BatchLoaderOptions options = new BatchLoaderOptions();
+    assertEquals(BatchLoaderOptions.DEFAULT_CACHE, options.isCache());
+    assertNull(options.getFields());
+  }
+
+  @Test
+  public void testJson() {
+    BatchLoaderOptions options = new BatchLoaderOptions()
+      .setCache(true)
+      .setFields(new JsonObject().put("sku", 1).put("name", 1));
+
+    BatchLoaderOptions copy = new BatchLoaderOptions(options.toJson());
+    assertEquals(options, copy);
+    assertEquals(options.hashCode(), copy.hashCode());
+    assertEquals(options, new BatchLoaderOptions(options));
+  }
+}
@@ -0,0 +1,51 @@
+package io.vertx.ext.mongo.tests;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.ChangeStreamOptions;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ChangeStreamOptionsTest {
+
+  @Test
+  public void testDefaults() {
+    ChangeStreamOptions options = new ChangeStreamOptions();
+    assertNull(options.getFullDocument());
+    assertNull(options.getResumeAfter());
+    assertNull(options.getStartAfter());
+    assertNull(options.getStartAtOperationTime());
+    assertNull(options.getResumeTokenKey());
+    assertEquals(ChangeStreamOptions.DEFAULT_BATCH_SIZE, options.getBatchSize());
+    assertEquals(ChangeStreamOptions.DEFAULT_CHECKPOINT_EVENTS, options.getCheckpointEvents());
+    assertEquals(ChangeStreamOptions.DEFAULT_CHECKPOINT_INTERVAL, options.getCheckpointInterval());
+    assertEquals(ChangeStreamOptions.DEFAULT_MAX_RECONNECT_ATTEMPTS, options.getMaxReconnectAttempts());
+    assertEquals(ChangeStreamOptions.DEFAULT_RECONNECT_INTERVAL, options.getReconnectInterval());
+  }
+
+  @Test
+  public void testJson() {
+    ChangeStreamOptions options = new ChangeStreamOptions()
+      .setFullDocument("updateLookup")
+      .setBatchSize(5)
+      .setResumeAfter(new JsonObject().put("_data", "8263"))
+      .setStartAtOperationTime(42L)
+      .setResumeTokenKey("orders")
+      .setCheckpointEvents(10)
+      .setCheckpointInterval(250)
+      .setMaxReconnectAttempts(-1)
+      .setReconnectInterval(100);
+
+    ChangeStreamOptions copy = new ChangeStreamOptions(options.toJson());
+    assertEquals(options, copy);
+    assertEquals(options.hashCode(), copy.hashCode());
+    assertEquals(options, new ChangeStreamOptions(options));
+    assertEquals("8263", copy.getResumeAfter().getString("_data"));
+    assertEquals(42L, copy.getStartAtOperationTime().longValue());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCheckpointEvents() {
+    new ChangeStreamOptions().setCheckpointEvents(0);
+  }
+}
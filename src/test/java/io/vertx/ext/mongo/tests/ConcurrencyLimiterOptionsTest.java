@@ -0,0 +1,41 @@
+package io.vertx.ext.mongo.tests;
+
+import io.vertx.ext.mongo.ConcurrencyLimiterOptions;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConcurrencyLimiterOptionsTest {
+
+  @Test
+  public void testDefaults() {
+    ConcurrencyLimiterOptions options = new ConcurrencyLimiterOptions();
+    assertEquals(ConcurrencyLimiterOptions.DEFAULT_INITIAL_LIMIT, options.getInitialLimit());
+    assertEquals(ConcurrencyLimiterOptions.DEFAULT_MIN_LIMIT, options.getMinLimit());
+    assertEquals(ConcurrencyLimiterOptions.DEFAULT_MAX_LIMIT, options.getMaxLimit());
+    assertEquals(ConcurrencyLimiterOptions.DEFAULT_MAX_QUEUE_SIZE, options.getMaxQueueSize());
+    assertEquals(ConcurrencyLimiterOptions.DEFAULT_RTT_TOLERANCE, options.getRttTolerance(), 0d);
+    assertEquals(ConcurrencyLimiterOptions.DEFAULT_SMOOTHING, options.getSmoothing(), 0d);
+  }
+
+  @Test
+  public void testJson() {
+    ConcurrencyLimiterOptions options = new ConcurrencyLimiterOptions()
+      .setInitialLimit(10)
+      .setMinLimit(2)
+      .setMaxLimit(50)
+      .setMaxQueueSize(0)
+      .setRttTolerance(2)
+      .setSmoothing(0.5);
+
+    ConcurrencyLimiterOptions copy = new ConcurrencyLimiterOptions(options.toJson());
+    assertEquals(options, copy);
+    assertEquals(options.hashCode(), copy.hashCode());
+    assertEquals(options, new ConcurrencyLimiterOptions(options));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSmoothing() {
+    new ConcurrencyLimiterOptions().setSmoothing(0);
+  }
+}
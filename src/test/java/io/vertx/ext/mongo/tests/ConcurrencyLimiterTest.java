@@ -0,0 +1,90 @@
+package io.vertx.ext.mongo.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.ConcurrencyLimiterOptions;
+import io.vertx.ext.mongo.ConcurrencyLimiterStats;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.ext.mongo.MongoOverloadedException;
+import io.vertx.ext.mongo.OperationOptions;
+import io.vertx.ext.mongo.OperationPriority;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class ConcurrencyLimiterTest extends MongoTestBase {
+
+  private MongoClient mongoClient;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    JsonObject config = getConfig()
+      .put("writeConcurrencyLimiter", new ConcurrencyLimiterOptions()
+        .setInitialLimit(1)
+        .setMinLimit(1)
+        .setMaxLimit(1)
+        .setMaxQueueSize(2)
+        .toJson());
+    mongoClient = MongoClient.create(vertx, config);
+    CountDownLatch latch = new CountDownLatch(1);
+    dropCollections(mongoClient, latch);
+    awaitLatch(latch);
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    mongoClient.close();
+    super.tearDown();
+  }
+
+  @Test
+  public void testRejectWhenQueueIsFull() {
+    String collection = randomCollection();
+    List<Future<String>> inserts = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      inserts.add(mongoClient.insert(collection, new JsonObject().put("i", i)));
+    }
+    Future.join(inserts).onComplete(ar -> {
+      long succeeded = inserts.stream().filter(Future::succeeded).count();
+      assertEquals(3, succeeded);
+      assertTrue(inserts.stream().filter(Future::failed).allMatch(f -> f.cause() instanceof MongoOverloadedException));
+      ConcurrencyLimiterStats stats = limiterStats("write");
+      assertEquals(7L, stats.getRejected());
+      // Reads are not limited
+      mongoClient.count(collection, new JsonObject()).onComplete(onSuccess(count -> {
+        assertEquals(3L, (long) count);
+        testComplete();
+      }));
+    });
+    await();
+  }
+
+  @Test
+  public void testLowPriorityShare() {
+    String collection = randomCollection();
+    MongoClient background = mongoClient.withOperationOptions(new OperationOptions().setPriority(OperationPriority.LOW));
+    List<Future<List<JsonObject>>> finds = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      finds.add(background.find(collection, new JsonObject()));
+    }
+    ConcurrencyLimiterStats stats = limiterStats("lowPriority");
+    // The default pool has 100 connections
+    assertEquals(25, stats.getLimit());
+    assertEquals(10, stats.getInFlight());
+    Future.all(finds).onComplete(onSuccess(v -> {
+      assertEquals(0, limiterStats("lowPriority").getInFlight());
+      testComplete();
+    }));
+    await();
+  }
+
+  private ConcurrencyLimiterStats limiterStats(String name) {
+    return mongoClient.concurrencyLimiterStats().stream()
+      .filter(stats -> stats.getName().equals(name))
+      .findFirst()
+      .orElseThrow(AssertionError::new);
+  }
+}
@@ -54,6 +54,14 @@ public class CountOptionsTest {
       a.setMaxTime(100L);
       a.setMaxTime(200L);
     });
+    assertNotEqual((a, b) -> {
+      a.setReadPreference("primary");
+      b.setReadPreference("secondary");
+    });
+    assertNotEqual((a, b) -> {
+      a.setComment("x");
+      b.setComment("y");
+    });
 
     assertNotEquals(new CountOptions(), null);
   }
@@ -0,0 +1,85 @@
+package io.vertx.ext.mongo.tests;
+
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.EventExecutor;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.ConnectionPoolStats;
+import io.vertx.ext.mongo.MongoClient;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+public class EventLoopAffinityTest extends MongoTestBase {
+
+  private static final int MAX_POOL_SIZE = 10;
+
+  private MongoClient mongoClient;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    mongoClient = MongoClient.create(vertx, getConfig().put("eventLoopAffinity", true).put("maxPoolSize", MAX_POOL_SIZE));
+    CountDownLatch latch = new CountDownLatch(1);
+    dropCollections(mongoClient, latch);
+    awaitLatch(latch);
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    mongoClient.close();
+    super.tearDown();
+  }
+
+  @Test
+  public void testOperationsUseTheConnectionsOfTheCallerEventLoop() {
+    String collection = randomCollection();
+    long createdBefore = connectionsCreated();
+    Set<EventLoop> loops = new HashSet<>();
+    Future<Void> operations = Future.succeededFuture();
+    for (int i = 0; i < 4; i++) {
+      ContextInternal context = (ContextInternal) vertx.getOrCreateContext();
+      loops.add(context.nettyEventLoop());
+      int index = i;
+      // One operation at a time: a single pool would serve them all with the connection opened by the setup
+      operations = operations.compose(v -> {
+        Promise<Void> promise = Promise.promise();
+        context.runOnContext(x -> mongoClient.insert(collection, new JsonObject().put("i", index)).<Void>mapEmpty().onComplete(promise));
+        return promise.future();
+      });
+    }
+    operations.onComplete(onSuccess(v -> {
+      // Each event loop opened a connection of its own driver client
+      assertTrue(connectionsCreated() - createdBefore >= loops.size());
+      // The stats of a server sum the pools of the shared and the per event loop driver clients, which split the pool
+      // size between them, with at least one connection each
+      int maxSize = Math.max(MAX_POOL_SIZE, eventLoops() + 1);
+      for (ConnectionPoolStats pool : mongoClient.poolStats()) {
+        assertTrue(pool.getMaxSize() + " > " + maxSize, pool.getMaxSize() <= maxSize);
+      }
+      testComplete();
+    }));
+    await();
+  }
+
+  private int eventLoops() {
+    int eventLoops = 0;
+    for (EventExecutor ignored : ((VertxInternal) vertx).nettyEventLoopGroup()) {
+      eventLoops++;
+    }
+    return eventLoops;
+  }
+
+  private long connectionsCreated() {
+    long created = 0L;
+    for (ConnectionPoolStats pool : mongoClient.poolStats()) {
+      created += pool.getConnectionsCreated();
+    }
+    return created;
+  }
+}
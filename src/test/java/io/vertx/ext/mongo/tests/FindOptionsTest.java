@@ -146,4 +146,25 @@ public class FindOptionsTest {
 
     assertEquals(options, new FindOptions(options.toJson()));
   }
+
+  @Test
+  public void testReadSettingsToJson() {
+    FindOptions options = new FindOptions()
+      .setMaxTime(500)
+      .setReadPreference("secondaryPreferred")
+      .setReadConcern("majority")
+      .setNoCursorTimeout(true)
+      .setAllowPartialResults(true)
+      .setComment("analytics")
+      .setLet(randomJsonObject())
+      .setHedged(true)
+      .setHedgeDelay(20);
+
+    FindOptions copy = new FindOptions(options.toJson());
+    assertEquals(options, copy);
+    assertEquals(options, new FindOptions(options));
+    assertEquals(500, copy.getMaxTime());
+    assertTrue(copy.isNoCursorTimeout());
+    assertTrue(copy.isAllowPartialResults());
+  }
 }
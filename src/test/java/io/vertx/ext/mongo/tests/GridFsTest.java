@@ -7,6 +7,9 @@ import io.vertx.core.file.AsyncFile;
 import io.vertx.core.file.OpenOptions;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.GridFsBucketOptions;
+import io.vertx.ext.mongo.GridFsCompression;
 import io.vertx.ext.mongo.GridFsDownloadOptions;
 import io.vertx.ext.mongo.GridFsUploadOptions;
 import io.vertx.ext.mongo.MongoClient;
@@ -18,6 +21,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadLocalRandom;
@@ -83,6 +88,77 @@ public class GridFsTest extends MongoTestBase {
     await();
   }
 
+  @Test
+  public void testDeleteMany() {
+    String fileName = createTempFileWithContent((1024 * 3) + 70);
+    GridFsUploadOptions expired = new GridFsUploadOptions()
+      .setChunkSizeBytes(1024)
+      .setMetadata(new JsonObject().put("status", "expired"));
+    GridFsUploadOptions kept = new GridFsUploadOptions()
+      .setChunkSizeBytes(1024)
+      .setMetadata(new JsonObject().put("status", "kept"));
+
+    AtomicReference<MongoGridFsClient> gridFsClient = new AtomicReference<>();
+
+    mongoClient.createGridFsBucketService("fs").compose(mongoGridFsClient -> {
+      gridFsClient.set(mongoGridFsClient);
+      return mongoGridFsClient.drop();
+    }).compose(dropped -> {
+      return gridFsClient.get().uploadFileWithOptions(fileName, expired);
+    }).compose(id -> {
+      return gridFsClient.get().uploadFileWithOptions(fileName, expired);
+    }).compose(id -> {
+      return gridFsClient.get().uploadFileWithOptions(fileName, kept);
+    }).compose(id -> {
+      return gridFsClient.get().deleteMany(new JsonObject().put("metadata.status", "expired"));
+    }).compose(deleted -> {
+      assertEquals(2L, deleted.longValue());
+      return gridFsClient.get().findIds(new JsonObject());
+    }).compose(ids -> {
+      assertEquals(1, ids.size());
+      return mongoClient.count("fs.chunks", new JsonObject());
+    }).onComplete(event -> {
+      if (event.failed()) {
+        fail(event.cause());
+        return;
+      }
+      assertEquals(4L, event.result().longValue());
+      testComplete();
+    });
+    await();
+  }
+
+  @Test
+  public void testExpirySweeper() {
+    String fileName = createTempFileWithContent(1024);
+    GridFsBucketOptions bucketOptions = new GridFsBucketOptions()
+      .setExpiryField("metadata.expireAt")
+      .setExpirySweepInterval(100);
+    GridFsUploadOptions options = new GridFsUploadOptions()
+      .setMetadata(new JsonObject().put("expireAt", new JsonObject().put("$date", "2020-01-01T00:00:00Z")));
+
+    mongoClient.createGridFsBucketServiceWithOptions("fs", bucketOptions).compose(mongoGridFsClient -> {
+      return mongoGridFsClient.drop()
+        .compose(dropped -> mongoGridFsClient.uploadFile(fileName))
+        .compose(id -> mongoGridFsClient.uploadFileWithOptions(fileName, options))
+        .onSuccess(id -> vertx.setPeriodic(100, timerId -> {
+          mongoGridFsClient.findIds(new JsonObject()).onComplete(ar -> {
+            if (ar.failed()) {
+              vertx.cancelTimer(timerId);
+              mongoGridFsClient.close();
+              fail(ar.cause());
+            } else if (ar.result().size() == 1) {
+              vertx.cancelTimer(timerId);
+              mongoGridFsClient.close();
+              assertFalse(ar.result().contains(id));
+              testComplete();
+            }
+          });
+        }));
+    }).onFailure(this::fail);
+    await();
+  }
+
   @Test
   public void testFileUpload() {
 
@@ -286,6 +362,53 @@ public class GridFsTest extends MongoTestBase {
     await();
   }
 
+  @Test
+  public void testFindFiles() {
+    String small = createTempFileWithContent(1024);
+    String medium = createTempFileWithContent(2048);
+    String large = createTempFileWithContent(4096);
+    JsonObject metadata = new JsonObject().put("kind", "log");
+
+    AtomicReference<MongoGridFsClient> gridFsClient = new AtomicReference<>();
+
+    mongoClient.createGridFsBucketService("fs").compose(mongoGridFsClient -> {
+      gridFsClient.set(mongoGridFsClient);
+      return mongoGridFsClient.drop();
+    }).compose(dropped -> {
+      return gridFsClient.get().uploadFileWithOptions(small, new GridFsUploadOptions().setMetadata(metadata));
+    }).compose(id -> {
+      return gridFsClient.get().uploadFileWithOptions(medium, new GridFsUploadOptions().setMetadata(metadata));
+    }).compose(id -> {
+      return gridFsClient.get().uploadFile(large);
+    }).compose(id -> {
+      FindOptions options = new FindOptions()
+        .setFields(new JsonObject().put("length", 1).put("metadata", 1))
+        .setSort(new JsonObject().put("length", -1))
+        .setLimit(2)
+        .setBatchSize(1);
+      Promise<List<JsonObject>> promise = Promise.promise();
+      List<JsonObject> files = new ArrayList<>();
+      ReadStream<JsonObject> rs = gridFsClient.get().findFilesWithOptions(new JsonObject().put("metadata.kind", "log"), options);
+      rs.exceptionHandler(promise::fail);
+      rs.endHandler(v -> promise.complete(files));
+      rs.handler(files::add);
+      return promise.future();
+    }).onComplete(event -> {
+      if (event.failed()) {
+        fail(event.cause());
+        return;
+      }
+      List<JsonObject> files = event.result();
+      assertEquals(2, files.size());
+      assertEquals(2048L, files.get(0).getLong("length").longValue());
+      assertEquals(1024L, files.get(1).getLong("length").longValue());
+      assertEquals(metadata, files.get(0).getJsonObject("metadata"));
+      assertFalse(files.get(0).containsKey("filename"));
+      testComplete();
+    });
+    await();
+  }
+
   @Test
   public void testDrop() {
     createTempFileWithContent((1024 * 3) + 70);
@@ -411,6 +534,220 @@ public class GridFsTest extends MongoTestBase {
     await();
   }
 
+  @Test
+  public void testReadByFileNameWithRevision() {
+    testReadByFileNameWithRevision(new GridFsBucketOptions());
+  }
+
+  @Test
+  public void testReadByFileNameWithRevisionAndMetadataCache() {
+    testReadByFileNameWithRevision(new GridFsBucketOptions().setMetadataCacheTtl(60_000));
+  }
+
+  @Test
+  public void testMetadataCacheHit() {
+    String fileName = "cached.bin";
+    String file = createTempFileWithContent(2048);
+    Buffer content = vertx.fileSystem().readFileBlocking(file);
+
+    AtomicReference<MongoGridFsClient> gridFsClient = new AtomicReference<>();
+
+    mongoClient.createGridFsBucketServiceWithOptions("fs", new GridFsBucketOptions().setMetadataCacheTtl(60_000)).compose(mongoGridFsClient -> {
+      gridFsClient.set(mongoGridFsClient);
+      return mongoGridFsClient.drop();
+    }).compose(dropped -> {
+      return vertx.fileSystem().open(file, new OpenOptions())
+        .compose(asyncFile -> gridFsClient.get().uploadByFileName(asyncFile, fileName));
+    }).compose(id -> {
+      // Caches the files entry
+      return readFully(gridFsClient.get().readByFileName(fileName));
+    }).compose(buffer -> {
+      assertEquals(content, buffer);
+      // Renamed behind the cache, only a cache hit still finds the file by its former name
+      return mongoClient.updateCollection("fs.files", new JsonObject().put("filename", fileName),
+        new JsonObject().put("$set", new JsonObject().put("filename", "renamed.bin")));
+    }).compose(res -> {
+      assertEquals(1L, res.getDocModified());
+      return readFully(gridFsClient.get().readByFileName(fileName));
+    }).compose(buffer -> {
+      assertEquals(content, buffer);
+      // Without cache, the files collection is queried
+      return mongoClient.createGridFsBucketService("fs")
+        .compose(uncached -> readFully(uncached.readByFileName(fileName)));
+    }).onComplete(event -> {
+      if (event.succeeded()) {
+        fail("Expected an uncached read of a renamed file to fail");
+      } else {
+        testComplete();
+      }
+    });
+    await();
+  }
+
+  private void testReadByFileNameWithRevision(GridFsBucketOptions bucketOptions) {
+    String fileName = "revisions.bin";
+    String originalFile = createTempFileWithContent(1024);
+    String latestFile = createTempFileWithContent(2048);
+    Buffer original = vertx.fileSystem().readFileBlocking(originalFile);
+    Buffer latest = vertx.fileSystem().readFileBlocking(latestFile);
+
+    AtomicReference<MongoGridFsClient> gridFsClient = new AtomicReference<>();
+
+    mongoClient.createGridFsBucketServiceWithOptions("fs", bucketOptions).compose(mongoGridFsClient -> {
+      gridFsClient.set(mongoGridFsClient);
+      return mongoGridFsClient.drop();
+    }).compose(dropped -> {
+      return vertx.fileSystem().open(originalFile, new OpenOptions())
+        .compose(asyncFile -> gridFsClient.get().uploadByFileName(asyncFile, fileName));
+    }).compose(id -> {
+      return readFully(gridFsClient.get().readByFileNameWithOptions(fileName, new GridFsDownloadOptions()));
+    }).compose(buffer -> {
+      assertEquals(original, buffer);
+      return vertx.fileSystem().open(latestFile, new OpenOptions())
+        .compose(asyncFile -> gridFsClient.get().uploadByFileName(asyncFile, fileName));
+    }).compose(id -> {
+      return readFully(gridFsClient.get().readByFileNameWithOptions(fileName, new GridFsDownloadOptions().setRevision(0)));
+    }).compose(buffer -> {
+      assertEquals(original, buffer);
+      return readFully(gridFsClient.get().readByFileNameWithOptions(fileName, new GridFsDownloadOptions().setRevision(-1)));
+    }).compose(buffer -> {
+      assertEquals(latest, buffer);
+      return readFully(gridFsClient.get().readByFileName(fileName));
+    }).compose(buffer -> {
+      assertEquals(latest, buffer);
+      return readFully(gridFsClient.get().readByFileNameWithOptions(fileName, new GridFsDownloadOptions().setRevision(2)));
+    }).onComplete(event -> {
+      if (event.succeeded()) {
+        fail("Expected a missing revision to fail");
+      } else {
+        testComplete();
+      }
+    });
+    await();
+  }
+
+  @Test
+  public void testDeduplication() {
+    String fileName = createTempFileWithContent(1024 * 1024 + 70);
+    Buffer content = vertx.fileSystem().readFileBlocking(fileName);
+    GridFsBucketOptions bucketOptions = new GridFsBucketOptions().setDeduplication(true);
+
+    AtomicReference<MongoGridFsClient> gridFsClient = new AtomicReference<>();
+    List<String> ids = new ArrayList<>();
+    AtomicLong chunkCount = new AtomicLong();
+
+    mongoClient.createGridFsBucketServiceWithOptions("fs", bucketOptions).compose(mongoGridFsClient -> {
+      gridFsClient.set(mongoGridFsClient);
+      return mongoGridFsClient.drop();
+    }).compose(dropped -> {
+      // Unknown content, the chunks are uploaded
+      return gridFsClient.get().uploadFile(fileName);
+    }).compose(id -> {
+      ids.add(id);
+      return mongoClient.count("fs.chunks", new JsonObject());
+    }).compose(count -> {
+      chunkCount.set(count);
+      // Known content, hashed before uploading
+      return gridFsClient.get().uploadFile(fileName);
+    }).compose(id -> {
+      ids.add(id);
+      // Known content, hashed while uploading
+      return vertx.fileSystem().open(fileName, new OpenOptions())
+        .compose(asyncFile -> gridFsClient.get().uploadByFileName(asyncFile, "copy.bin"));
+    }).compose(id -> {
+      ids.add(id);
+      return mongoClient.count("fs.chunks", new JsonObject());
+    }).compose(count -> {
+      assertEquals(chunkCount.get(), count.longValue());
+      assertEquals(3, new HashSet<>(ids).size());
+      return readFully(gridFsClient.get().readById(ids.get(1)));
+    }).compose(buffer -> {
+      assertEquals(content, buffer);
+      return readFully(gridFsClient.get().readByFileName("copy.bin"));
+    }).compose(buffer -> {
+      assertEquals(content, buffer);
+      return gridFsClient.get().delete(ids.get(0));
+    }).compose(v -> {
+      return gridFsClient.get().delete(ids.get(2));
+    }).compose(v -> {
+      return readFully(gridFsClient.get().readById(ids.get(1)));
+    }).compose(buffer -> {
+      assertEquals(content, buffer);
+      return gridFsClient.get().delete(ids.get(1));
+    }).compose(v -> {
+      return mongoClient.count("fs.chunks", new JsonObject());
+    }).onComplete(event -> {
+      if (event.failed()) {
+        fail(event.cause());
+        return;
+      }
+      assertEquals(0L, event.result().longValue());
+      testComplete();
+    });
+    await();
+  }
+
+  @Test
+  public void testCompression() {
+    Buffer content = Buffer.buffer();
+    while (content.length() < 300 * 1024) {
+      content.appendString("GridFS chunks are compressed one by one " + content.length() + "\n");
+    }
+    String fileName = createTempFile();
+    vertx.fileSystem().writeFileBlocking(fileName, content);
+    GridFsUploadOptions options = new GridFsUploadOptions()
+      .setChunkSizeBytes(64 * 1024)
+      .setCompression(GridFsCompression.GZIP);
+
+    AtomicReference<MongoGridFsClient> gridFsClient = new AtomicReference<>();
+    AtomicReference<String> idCreated = new AtomicReference<>();
+
+    mongoClient.createDefaultGridFsBucketService().compose(mongoGridFsClient -> {
+      gridFsClient.set(mongoGridFsClient);
+      return mongoGridFsClient.drop();
+    }).compose(dropped -> {
+      return vertx.fileSystem().open(fileName, new OpenOptions())
+        .compose(asyncFile -> gridFsClient.get().uploadByFileNameWithOptions(asyncFile, "compressed.txt", options));
+    }).compose(id -> {
+      idCreated.set(id);
+      return mongoClient.findOne("fs.files", new JsonObject(), null);
+    }).compose(file -> {
+      assertEquals("GZIP", file.getString("compression"));
+      assertEquals(content.length(), file.getLong("length").intValue());
+      assertEquals(64 * 1024, file.getInteger("chunkSize").intValue());
+      return mongoClient.count("fs.chunks", new JsonObject());
+    }).compose(count -> {
+      assertEquals(5L, count.longValue());
+      return readFully(gridFsClient.get().readById(idCreated.get()));
+    }).compose(buffer -> {
+      assertEquals(content, buffer);
+      String downloadFileName = createTempFile();
+      return vertx.fileSystem().open(downloadFileName, new OpenOptions().setWrite(true))
+        .compose(asyncFile -> gridFsClient.get().downloadByFileName(asyncFile, "compressed.txt"))
+        .compose(length -> {
+          assertEquals(content.length(), length.intValue());
+          return vertx.fileSystem().readFile(downloadFileName);
+        });
+    }).onComplete(event -> {
+      if (event.failed()) {
+        fail(event.cause());
+        return;
+      }
+      assertEquals(content, event.result());
+      testComplete();
+    });
+    await();
+  }
+
+  private static Future<Buffer> readFully(ReadStream<Buffer> rs) {
+    Promise<Buffer> promise = Promise.promise();
+    Buffer buffer = Buffer.buffer();
+    rs.exceptionHandler(promise::fail);
+    rs.endHandler(v -> promise.complete(buffer));
+    rs.handler(buffer::appendBuffer);
+    return promise.future();
+  }
+
   @Test
   public void testReadById() {
     long fileLength = (1027) + 7000;
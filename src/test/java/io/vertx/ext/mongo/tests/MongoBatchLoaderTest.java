@@ -0,0 +1,121 @@
+package io.vertx.ext.mongo.tests;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.BatchLoaderOptions;
+import io.vertx.ext.mongo.MongoBatchLoader;
+import io.vertx.ext.mongo.MongoClient;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class MongoBatchLoaderTest extends MongoTestBase {
+
+  private MongoClient mongoClient;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    mongoClient = MongoClient.create(vertx, getConfig().put("findByIdsBatchSize", 2));
+    CountDownLatch latch = new CountDownLatch(1);
+    dropCollections(mongoClient, latch);
+    awaitLatch(latch);
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    mongoClient.close();
+    super.tearDown();
+  }
+
+  private Future<Void> insertProducts(String collection) {
+    List<Future<String>> inserts = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      inserts.add(mongoClient.insert(collection, new JsonObject().put("sku", i).put("name", "product" + i)));
+    }
+    return Future.all(inserts).mapEmpty();
+  }
+
+  @Test
+  public void testLoad() {
+    String collection = randomCollection();
+    Context context = vertx.getOrCreateContext();
+    insertProducts(collection).onComplete(onSuccess(v -> context.runOnContext(v2 -> {
+      MongoBatchLoader loader = MongoBatchLoader.create(vertx, mongoClient, collection, "sku");
+      List<Future<JsonObject>> loads = new ArrayList<>();
+      for (Object key : Arrays.asList(3, 0, 42, 4L, 3, 1)) {
+        loads.add(loader.load(key));
+      }
+      Future.all(loads).onComplete(onSuccess(res -> {
+        assertEquals("product3", loads.get(0).result().getString("name"));
+        assertEquals("product0", loads.get(1).result().getString("name"));
+        assertNull(loads.get(2).result());
+        assertEquals("product4", loads.get(3).result().getString("name"));
+        assertEquals("product3", loads.get(4).result().getString("name"));
+        assertEquals("product1", loads.get(5).result().getString("name"));
+        testComplete();
+      }));
+    })));
+    await();
+  }
+
+  @Test
+  public void testCache() {
+    String collection = randomCollection();
+    insertProducts(collection).onComplete(onSuccess(v -> {
+      MongoBatchLoader loader = MongoBatchLoader.create(vertx, mongoClient, collection, "sku", new BatchLoaderOptions()
+        .setCache(true)
+        .setFields(new JsonObject().put("sku", 1).put("name", 1)));
+      loader.load(2)
+        .compose(doc -> {
+          assertEquals("product2", doc.getString("name"));
+          return mongoClient.updateCollection(collection, new JsonObject().put("sku", 2),
+            new JsonObject().put("$set", new JsonObject().put("name", "renamed")));
+        })
+        .compose(res -> loader.load(2))
+        .compose(doc -> {
+          assertEquals("product2", doc.getString("name"));
+          loader.clear(2);
+          return loader.load(2);
+        })
+        .onComplete(onSuccess(doc -> {
+          assertEquals("renamed", doc.getString("name"));
+          testComplete();
+        }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testProjectionWithoutKeyField() {
+    String collection = randomCollection();
+    insertProducts(collection).onComplete(onSuccess(v -> {
+      MongoBatchLoader included = MongoBatchLoader.create(vertx, mongoClient, collection, "sku", new BatchLoaderOptions()
+        .setFields(new JsonObject().put("name", 1)));
+      MongoBatchLoader excluded = MongoBatchLoader.create(vertx, mongoClient, collection, "sku", new BatchLoaderOptions()
+        .setFields(new JsonObject().put("sku", 0)));
+      Future.all(included.load(1), excluded.load(3)).onComplete(onSuccess(res -> {
+        assertEquals("product1", res.<JsonObject>resultAt(0).getString("name"));
+        assertEquals("product3", res.<JsonObject>resultAt(1).getString("name"));
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testUnsupportedClient() {
+    MongoClient wrapper = (MongoClient) Proxy.newProxyInstance(MongoClient.class.getClassLoader(),
+      new Class<?>[]{MongoClient.class}, (proxy, method, args) -> method.invoke(mongoClient, args));
+    try {
+      MongoBatchLoader.create(vertx, wrapper, randomCollection(), "sku");
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+}
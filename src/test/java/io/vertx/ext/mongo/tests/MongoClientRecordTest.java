@@ -0,0 +1,76 @@
+package io.vertx.ext.mongo.tests;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.AggregateOptions;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.MongoClient;
+import org.bson.codecs.pojo.annotations.BsonId;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Decoding into records, compiled with Java 17 and later only.
+ */
+public class MongoClientRecordTest extends MongoTestBase {
+
+  public record Product(@BsonId String id, String name, int quantity) {
+  }
+
+  private MongoClient mongoClient;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    mongoClient = MongoClient.create(vertx, getConfig());
+    CountDownLatch latch = new CountDownLatch(1);
+    dropCollections(mongoClient, latch);
+    awaitLatch(latch);
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    mongoClient.close();
+    super.tearDown();
+  }
+
+  @Test
+  public void testFindRecords() {
+    String collection = randomCollection();
+    insertDocs(mongoClient, collection, 3, i -> new JsonObject().put("_id", "id" + i).put("name", "product" + i).put("quantity", i))
+      .compose(v -> mongoClient.findWithOptions(collection, new JsonObject(), new FindOptions().setSort(new JsonObject().put("quantity", 1)), Product.class))
+      .compose(products -> {
+        assertEquals(3, products.size());
+        for (int i = 0; i < 3; i++) {
+          assertEquals(new Product("id" + i, "product" + i, i), products.get(i));
+        }
+        return mongoClient.findOneWithOptions(collection, new JsonObject().put("_id", "id2"), new FindOptions(), Product.class);
+      })
+      .onComplete(onSuccess(product -> {
+        assertEquals(new Product("id2", "product2", 2), product);
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testAggregateRecords() {
+    String collection = randomCollection();
+    JsonArray pipeline = new JsonArray().add(new JsonObject().put("$match", new JsonObject().put("quantity", new JsonObject().put("$gte", 1))));
+    List<Product> products = new ArrayList<>();
+    insertDocs(mongoClient, collection, 3, i -> new JsonObject().put("_id", "id" + i).put("name", "product" + i).put("quantity", i))
+      .onComplete(onSuccess(v -> mongoClient.aggregateWithOptions(collection, pipeline, new AggregateOptions(), Product.class)
+        .exceptionHandler(this::fail)
+        .handler(products::add)
+        .endHandler(v2 -> {
+          assertEquals(2, products.size());
+          assertTrue(products.contains(new Product("id1", "product1", 1)));
+          assertTrue(products.contains(new Product("id2", "product2", 2)));
+          testComplete();
+        })));
+    await();
+  }
+}
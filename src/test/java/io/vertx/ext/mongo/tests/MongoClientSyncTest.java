@@ -0,0 +1,99 @@
+package io.vertx.ext.mongo.tests;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.ThreadingModel;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.ext.mongo.MongoClientSync;
+import io.vertx.ext.mongo.MongoCursor;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assume.assumeTrue;
+
+public class MongoClientSyncTest extends MongoTestBase {
+
+  private MongoClient mongoClient;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    assumeTrue(((VertxInternal) vertx).isVirtualThreadAvailable());
+    mongoClient = MongoClient.create(vertx, getConfig());
+    CountDownLatch latch = new CountDownLatch(1);
+    dropCollections(mongoClient, latch);
+    awaitLatch(latch);
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    if (mongoClient != null) {
+      mongoClient.close();
+    }
+    super.tearDown();
+  }
+
+  @Test
+  public void testOperations() {
+    String collection = randomCollection();
+    runOnVirtualThread(() -> {
+      MongoClientSync client = MongoClientSync.create(mongoClient);
+      String id = client.insert(collection, new JsonObject().put("foo", "bar"));
+      assertNotNull(id);
+      assertEquals("bar", client.findOne(collection, new JsonObject().put("_id", id), null).getString("foo"));
+      assertEquals(1L, client.count(collection, new JsonObject()));
+      assertEquals(1L, client.removeDocuments(collection, new JsonObject()).getRemovedCount());
+      assertTrue(client.find(collection, new JsonObject()).isEmpty());
+    });
+  }
+
+  @Test
+  public void testCursor() {
+    String collection = randomCollection();
+    int num = 100;
+    runOnVirtualThread(() -> {
+      MongoClientSync client = MongoClientSync.create(mongoClient);
+      for (int i = 0; i < num; i++) {
+        client.insert(collection, new JsonObject().put("num", i));
+      }
+      FindOptions options = new FindOptions().setBatchSize(7).setSort(new JsonObject().put("num", 1));
+      int count = 0;
+      try (MongoCursor<JsonObject> cursor = client.findBatchWithOptions(collection, new JsonObject(), options)) {
+        while (cursor.hasNext()) {
+          assertEquals(count++, (int) cursor.next().getInteger("num"));
+        }
+      }
+      assertEquals(num, count);
+    });
+  }
+
+  @Test
+  public void testCloseCursor() {
+    String collection = randomCollection();
+    runOnVirtualThread(() -> {
+      MongoClientSync client = MongoClientSync.create(mongoClient);
+      for (int i = 0; i < 50; i++) {
+        client.insert(collection, new JsonObject().put("num", i));
+      }
+      MongoCursor<JsonObject> cursor = client.findBatchWithOptions(collection, new JsonObject(), new FindOptions().setBatchSize(5));
+      assertNotNull(cursor.next());
+      cursor.close();
+      assertFalse(cursor.hasNext());
+      assertEquals(50L, client.count(collection, new JsonObject()));
+    });
+  }
+
+  private void runOnVirtualThread(Runnable test) {
+    vertx.deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() {
+        test.run();
+      }
+    }, new DeploymentOptions().setThreadingModel(ThreadingModel.VIRTUAL_THREAD)).onComplete(onSuccess(id -> testComplete()));
+    await();
+  }
+}
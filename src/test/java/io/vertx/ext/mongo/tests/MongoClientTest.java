@@ -4,7 +4,11 @@ import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import com.mongodb.client.model.changestream.OperationType;
 import com.mongodb.reactivestreams.client.MongoClients;
 import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -12,14 +16,19 @@ import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.mongo.*;
 import io.vertx.ext.mongo.impl.SingleResultSubscriber;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
@@ -275,6 +284,203 @@ public class MongoClientTest extends MongoClientTestBase {
     awaitLatch(endLatch);
   }
 
+  @Test
+  public void testAggregateInto() throws Exception {
+    String collection = randomCollection();
+    String target = randomCollection();
+    JsonArray pipeline = new JsonArray()
+      .add(new JsonObject().put("$addFields", new JsonObject().put("copied", true)))
+      .add(new JsonObject().put("$out", target));
+    insertDocs(mongoClient, collection, 10)
+      .compose(v -> mongoClient.aggregateIntoWithProgress(collection, pipeline, new AggregateOptions().setAllowDiskUse(true), 10, op -> {
+        assertNotNull(op.getValue("opid"));
+      }))
+      .compose(stats -> {
+        assertTrue(stats.getTarget().endsWith("." + target));
+        assertEquals(10L, stats.getTargetCount());
+        return mongoClient.count(target, new JsonObject().put("copied", true));
+      })
+      .onComplete(onSuccess(count -> {
+        assertEquals(10L, (long) count);
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAggregateIntoWithoutOutputStage() {
+    mongoClient.aggregateInto(randomCollection(), new JsonArray().add(new JsonObject().put("$match", new JsonObject())),
+      new AggregateOptions());
+  }
+
+  public static class Product {
+    private String id;
+    private String name;
+    private int quantity;
+    private double price;
+
+    public String getId() {
+      return id;
+    }
+
+    public void setId(String id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getQuantity() {
+      return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+      this.quantity = quantity;
+    }
+
+    public double getPrice() {
+      return price;
+    }
+
+    public void setPrice(double price) {
+      this.price = price;
+    }
+  }
+
+  @Test
+  public void testFindTyped() throws Exception {
+    String collection = randomCollection();
+    insertDocs(mongoClient, collection, 5, i -> new JsonObject().put("name", "product" + i).put("quantity", i).put("price", i * 1.5))
+      .compose(v -> mongoClient.findWithOptions(collection, new JsonObject(), new FindOptions().setSort(new JsonObject().put("quantity", 1)), Product.class))
+      .compose(products -> {
+        assertEquals(5, products.size());
+        for (int i = 0; i < 5; i++) {
+          Product product = products.get(i);
+          assertNotNull(product.getId());
+          assertEquals("product" + i, product.getName());
+          assertEquals(i, product.getQuantity());
+          assertEquals(i * 1.5, product.getPrice(), 0.0);
+        }
+        return mongoClient.findOneWithOptions(collection, new JsonObject().put("name", "product3"), new FindOptions(), Product.class);
+      })
+      .compose(product -> {
+        assertEquals(3, product.getQuantity());
+        HedgedReadStats before = mongoClient.hedgedReadStats();
+        FindOptions hedged = new FindOptions().setReadPreference("nearest").setHedged(true).setHedgeDelay(1);
+        return mongoClient.findOneWithOptions(collection, new JsonObject().put("name", "product4"), hedged, Product.class)
+          .map(hedgedProduct -> {
+            assertEquals(4, hedgedProduct.getQuantity());
+            assertEquals(1L, mongoClient.hedgedReadStats().getReads() - before.getReads());
+            return hedgedProduct;
+          });
+      })
+      .onComplete(onSuccess(product -> testComplete()));
+    await();
+  }
+
+  @Test
+  public void testFindBatchTyped() throws Exception {
+    String collection = randomCollection();
+    List<Product> products = new ArrayList<>();
+    insertDocs(mongoClient, collection, 10, i -> new JsonObject().put("name", "product" + i).put("quantity", i))
+      .onComplete(onSuccess(v -> {
+        mongoClient.findBatchWithOptions(collection, new JsonObject(), new FindOptions().setBatchSize(3), Product.class)
+          .exceptionHandler(this::fail)
+          .endHandler(v2 -> {
+            assertEquals(10, products.size());
+            testComplete();
+          })
+          .handler(products::add);
+      }));
+    await();
+  }
+
+  @Test
+  public void testFindPublisher() throws Exception {
+    int numDocs = 25;
+    String collection = randomCollection();
+    Context context = vertx.getOrCreateContext();
+    insertDocs(mongoClient, collection, numDocs).onComplete(onSuccess(res -> context.runOnContext(v -> {
+      FindOptions options = new FindOptions().setSort(new JsonObject().put("counter", 1)).setBatchSize(4);
+      mongoClient.findPublisher(collection, new JsonObject(), options).subscribe(new Subscriber<JsonObject>() {
+        Subscription subscription;
+        int count;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+          assertSame(context, Vertx.currentContext());
+          subscription = s;
+          s.request(1);
+        }
+
+        @Override
+        public void onNext(JsonObject doc) {
+          assertSame(context, Vertx.currentContext());
+          assertEquals("bar" + count++, doc.getString("foo"));
+          subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+          fail(t);
+        }
+
+        @Override
+        public void onComplete() {
+          assertSame(context, Vertx.currentContext());
+          assertEquals(numDocs, count);
+          testComplete();
+        }
+      });
+    })));
+    await();
+  }
+
+  @Test
+  public void testAggregatePublisherCancel() throws Exception {
+    String collection = randomCollection();
+    JsonArray pipeline = new JsonArray().add(new JsonObject().put("$sort", new JsonObject().put("counter", 1)));
+    insertDocs(mongoClient, collection, 50).onComplete(onSuccess(res -> {
+      mongoClient.aggregatePublisher(collection, pipeline, new AggregateOptions().setBatchSize(5)).subscribe(new Subscriber<JsonObject>() {
+        Subscription subscription;
+        int count;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+          subscription = s;
+          s.request(3);
+        }
+
+        @Override
+        public void onNext(JsonObject doc) {
+          if (++count == 3) {
+            subscription.cancel();
+            vertx.setTimer(100, id -> {
+              assertEquals(3, count);
+              testComplete();
+            });
+          }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+          fail(t);
+        }
+
+        @Override
+        public void onComplete() {
+          fail("Cancelled publisher completed");
+        }
+      });
+    }));
+    await();
+  }
+
   @Test
   public void testWatch() throws Exception {
     final JsonArray operationTypes = new JsonArray(Arrays.asList("insert", "update", "replace", "delete"));
@@ -344,6 +550,387 @@ public class MongoClientTest extends MongoClientTestBase {
     streamReference.get().handler(null);
   }
 
+  @Test
+  public void testWatchWithResumeTokenStore() throws Exception {
+    final String collection = randomCollection();
+    final ResumeTokenStore store = ResumeTokenStore.create(mongoClient, randomCollection());
+    final ChangeStreamOptions options = new ChangeStreamOptions().setCheckpointEvents(1);
+    final JsonArray pipeline = new JsonArray();
+
+    CountDownLatch first = new CountDownLatch(1);
+    mongoClient.createCollection(collection).onComplete(onSuccess(res -> {
+      ReadStream<ChangeStreamDocument<JsonObject>> stream = mongoClient.watchWithOptions(collection, pipeline, options, store);
+      stream
+        .exceptionHandler(this::fail)
+        .handler(event -> {
+          assertEquals("first", event.getFullDocument().getString("foo"));
+          // Closing the stream saves the last received token
+          stream.handler(null);
+          first.countDown();
+        });
+      vertx.setTimer(500, id -> mongoClient.insert(collection, new JsonObject().put("foo", "first")));
+    }));
+    awaitLatch(first);
+
+    CountDownLatch saved = new CountDownLatch(1);
+    vertx.setPeriodic(50, id -> store.load(collection).onComplete(onSuccess(token -> {
+      if (token != null) {
+        vertx.cancelTimer(id);
+        saved.countDown();
+      }
+    })));
+    awaitLatch(saved);
+
+    CountDownLatch second = new CountDownLatch(1);
+    mongoClient.insert(collection, new JsonObject().put("foo", "second")).onComplete(onSuccess(id -> {
+      // Only the event missed while no stream was open is received
+      ReadStream<ChangeStreamDocument<JsonObject>> stream = mongoClient.watchWithOptions(collection, pipeline, options, store);
+      stream
+        .exceptionHandler(this::fail)
+        .handler(event -> {
+          assertEquals("second", event.getFullDocument().getString("foo"));
+          stream.handler(null);
+          second.countDown();
+        });
+    }));
+    awaitLatch(second);
+  }
+
+  @Test
+  public void testWatchDatabaseShared() throws Exception {
+    final String collection = randomCollection();
+    final JsonObject match = new JsonObject().put("ns.coll", collection);
+    final JsonArray pipeline = new JsonArray().add(new JsonObject().put("$match", match));
+    final ChangeStreamOptions options = new ChangeStreamOptions().setShared(true);
+
+    CountDownLatch fast = new CountDownLatch(1);
+    CountDownLatch slow = new CountDownLatch(1);
+    AtomicReference<ReadStream<ChangeStreamDocument<JsonObject>>> slowStream = new AtomicReference<>();
+    mongoClient.createCollection(collection).onComplete(onSuccess(res -> {
+      ReadStream<ChangeStreamDocument<JsonObject>> paused = mongoClient.watchDatabase(pipeline, options);
+      slowStream.set(paused);
+      paused
+        .exceptionHandler(this::fail)
+        .handler(event -> {
+          assertEquals(0, fast.getCount());
+          assertEquals("bar", event.getFullDocument().getString("foo"));
+          slow.countDown();
+        })
+        .pause();
+      ReadStream<ChangeStreamDocument<JsonObject>> stream = mongoClient.watchDatabase(pipeline, options);
+      stream
+        .exceptionHandler(this::fail)
+        .handler(event -> {
+          assertEquals("bar", event.getFullDocument().getString("foo"));
+          // Not held back by the paused stream sharing the cursor
+          fast.countDown();
+          stream.handler(null);
+        });
+      vertx.setTimer(500, id -> mongoClient.insert(collection, createDoc()));
+    }));
+    awaitLatch(fast);
+    assertEquals(1, slow.getCount());
+    slowStream.get().fetch(1);
+    awaitLatch(slow);
+    slowStream.get().handler(null);
+  }
+
+  @Test
+  public void testWatchRaw() throws Exception {
+    final String collection = randomCollection();
+    CountDownLatch latch = new CountDownLatch(1);
+    mongoClient.createCollection(collection).onComplete(onSuccess(res -> {
+      ReadStream<Buffer> stream = mongoClient.watchRaw(collection, new JsonArray(), new ChangeStreamOptions());
+      stream
+        .exceptionHandler(this::fail)
+        .handler(buffer -> {
+          RawBsonDocument event = new RawBsonDocument(buffer.getBytes());
+          assertEquals("insert", event.getString("operationType").getValue());
+          assertEquals("bar", event.getDocument("fullDocument").getString("foo").getValue());
+          stream.handler(null);
+          latch.countDown();
+        });
+      vertx.setTimer(500, id -> mongoClient.insert(collection, createDoc()));
+    }));
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testWatchBatch() throws Exception {
+    final String collection = randomCollection();
+    final int count = 10;
+    CountDownLatch latch = new CountDownLatch(count);
+    mongoClient.createCollection(collection).onComplete(onSuccess(res -> {
+      ReadStream<List<ChangeStreamDocument<JsonObject>>> stream = mongoClient.watchBatch(collection, new JsonArray(), new ChangeStreamOptions().setBatchSize(4));
+      stream
+        .exceptionHandler(this::fail)
+        .handler(events -> {
+          assertFalse(events.isEmpty());
+          assertTrue(events.size() <= 4);
+          events.forEach(event -> latch.countDown());
+          if (latch.getCount() == 0) {
+            stream.handler(null);
+          }
+        });
+      List<BulkOperation> inserts = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        inserts.add(BulkOperation.createInsert(createDoc()));
+      }
+      vertx.setTimer(500, id -> mongoClient.bulkWrite(collection, inserts));
+    }));
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testFindWithReadSettings() throws Exception {
+    final String collection = randomCollection();
+    FindOptions options = new FindOptions()
+      .setReadPreference("secondaryPreferred")
+      .setReadConcern("majority")
+      .setMaxTime(5000)
+      .setComment("testFindWithReadSettings")
+      .setLet(new JsonObject().put("min", 2));
+    JsonObject query = new JsonObject().put("$expr", new JsonObject().put("$gte", new JsonArray().add("$num").add("$$min")));
+    CountDownLatch latch = new CountDownLatch(1);
+    mongoClient.insert(collection, new JsonObject().put("num", 1))
+      .compose(id -> mongoClient.insert(collection, new JsonObject().put("num", 3)))
+      .compose(id -> mongoClient.findWithOptions(collection, query, options))
+      .onComplete(onSuccess(docs -> {
+        assertEquals(1, docs.size());
+        assertEquals(3, (int) docs.get(0).getInteger("num"));
+        latch.countDown();
+      }));
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testFindOneHedged() throws Exception {
+    final String collection = randomCollection();
+    final int reads = 20;
+    // A delay of 1 ms hedges most reads
+    FindOptions options = new FindOptions().setReadPreference("nearest").setHedged(true).setHedgeDelay(1).setFields(new JsonObject().put("num", 1));
+    HedgedReadStats before = mongoClient.hedgedReadStats();
+    CountDownLatch latch = new CountDownLatch(1);
+    mongoClient.insert(collection, new JsonObject().put("num", 42).put("other", "x"))
+      .compose(id -> {
+        List<Future<JsonObject>> futures = new ArrayList<>();
+        for (int i = 0; i < reads; i++) {
+          futures.add(mongoClient.findOneWithOptions(collection, new JsonObject().put("num", 42), options));
+        }
+        return Future.all(futures);
+      })
+      .onComplete(onSuccess(all -> {
+        for (int i = 0; i < reads; i++) {
+          JsonObject doc = all.resultAt(i);
+          assertEquals(42, (int) doc.getInteger("num"));
+          assertFalse(doc.containsKey("other"));
+        }
+        HedgedReadStats stats = mongoClient.hedgedReadStats();
+        assertEquals(reads, stats.getReads() - before.getReads());
+        assertTrue(stats.getHedges() <= stats.getReads());
+        assertTrue(stats.getWins() <= stats.getHedges());
+      }))
+      // With the primary read preference the read is not hedged
+      .compose(v -> mongoClient.findOneWithOptions(collection, new JsonObject().put("num", 42), new FindOptions(options).setReadPreference(null)))
+      .onComplete(onSuccess(doc -> {
+        assertEquals(42, (int) doc.getInteger("num"));
+        assertEquals(reads, mongoClient.hedgedReadStats().getReads() - before.getReads());
+        latch.countDown();
+      }));
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testWithTransaction() throws Exception {
+    final String collection = randomCollection();
+    CountDownLatch latch = new CountDownLatch(1);
+    mongoClient.createCollection(collection)
+      .compose(v -> mongoClient.withTransaction(tx -> tx.insert(collection, new JsonObject().put("account", "a").put("balance", 10))
+        .compose(id -> tx.insert(collection, new JsonObject().put("account", "b").put("balance", 20)))
+        .compose(id -> tx.count(collection, new JsonObject()))))
+      .compose(count -> {
+        // Writes of the transaction are visible inside the transaction
+        assertEquals(2L, (long) count);
+        return mongoClient.count(collection, new JsonObject());
+      })
+      .onComplete(onSuccess(count -> {
+        assertEquals(2L, (long) count);
+        latch.countDown();
+      }));
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testWithTransactionAbort() throws Exception {
+    final String collection = randomCollection();
+    CountDownLatch latch = new CountDownLatch(1);
+    mongoClient.createCollection(collection)
+      .compose(v -> mongoClient.withTransaction(tx -> tx.insert(collection, new JsonObject().put("account", "a"))
+        .compose(id -> Future.failedFuture(new IllegalStateException("insufficient funds")))))
+      .onComplete(onFailure(err -> {
+        assertEquals("insufficient funds", err.getMessage());
+        mongoClient.count(collection, new JsonObject()).onComplete(onSuccess(count -> {
+          assertEquals(0L, (long) count);
+          latch.countDown();
+        }));
+      }));
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testWithSession() throws Exception {
+    final String collection = randomCollection();
+    SessionOptions options = new SessionOptions()
+      .setReadPreference("secondaryPreferred")
+      .setReadConcern("majority")
+      .setWriteOption(WriteOption.MAJORITY);
+    CountDownLatch latch = new CountDownLatch(1);
+    mongoClient.withSession(options, session -> session.insert(collection, new JsonObject().put("foo", "bar"))
+      // The read observes the write of the session, whichever member serves it
+      .compose(id -> session.findOne(collection, new JsonObject().put("_id", id), null))
+      .compose(doc -> {
+        assertEquals("bar", doc.getString("foo"));
+        return session.withTransaction(tx -> tx.updateCollection(collection, new JsonObject().put("_id", doc.getString("_id")),
+          new JsonObject().put("$set", new JsonObject().put("foo", "baz"))));
+      })
+      .compose(res -> session.find(collection, new JsonObject())))
+      .onComplete(onSuccess(docs -> {
+        assertEquals(1, docs.size());
+        assertEquals("baz", docs.get(0).getString("foo"));
+        latch.countDown();
+      }));
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testFindByIds() throws Exception {
+    String collection = randomCollection();
+    MongoClient client = MongoClient.create(vertx, getConfig().put("findByIdsBatchSize", 2));
+    List<Future<String>> inserts = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      inserts.add(client.save(collection, new JsonObject().put("_id", "id" + i).put("num", i)));
+    }
+    Future.all(inserts)
+      .compose(v -> client.findByIds(collection, Arrays.asList("id3", "id0", "missing", "id4", "id3", "id1"), new FindOptions()))
+      .onComplete(onSuccess(result -> {
+        List<String> ids = new ArrayList<>();
+        result.getDocuments().forEach(doc -> ids.add(doc.getString("_id")));
+        assertEquals(Arrays.asList("id3", "id0", "id4", "id1"), ids);
+        assertEquals(new JsonArray().add("missing"), result.getMissingIds());
+        client.close().onComplete(onSuccess(v -> testComplete()));
+      }));
+    await();
+  }
+
+  @Test
+  public void testFindByIdsNumericTypes() throws Exception {
+    String collection = randomCollection();
+    mongoClient.save(collection, new JsonObject().put("_id", 1.0))
+      .compose(v -> mongoClient.save(collection, new JsonObject().put("_id", 2L)))
+      .compose(v -> mongoClient.save(collection, new JsonObject().put("_id", 2.5)))
+      .compose(v -> mongoClient.findByIds(collection, Arrays.asList(1, 2.0, 2.5, 3), new FindOptions()))
+      .onComplete(onSuccess(result -> {
+        assertEquals(3, result.getDocuments().size());
+        assertEquals(new JsonArray().add(3), result.getMissingIds());
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testWithOperationOptions() throws Exception {
+    final String collection = randomCollection();
+    MongoClient client = mongoClient.withOperationOptions(new OperationOptions().setTimeout(10_000));
+    CountDownLatch latch = new CountDownLatch(1);
+    client.insert(collection, new JsonObject().put("foo", "bar"))
+      .compose(id -> client.find(collection, new JsonObject()))
+      .onComplete(onSuccess(docs -> {
+        assertEquals(1, docs.size());
+        latch.countDown();
+      }));
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testOperationTimeout() throws Exception {
+    final String collection = randomCollection();
+    MongoClient client = mongoClient.withOperationOptions(new OperationOptions().setTimeout(200));
+    // The server spends longer than the timeout on the query
+    JsonObject slowQuery = new JsonObject().put("$where", "sleep(2000) || true");
+    FindOptions hedged = new FindOptions().setReadPreference("nearest").setHedged(true).setHedgeDelay(50);
+    CountDownLatch latch = new CountDownLatch(1);
+    mongoClient.insert(collection, new JsonObject().put("foo", "bar"))
+      .compose(id -> client.find(collection, slowQuery))
+      .transform(ar -> {
+        assertTrue(ar.failed());
+        assertTrue(ar.cause() instanceof TimeoutException);
+        return client.findOneWithOptions(collection, slowQuery, hedged);
+      })
+      .onComplete(onFailure(t -> {
+        assertTrue(t instanceof TimeoutException);
+        client.close();
+        latch.countDown();
+      }));
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testCloseCancelsInFlightOperations() throws Exception {
+    final String collection = randomCollection();
+    MongoClient client = mongoClient.withOperationOptions(new OperationOptions());
+    CountDownLatch latch = new CountDownLatch(1);
+    client.find(collection, new JsonObject()).onComplete(onFailure(t -> {
+      assertTrue(t instanceof CancellationException);
+      // The pool is shared, the parent client is still usable
+      mongoClient.count(collection, new JsonObject()).onComplete(onSuccess(count -> latch.countDown()));
+    }));
+    client.close();
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testPoolStats() throws Exception {
+    final String collection = randomCollection();
+    CountDownLatch latch = new CountDownLatch(1);
+    mongoClient.insert(collection, new JsonObject().put("foo", "bar")).onComplete(onSuccess(id -> {
+      List<ConnectionPoolStats> stats = mongoClient.poolStats();
+      assertFalse(stats.isEmpty());
+      assertTrue(stats.stream().anyMatch(pool -> pool.getConnectionsCreated() > 0 && pool.getCheckouts() > 0));
+      for (ConnectionPoolStats pool : stats) {
+        assertNotNull(pool.getAddress());
+        assertTrue(pool.getMaxSize() > 0);
+        assertEquals(pool.getCheckouts(), pool.getCheckoutLatencyHistogram().stream().mapToLong(e -> (Long) e.getValue()).sum());
+      }
+      latch.countDown();
+    }));
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testMaterializedView() throws Exception {
+    final String collection = randomCollection();
+    CountDownLatch latch = new CountDownLatch(1);
+    mongoClient.insert(collection, new JsonObject().put("name", "dark-mode").put("enabled", true))
+      .compose(id -> MongoMaterializedView.create(mongoClient, collection, "name"))
+      .onComplete(onSuccess(view -> {
+        assertEquals(1, view.size());
+        assertTrue(view.get("dark-mode").getBoolean("enabled"));
+        assertEquals(1, view.query(doc -> doc.getBoolean("enabled")).size());
+        mongoClient.updateCollection(collection, new JsonObject().put("name", "dark-mode"), new JsonObject().put("$set", new JsonObject().put("enabled", false)))
+          .compose(v -> mongoClient.insert(collection, new JsonObject().put("name", "beta").put("enabled", true)))
+          .onComplete(onSuccess(v -> vertx.setPeriodic(50, timerId -> {
+            if (view.size() == 2 && !view.get("dark-mode").getBoolean("enabled")) {
+              vertx.cancelTimer(timerId);
+              assertTrue(view.lag() >= 0);
+              assertNull(view.get("unknown"));
+              view.close();
+              latch.countDown();
+            }
+          })));
+      }));
+    awaitLatch(latch);
+  }
+
   private void upsertDoc(String collection, JsonObject docToInsert, String expectedId, Consumer<JsonObject> doneFunction) {
     JsonObject insertStatement = new JsonObject()
       .put("$setOnInsert", docToInsert);
@@ -0,0 +1,34 @@
+package io.vertx.ext.mongo.tests;
+
+import io.vertx.ext.mongo.OperationOptions;
+import io.vertx.ext.mongo.OperationPriority;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OperationOptionsTest {
+
+  @Test
+  public void testDefaults() {
+    OperationOptions options = new OperationOptions();
+    assertEquals(OperationOptions.DEFAULT_TIMEOUT, options.getTimeout());
+    assertEquals(OperationOptions.DEFAULT_PRIORITY, options.getPriority());
+  }
+
+  @Test
+  public void testJson() {
+    OperationOptions options = new OperationOptions()
+      .setTimeout(1500)
+      .setPriority(OperationPriority.LOW);
+
+    OperationOptions copy = new OperationOptions(options.toJson());
+    assertEquals(options, copy);
+    assertEquals(options.hashCode(), copy.hashCode());
+    assertEquals(options, new OperationOptions(options));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeTimeout() {
+    new OperationOptions().setTimeout(-1);
+  }
+}
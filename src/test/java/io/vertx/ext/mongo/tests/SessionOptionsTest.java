@@ -0,0 +1,36 @@
+package io.vertx.ext.mongo.tests;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.mongo.SessionOptions;
+import io.vertx.ext.mongo.WriteOption;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SessionOptionsTest {
+
+  @Test
+  public void testDefaults() {
+    SessionOptions options = new SessionOptions();
+    assertEquals(SessionOptions.DEFAULT_CAUSALLY_CONSISTENT, options.isCausallyConsistent());
+    assertNull(options.getReadPreference());
+    assertNull(options.getReadPreferenceTags());
+    assertNull(options.getReadConcern());
+    assertNull(options.getWriteOption());
+  }
+
+  @Test
+  public void testJson() {
+    SessionOptions options = new SessionOptions()
+      .setCausallyConsistent(false)
+      .setReadPreference("secondaryPreferred")
+      .setReadPreferenceTags(new JsonArray().add("dc:ny,rack:1").add("dc:ny"))
+      .setReadConcern("majority")
+      .setWriteOption(WriteOption.MAJORITY);
+
+    SessionOptions copy = new SessionOptions(options.toJson());
+    assertEquals(options, copy);
+    assertEquals(options.hashCode(), copy.hashCode());
+    assertEquals(options, new SessionOptions(options));
+  }
+}
@@ -0,0 +1,58 @@
+package io.vertx.ext.mongo.tests;
+
+import io.vertx.ext.mongo.TransactionOptions;
+import io.vertx.ext.mongo.WriteOption;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TransactionOptionsTest {
+
+  @Test
+  public void testDefaults() {
+    TransactionOptions options = new TransactionOptions();
+    assertNull(options.getReadConcern());
+    assertNull(options.getWriteOption());
+    assertNull(options.getReadPreference());
+    assertNull(options.getMaxCommitTime());
+    assertEquals(TransactionOptions.DEFAULT_MAX_RETRY_TIME, options.getMaxRetryTime());
+    assertEquals(TransactionOptions.DEFAULT_RETRY_INTERVAL, options.getRetryInterval());
+    assertEquals(TransactionOptions.DEFAULT_MAX_RETRY_INTERVAL, options.getMaxRetryInterval());
+  }
+
+  @Test
+  public void testJson() {
+    TransactionOptions options = new TransactionOptions()
+      .setReadConcern("snapshot")
+      .setWriteOption(WriteOption.MAJORITY)
+      .setReadPreference("primary")
+      .setMaxCommitTime(500L)
+      .setMaxRetryTime(10000)
+      .setRetryInterval(20)
+      .setMaxRetryInterval(200);
+
+    TransactionOptions copy = new TransactionOptions(options.toJson());
+    assertEquals(options, copy);
+    assertEquals(options.hashCode(), copy.hashCode());
+    assertEquals(options, new TransactionOptions(options));
+  }
+
+  @Test
+  public void testToMongoDriverObject() {
+    com.mongodb.TransactionOptions driverOptions = new TransactionOptions()
+      .setReadConcern("majority")
+      .setWriteOption(WriteOption.MAJORITY)
+      .setMaxCommitTime(500L)
+      .toMongoDriverObject();
+    assertEquals(com.mongodb.ReadConcern.MAJORITY, driverOptions.getReadConcern());
+    assertEquals(com.mongodb.WriteConcern.MAJORITY, driverOptions.getWriteConcern());
+    assertEquals(500L, driverOptions.getMaxCommitTime(TimeUnit.MILLISECONDS).longValue());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRetryInterval() {
+    new TransactionOptions().setRetryInterval(0);
+  }
+}
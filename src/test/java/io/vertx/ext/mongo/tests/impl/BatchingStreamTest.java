@@ -0,0 +1,90 @@
+package io.vertx.ext.mongo.tests.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.mongo.impl.BatchingStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class BatchingStreamTest {
+
+  private Vertx vertx;
+  private Context context;
+
+  @Before
+  public void before() {
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+  }
+
+  @After
+  public void after() {
+    vertx.close().await();
+  }
+
+  @Test
+  public void testListsCappedWhilePaused() throws Exception {
+    MyStream input = new MyStream();
+    BatchingStream<Integer> stream = new BatchingStream<>(context, input, 3);
+    List<List<Integer>> lists = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(3);
+    stream.pause();
+    stream.handler(items -> {
+      lists.add(items);
+      latch.countDown();
+    });
+    for (int i = 0; i < 7; i++) {
+      input.handler.handle(i);
+    }
+    assertTrue(lists.isEmpty());
+    stream.fetch(3);
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5), Arrays.asList(6)), lists);
+  }
+
+  private static class MyStream implements ReadStream<Integer> {
+    Handler<Integer> handler;
+
+    @Override
+    public ReadStream<Integer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Integer> handler(Handler<Integer> handler) {
+      this.handler = handler;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Integer> pause() {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Integer> resume() {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Integer> fetch(long amount) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Integer> endHandler(Handler<Void> endHandler) {
+      return this;
+    }
+  }
+}
@@ -42,4 +42,15 @@ public class ConnectionPoolSettingsParserTest {
     assertEquals(maintenanceInitialDelayMS, settings.getMaintenanceInitialDelay(MILLISECONDS));
     assertEquals(maintenanceFrequencyMS, settings.getMaintenanceFrequency(MILLISECONDS));
   }
+
+  @Test
+  public void testAdaptivePoolSizeClosesIdleConnections() {
+    JsonObject config = new JsonObject().put("adaptivePoolSize", true);
+    ConnectionPoolSettings settings = new ConnectionPoolSettingsParser(null, config).settings();
+    assertTrue(settings.getMaxConnectionIdleTime(MILLISECONDS) > 0);
+
+    config.put("maxIdleTimeMS", 0L);
+    settings = new ConnectionPoolSettingsParser(null, config).settings();
+    assertEquals(0L, settings.getMaxConnectionIdleTime(MILLISECONDS));
+  }
 }